@@ -0,0 +1,13 @@
+-- Drop the inline recipe text columns left behind by the move to recipe_contents.
+--
+-- RecipeContentMigration copies recipes.description/instructions into recipe_contents on
+-- startup but never drops them, so a rollback to a build that still reads them keeps working.
+-- Run this by hand, in a quiet period, once no build older than the split is deployed and
+-- the check below returns 0. DROP COLUMN takes an exclusive lock on recipes.
+
+-- Recipes whose inline text has not been copied yet (must be 0); leave out a column that is already gone
+SELECT COUNT(*)
+FROM recipes
+WHERE content_id IS NULL AND (description IS NOT NULL OR instructions IS NOT NULL);
+
+ALTER TABLE recipes DROP COLUMN IF EXISTS description, DROP COLUMN IF EXISTS instructions;
@@ -0,0 +1,7 @@
+package com.project.mealplan.common.enums;
+
+public enum AutocompleteType {
+    ALL,
+    INGREDIENT,
+    RECIPE
+}
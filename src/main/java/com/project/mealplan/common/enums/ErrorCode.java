@@ -51,6 +51,8 @@ public enum ErrorCode {
     INSUFFICIENT_USER_PROFILE(6004, HttpStatus.BAD_REQUEST,
             "User profile incomplete. Weight, height, age required for meal planning"),
     NO_RECIPES_AVAILABLE(6005, HttpStatus.BAD_REQUEST, "No recipes available for meal planning"),
+    MEAL_PLAN_BATCH_ALREADY_RUNNING(6006, HttpStatus.CONFLICT, "A batch meal plan generation is already running"),
+    MEAL_PLAN_BATCH_JOB_NOT_FOUND(6007, HttpStatus.NOT_FOUND, "Batch meal plan job not found"),
 
     // ====== SHOPPING LIST ======
     SHOPPING_LIST_NOT_FOUND(7001, HttpStatus.NOT_FOUND, "Shopping list not found"),
@@ -58,7 +60,10 @@ public enum ErrorCode {
     SHOPPING_LIST_ALREADY_EXISTS(7003, HttpStatus.CONFLICT, "Shopping list already exists for this meal plan"),
     MEAL_PLAN_EXPIRED(7004, HttpStatus.BAD_REQUEST, "Meal plan has expired and cannot be used"),
     UNAUTHORIZED_ACCESS_SHOPPING_LIST(7005, HttpStatus.FORBIDDEN,
-            "You do not have permission to access this shopping list")
+            "You do not have permission to access this shopping list"),
+
+    // ====== NUTRITION ======
+    INVALID_DATE_RANGE(8001, HttpStatus.BAD_REQUEST, "Invalid date range")
     
     ;
 
@@ -0,0 +1,14 @@
+package com.project.mealplan.common.response;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. Pass nextCursor back to fetch the following
+ * slice; it is null on the last one. No totals are computed.
+ */
+public record CursorPayLoad<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext) {
+}
@@ -7,6 +7,9 @@ import com.project.mealplan.entity.RecipeIngredient;
 import com.project.mealplan.repository.IngredientNutritionRepository;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 public class CalculateCalories {
@@ -73,4 +76,73 @@ public class CalculateCalories {
         return total.setScale(2, java.math.RoundingMode.HALF_UP);
     }
 
-}
\ No newline at end of file
+    // Computes calories and protein/carbs/fat in one place and stores them on the recipe, so reads
+    // never have to walk RecipeIngredient -> Ingredient -> nutritions again. Requires an open
+    // persistence session, same as computeRecipeCalories(Recipe). Returns whether any stored value
+    // changed, so callers only invalidate what was derived from the old values.
+    public static boolean applyRecipeNutrition(Recipe recipe) {
+        Map<String, BigDecimal> macros = computeRecipeMacros(recipe);
+        BigDecimal calories = computeRecipeCalories(recipe);
+        boolean changed = !sameValue(recipe.getCalories(), calories)
+                || !sameValue(recipe.getProtein(), macros.get("protein"))
+                || !sameValue(recipe.getCarbs(), macros.get("carbs"))
+                || !sameValue(recipe.getFat(), macros.get("fat"));
+        recipe.setCalories(calories);
+        recipe.setProtein(macros.get("protein"));
+        recipe.setCarbs(macros.get("carbs"));
+        recipe.setFat(macros.get("fat"));
+        return changed;
+    }
+
+    // Numeric equality, ignoring scale
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    // Full protein/carbs/fat totals (grams) of a recipe, quantities converted to grams first.
+    public static Map<String, BigDecimal> computeRecipeMacros(Recipe recipe) {
+        BigDecimal totalProtein = BigDecimal.ZERO;
+        BigDecimal totalCarbs = BigDecimal.ZERO;
+        BigDecimal totalFat = BigDecimal.ZERO;
+
+        if (recipe != null && recipe.getIngredients() != null) {
+            for (RecipeIngredient ri : recipe.getIngredients()) {
+                if (ri == null || ri.getIngredient() == null || ri.getQuantity() == null) continue;
+
+                Ingredient ing = ri.getIngredient();
+                BigDecimal quantityInGrams = UnitConverter.toGram(BigDecimal.valueOf(ri.getQuantity()), ri.getUnit(), ing.getDensity());
+
+                for (IngredientNutrition nutrition : ing.getNutritions()) {
+                    if (nutrition.getNutritionType() == null || nutrition.getNutritionType().getName() == null
+                            || nutrition.getAmountPer100g() == null) continue;
+
+                    BigDecimal perGram = nutrition.getAmountPer100g().multiply(new BigDecimal("0.01"));
+                    BigDecimal amount = quantityInGrams.multiply(perGram);
+
+                    switch (nutrition.getNutritionType().getName().toLowerCase()) {
+                        case "protein" -> totalProtein = totalProtein.add(amount);
+                        case "carbohydrate", "carbohydrates", "carbs" -> totalCarbs = totalCarbs.add(amount);
+                        case "fat", "fats" -> totalFat = totalFat.add(amount);
+                        default -> { }
+                    }
+                }
+            }
+        }
+
+        Map<String, BigDecimal> macros = new HashMap<>();
+        macros.put("protein", totalProtein.setScale(2, RoundingMode.HALF_UP));
+        macros.put("carbs", totalCarbs.setScale(2, RoundingMode.HALF_UP));
+        macros.put("fat", totalFat.setScale(2, RoundingMode.HALF_UP));
+        return macros;
+    }
+
+    // Stored macro totals of a recipe, missing values read as zero. No ingredient access.
+    public static Map<String, BigDecimal> getStoredMacros(Recipe recipe) {
+        Map<String, BigDecimal> macros = new HashMap<>();
+        macros.put("protein", recipe.getProtein() != null ? recipe.getProtein() : BigDecimal.ZERO);
+        macros.put("carbs", recipe.getCarbs() != null ? recipe.getCarbs() : BigDecimal.ZERO);
+        macros.put("fat", recipe.getFat() != null ? recipe.getFat() : BigDecimal.ZERO);
+        return macros;
+    }
+
+}
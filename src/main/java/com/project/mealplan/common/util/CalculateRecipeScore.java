@@ -8,14 +8,15 @@ import java.util.Set;
 
 /**
  * Utility class for calculating recipe scores based on various factors.
- * Used for recipe suggestions and meal plan generation.
+ * Reference formula for a single recipe entity; recipe suggestions and meal plan generation
+ * score the whole catalog at once with RecipeScoringTable, which applies the same formula.
  */
 public class CalculateRecipeScore {
 
     // Scoring weights
-    private static final double CALORIE_WEIGHT = 0.5;  // 50% weight for calorie fit
-    private static final double PANTRY_WEIGHT = 0.3;   // 30% weight for pantry match
-    private static final double FAVORITE_WEIGHT = 0.2; // 20% weight for favorite status
+    public static final double CALORIE_WEIGHT = 0.5;  // 50% weight for calorie fit
+    public static final double PANTRY_WEIGHT = 0.3;   // 30% weight for pantry match
+    public static final double FAVORITE_WEIGHT = 0.2; // 20% weight for favorite status
 
     private CalculateRecipeScore() {
         // Private constructor to prevent instantiation
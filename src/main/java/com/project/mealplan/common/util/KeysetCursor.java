@@ -0,0 +1,42 @@
+package com.project.mealplan.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort;
+
+import com.project.mealplan.common.enums.ErrorCode;
+import com.project.mealplan.common.exception.AppException;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and id of the last row returned.
+ * Clients only see the opaque encoded form.
+ */
+public record KeysetCursor(String sortField, Sort.Direction direction, String value, long id) {
+
+    private static final String SEPARATOR = "\n";
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortField, direction.name(), Long.toString(id), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor issued for the given sort, rejecting foreign or tampered ones.
+     */
+    public static KeysetCursor decode(String token, String sortField, Sort.Direction direction) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // value goes last and may itself contain the separator
+            String[] parts = raw.split(SEPARATOR, 4);
+            KeysetCursor cursor = new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]),
+                    parts[3], Long.parseLong(parts[2]));
+            if (!cursor.sortField().equals(sortField) || cursor.direction() != direction) {
+                throw new AppException(ErrorCode.INVALID_REQUEST, "Cursor does not match the requested sort");
+            }
+            return cursor;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "Invalid cursor");
+        }
+    }
+}
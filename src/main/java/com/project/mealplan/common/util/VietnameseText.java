@@ -0,0 +1,33 @@
+package com.project.mealplan.common.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Folding of Vietnamese text for accent-insensitive matching: "Gà rán Đà Lạt" -> "ga ran da lat".
+ */
+public final class VietnameseText {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+
+    private VietnameseText() {
+    }
+
+    /**
+     * Strip diacritics (đ is not a combining mark and is mapped by hand), lower-case and
+     * collapse everything that is not a letter or digit into single spaces.
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('\u0111', 'd') // đ
+                .replace('\u0110', 'D') // Đ
+                .toLowerCase(Locale.ROOT);
+        return NON_ALNUM.matcher(stripped).replaceAll(" ").trim();
+    }
+}
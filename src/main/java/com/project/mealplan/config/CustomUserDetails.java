@@ -6,6 +6,8 @@ import java.util.Set;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.project.mealplan.common.enums.UserStatus;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -15,7 +17,7 @@ public class CustomUserDetails implements UserDetails {
     private final Long id;
     private final String email;
     private final String password;
-    private final boolean enabled;
+    private final UserStatus status;
     private final Set<String> roles;
 
     @Override
@@ -37,7 +39,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return enabled;
+        return isEnabled();
     }
 
     @Override
@@ -47,7 +49,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return enabled;
+        return status == UserStatus.ACTIVE;
     }
 
     @Override
@@ -4,9 +4,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 
+import com.project.mealplan.service.impl.RedisTokenService;
+
 @Configuration
 public class RedisConfig {
 	@Bean
@@ -17,4 +21,15 @@ public class RedisConfig {
         template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
         return template;
     }
-}
+
+    // Keeps every instance's local token blacklist cache in sync
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory,
+            RedisTokenService redisTokenService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener((message, pattern) -> redisTokenService.onBlacklistMessage(message),
+                new ChannelTopic(RedisTokenService.BLACKLIST_CHANNEL));
+        return container;
+    }
+}
\ No newline at end of file
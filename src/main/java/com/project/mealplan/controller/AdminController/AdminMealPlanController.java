@@ -0,0 +1,62 @@
+package com.project.mealplan.controller.AdminController;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.project.mealplan.common.response.ApiResponse;
+import com.project.mealplan.dtos.mealplan.request.BatchGenerateMealPlanRequest;
+import com.project.mealplan.dtos.mealplan.response.MealPlanBatchJobResponse;
+import com.project.mealplan.service.MealPlanBatchService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/admin/meal-plans")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Admin Management Meal Plans", description = "APIs for admin management operations about meal plans")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminMealPlanController {
+
+        private final MealPlanBatchService mealPlanBatchService;
+
+        @PostMapping("/batch-generate")
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "Generate weekly meal plans for many users", description = "Starts a background job generating the weekly plan for the given users (default: all ACTIVE users) and week (default: next week). Users that already have a plan for that week are skipped.")
+        public ResponseEntity<ApiResponse<MealPlanBatchJobResponse>> startBatchGeneration(
+                        @RequestBody(required = false) BatchGenerateMealPlanRequest request) {
+
+                if (request == null) {
+                        request = new BatchGenerateMealPlanRequest();
+                }
+                log.info("Admin starting batch meal plan generation for week of {}", request.getStartDate());
+
+                MealPlanBatchJobResponse job = mealPlanBatchService.startBatchGeneration(request);
+
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.<MealPlanBatchJobResponse>builder()
+                                .status(HttpStatus.ACCEPTED.value())
+                                .message("Batch meal plan generation started")
+                                .data(job)
+                                .build());
+        }
+
+        @GetMapping("/batch-generate/{jobId}")
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "Get batch generation progress", description = "Progress counters and per-user failures of a batch meal plan job")
+        public ResponseEntity<ApiResponse<MealPlanBatchJobResponse>> getBatchJob(
+                        @Parameter(description = "Job ID returned when the job was started", required = true) @PathVariable String jobId) {
+
+                return ResponseEntity.ok(ApiResponse.<MealPlanBatchJobResponse>builder()
+                                .status(200)
+                                .message("Batch meal plan job retrieved successfully")
+                                .data(mealPlanBatchService.getBatchJob(jobId))
+                                .build());
+        }
+}
@@ -72,4 +72,17 @@ public class AdminRecipeController {
                 .data(updated)
                 .build());
     }
+
+    @PostMapping("/browse-index/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Admin: Rebuild the recipe browse facet index from the database")
+    public ResponseEntity<ApiResponse<Integer>> rebuildBrowseIndex() {
+        int indexed = recipeService.rebuildBrowseIndex();
+
+        return ResponseEntity.ok(ApiResponse.<Integer>builder()
+                .status(HttpStatus.OK.value())
+                .message("Indexed " + indexed + " published recipes")
+                .data(indexed)
+                .build());
+    }
 }
@@ -0,0 +1,44 @@
+package com.project.mealplan.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.mealplan.common.enums.AutocompleteType;
+import com.project.mealplan.common.response.ApiResponse;
+import com.project.mealplan.dtos.autocomplete.response.AutocompleteItemResponse;
+import com.project.mealplan.service.AutocompleteService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@RequiredArgsConstructor
+@Tag(name = "Autocomplete", description = "Type-ahead suggestions for ingredient and recipe names")
+@SecurityRequirement(name = "bearerAuth")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    @GetMapping
+    @Operation(summary = "Suggest ingredient and recipe names", description = "Served from memory. Ignores Vietnamese diacritics (\"ga\" matches \"gà\"), matches word prefixes and tolerates small typos.")
+    public ResponseEntity<ApiResponse<List<AutocompleteItemResponse>>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "ALL") AutocompleteType type,
+            @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        List<AutocompleteItemResponse> result = autocompleteService.suggest(q, type, limit);
+        return ResponseEntity.ok(ApiResponse.<List<AutocompleteItemResponse>>builder()
+                .status(HttpStatus.OK.value())
+                .message("Get suggestions successfully")
+                .data(result)
+                .build());
+    }
+}
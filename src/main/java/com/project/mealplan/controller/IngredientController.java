@@ -1,6 +1,7 @@
 package com.project.mealplan.controller;
 
 import com.project.mealplan.common.response.ApiResponse;
+import com.project.mealplan.common.response.CursorPayLoad;
 import com.project.mealplan.common.response.PagePayLoad;
 import com.project.mealplan.dtos.ingredient.response.IngredientListItemResponse;
 import com.project.mealplan.service.IngredientService;
@@ -53,4 +54,27 @@ public class IngredientController {
                         .data(payload)
                         .build());
     }
+
+    @Operation(summary = "Scroll ingredients with a cursor", description = "Keyset pagination for infinite scroll, sortable by name or id. Pass nextCursor from the previous response to get the next slice.")
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<ApiResponse<CursorPayLoad<IngredientListItemResponse>>> scrollIngredients(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) BigDecimal minCalories,
+            @RequestParam(required = false) BigDecimal maxCalories,
+            @RequestParam(required = false, defaultValue = "name") String sortBy,
+            @RequestParam(required = false, defaultValue = "asc") String sortDir,
+            @RequestParam(required = false, defaultValue = "10") Integer size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor) {
+        CursorPayLoad<IngredientListItemResponse> payload = ingredientService.searchIngredientsByCursor(
+                type, minCalories, maxCalories, keyword, size, sortBy, sortDir, cursor);
+
+        return ResponseEntity.ok(
+                ApiResponse.<CursorPayLoad<IngredientListItemResponse>>builder()
+                        .status(200)
+                        .message("Ingredients retrieved successfully")
+                        .data(payload)
+                        .build());
+    }
 }
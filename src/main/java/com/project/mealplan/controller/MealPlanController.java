@@ -1,14 +1,17 @@
 package com.project.mealplan.controller;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.project.mealplan.common.enums.MealType;
 import com.project.mealplan.common.response.ApiResponse;
+import com.project.mealplan.dtos.mealplan.request.AcceptWeeklyMealPlanRequest;
 import com.project.mealplan.dtos.mealplan.request.GenerateWeeklyMealPlanRequest;
 import com.project.mealplan.dtos.mealplan.request.UpdateMealSlotRecipeRequest;
+import com.project.mealplan.dtos.mealplan.request.UpdateMealSlotsRequest;
 import com.project.mealplan.dtos.mealplan.response.MealSlotListResponse;
 import com.project.mealplan.dtos.mealplan.response.UpdatedMealSlotResponse;
 import com.project.mealplan.dtos.mealplan.response.WeeklyMealPlanResponse;
@@ -35,7 +38,8 @@ public class MealPlanController {
         private final MealPlanService mealPlanService;
 
         @PostMapping("/generate-weekly")
-        public ResponseEntity<ApiResponse<WeeklyMealPlanResponse>> generateWeeklyMealPlan(
+        @Operation(summary = "Generate weekly meal plan", description = "Generate and save the weekly meal plan. With alternatives > 1, returns that many unsaved candidate plans instead; save the chosen one with POST /api/meal-plans/accept.")
+        public ResponseEntity<ApiResponse<?>> generateWeeklyMealPlan(
                         @RequestBody(required = false) @Valid GenerateWeeklyMealPlanRequest request) {
 
                 Long currentUserId = SecurityUtil.getCurrentUserId();
@@ -45,6 +49,19 @@ public class MealPlanController {
                         request = new GenerateWeeklyMealPlanRequest();
                 }
 
+                if (request.getAlternatives() != null && request.getAlternatives() > 1) {
+                        List<WeeklyMealPlanResponse> candidates = mealPlanService.generateWeeklyMealPlanCandidates(
+                                        currentUserId,
+                                        request.getStartDate(),
+                                        request.getAlternatives());
+
+                        return ResponseEntity.ok(ApiResponse.<List<WeeklyMealPlanResponse>>builder()
+                                        .status(200)
+                                        .message("Candidate weekly meal plans generated")
+                                        .data(candidates)
+                                        .build());
+                }
+
                 WeeklyMealPlanResponse response = mealPlanService.generateWeeklyMealPlan(
                                 currentUserId,
                                 request.getStartDate());
@@ -56,6 +73,22 @@ public class MealPlanController {
                                 .build());
         }
 
+        @PostMapping("/accept")
+        @Operation(summary = "Save a candidate weekly meal plan", description = "Save one of the candidate plans returned by generate-weekly with alternatives > 1.")
+        public ResponseEntity<ApiResponse<WeeklyMealPlanResponse>> acceptWeeklyMealPlan(
+                        @Valid @RequestBody AcceptWeeklyMealPlanRequest request) {
+
+                Long currentUserId = SecurityUtil.getCurrentUserId();
+
+                WeeklyMealPlanResponse response = mealPlanService.acceptWeeklyMealPlan(currentUserId, request);
+
+                return ResponseEntity.status(201).body(ApiResponse.<WeeklyMealPlanResponse>builder()
+                                .status(201)
+                                .message("Weekly meal plan saved successfully")
+                                .data(response)
+                                .build());
+        }
+
         @GetMapping
         @Operation(summary = "Get weekly meal plan", description = "Get the weekly meal plan for the current user containing the specified date. If date is not provided, defaults to current date.")
         public ResponseEntity<ApiResponse<WeeklyMealPlanResponse>> getWeeklyMealPlan(
@@ -125,4 +158,31 @@ public class MealPlanController {
                                 .data(response)
                                 .build());
         }
+
+        @PatchMapping("/slots")
+        @Operation(summary = "Update recipes in several meal slots", description = "Replace the recipes of several meal slots in one transaction. Each returned slot carries the final nutrition summary of its day.")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Meal slots updated successfully"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request or duplicate meal slot"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized - not logged in"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden - a meal slot does not belong to user"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Meal slot or recipe not found")
+        })
+        public ResponseEntity<ApiResponse<List<UpdatedMealSlotResponse>>> updateMealSlotRecipes(
+                        @Valid @RequestBody UpdateMealSlotsRequest request) {
+
+                Long currentUserId = SecurityUtil.getCurrentUserId();
+
+                log.info("User {} updating {} meal slots", currentUserId, request.getSlots().size());
+
+                List<UpdatedMealSlotResponse> response = mealPlanService.updateMealSlotRecipes(
+                                currentUserId,
+                                request);
+
+                return ResponseEntity.ok(ApiResponse.<List<UpdatedMealSlotResponse>>builder()
+                                .status(200)
+                                .message("Meal slots updated successfully")
+                                .data(response)
+                                .build());
+        }
 }
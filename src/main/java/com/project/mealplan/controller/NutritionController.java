@@ -163,6 +163,38 @@ public class NutritionController {
                                 .build());
         }
 
+        @GetMapping("/summary")
+        @Operation(summary = "Get nutrition summary for a date range", description = "Get daily nutrition and averages for any range of up to 366 days, e.g. 30/90/365 day trends. Only counts consumed meals.")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Nutrition summary retrieved"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid date range"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+        })
+        public ResponseEntity<ApiResponse<WeeklyNutritionSummaryResponse>> getNutritionSummary(
+                        @Parameter(description = "First day in ISO yyyy-MM-dd format. Defaults to 29 days before endDate") @RequestParam(required = false) LocalDate startDate,
+                        @Parameter(description = "Last day in ISO yyyy-MM-dd format. Defaults to today") @RequestParam(required = false) LocalDate endDate) {
+
+                Long currentUserId = SecurityUtil.getCurrentUserId();
+
+                if (endDate == null) {
+                        endDate = LocalDate.now();
+                }
+                if (startDate == null) {
+                        startDate = endDate.minusDays(29);
+                }
+
+                log.info("Getting nutrition summary for user {} from {} to {}", currentUserId, startDate, endDate);
+
+                WeeklyNutritionSummaryResponse response = nutritionTrackingService.getNutritionSummary(
+                                currentUserId, startDate, endDate);
+
+                return ResponseEntity.ok(ApiResponse.<WeeklyNutritionSummaryResponse>builder()
+                                .status(200)
+                                .message("Nutrition summary retrieved")
+                                .data(response)
+                                .build());
+        }
+
         @PatchMapping("/meals/{mealSlotId}/consumed")
         @Operation(summary = "Log meal consumed", description = "Mark a meal slot as consumed or not consumed. Only consumed meals count toward nutrition tracking.")
         @ApiResponses(value = {
@@ -11,14 +11,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.project.mealplan.common.enums.MealType;
 import com.project.mealplan.common.response.ApiResponse;
 import com.project.mealplan.dtos.pantry.request.PantryItemRequest;
 import com.project.mealplan.dtos.pantry.response.PantryItemResponse;
+import com.project.mealplan.dtos.pantry.response.PantryRecipeMatchResponse;
 import com.project.mealplan.security.jwt.SecurityUtil;
 import com.project.mealplan.service.impl.PantryServiceImpl;
 
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -43,6 +48,22 @@ public class PantryController {
                 .build());
     }
 
+    @GetMapping("/recipes")
+    @Operation(summary = "Recipes I can cook from my pantry", description = "Published recipes ranked by the share of their ingredients in the pantry, with the ingredients still missing.")
+    public ResponseEntity<ApiResponse<List<PantryRecipeMatchResponse>>> getCookableRecipes(
+            @Parameter(description = "Minimum share of the recipe's ingredients in the pantry, 0 to 1")
+            @RequestParam(required = false, defaultValue = "0.8") Double minCoverage,
+            @RequestParam(required = false) MealType mealType,
+            @RequestParam(required = false, defaultValue = "20") Integer limit) {
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        List<PantryRecipeMatchResponse> result = pantryService.findCookableRecipes(currentUserId, minCoverage, mealType, limit);
+        return ResponseEntity.ok(ApiResponse.<List<PantryRecipeMatchResponse>>builder()
+                .status(HttpStatus.OK.value())
+                .message("Get cookable recipes successfully")
+                .data(result)
+                .build());
+    }
+
     @PostMapping("/items")
     public ResponseEntity<ApiResponse<PantryItemResponse>> addPantryItem(
             @RequestBody PantryItemRequest request) {
@@ -2,11 +2,13 @@ package com.project.mealplan.controller;
 
 import com.project.mealplan.common.enums.RecipeStatus;
 import com.project.mealplan.common.response.ApiResponse;
+import com.project.mealplan.common.response.CursorPayLoad;
 import com.project.mealplan.common.response.PagePayLoad;
 import com.project.mealplan.config.CustomUserDetails;
 import com.project.mealplan.dtos.recipe.request.RecipeCreateRequest;
 import com.project.mealplan.dtos.recipe.request.UpdateRecipeDto;
 import com.project.mealplan.dtos.recipe.request.UpdateRecipeStatus;
+import com.project.mealplan.dtos.recipe.response.RecipeBrowseResponse;
 import com.project.mealplan.dtos.recipe.response.RecipeResponseDto;
 import com.project.mealplan.dtos.recipe.response.RecipeShortResponse;
 import com.project.mealplan.dtos.recipeCategory.response.RecipeCategoryDto;
@@ -14,7 +16,11 @@ import com.project.mealplan.security.CurrentUser;
 import com.project.mealplan.security.jwt.SecurityUtil;
 import com.project.mealplan.service.RecipeCategoryService;
 import com.project.mealplan.service.RecipeService;
+import com.project.mealplan.service.catalog.RecipeDetailCache;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -27,12 +33,16 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 
 @RestController
@@ -69,23 +79,35 @@ public class RecipeController {
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    @Operation(summary = "Get recipe by id")
-    public ResponseEntity<ApiResponse<RecipeResponseDto>> getRecipeById(
+    @Operation(summary = "Get recipe by id", description = "Served from a cache of serialized responses with a strong ETag; send If-None-Match to get 304 Not Modified")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecipeResponseDto.class)))
+    public ResponseEntity<byte[]> getRecipeById(
             @PathVariable Long id,
-            @AuthenticationPrincipal CustomUserDetails principal) {
+            @AuthenticationPrincipal CustomUserDetails principal,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
 
         Set<String> roles = principal.getAuthorities().stream()
             .map(GrantedAuthority::getAuthority)
             .collect(Collectors.toSet());
         CurrentUser cu = new CurrentUser(principal.getId(), roles);
 
-        RecipeResponseDto recipe = recipeService.getRecipeById(id, cu);
-
-        return ResponseEntity.ok(ApiResponse.<RecipeResponseDto>builder()
-                .status(200)
-                .message("Recipe retrieved successfully")
-                .data(recipe)
-                .build());
+        RecipeDetailCache.Entry detail = recipeService.getRecipeDetailResponse(id, cu);
+
+        boolean gzip = detail.gzip() != null && acceptsGzip(acceptEncoding);
+        String etag = gzip ? detail.gzipEtag() : detail.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        return gzip
+                ? response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(detail.gzip())
+                : response.body(detail.json());
     }
 
             
@@ -101,7 +123,8 @@ public class RecipeController {
             @RequestParam(required = false) String mealType,
             @RequestParam(required = false) BigDecimal minCalories,
             @RequestParam(required = false) BigDecimal maxCalories,
-            @RequestParam(required = false, defaultValue = "title") String sortBy,
+            @Parameter(description = "Sort field, defaults to title, or to relevance when a keyword is given")
+            @RequestParam(required = false) String sortBy,
             @RequestParam(required = false, defaultValue = "desc") String sortDir,
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @RequestParam(required = false, defaultValue = "10") Integer size,
@@ -125,6 +148,69 @@ public class RecipeController {
                         .build());
     }
 
+    @Operation(summary = "Scroll recipes with a cursor", description = "Keyset pagination for infinite scroll, sortable by title, createdAt or recipeId. Pass nextCursor from the previous response to get the next slice.")
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<ApiResponse<CursorPayLoad<RecipeShortResponse>>> scrollRecipes(
+            @AuthenticationPrincipal CustomUserDetails principal,
+            @RequestParam(required = false) RecipeStatus status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer minCookingTimeMinutes,
+            @RequestParam(required = false) Integer maxCookingTimeMinutes,
+            @RequestParam(required = false) String mealType,
+            @RequestParam(required = false) BigDecimal minCalories,
+            @RequestParam(required = false) BigDecimal maxCalories,
+            @RequestParam(required = false, defaultValue = "title") String sortBy,
+            @RequestParam(required = false, defaultValue = "asc") String sortDir,
+            @RequestParam(required = false, defaultValue = "10") Integer size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor) {
+
+        Set<String> roles = principal.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toSet());
+
+        CurrentUser cu = new CurrentUser(principal.getId(), roles);
+
+        CursorPayLoad<RecipeShortResponse> payload = recipeService.getRecipesByCursor(cu, status, category, mealType,
+                minCookingTimeMinutes, maxCookingTimeMinutes, minCalories, maxCalories, size, sortBy, sortDir,
+                keyword, cursor);
+
+        return ResponseEntity.ok(
+                ApiResponse.<CursorPayLoad<RecipeShortResponse>>builder()
+                        .status(200)
+                        .message("Recipes retrieved successfully")
+                        .data(payload)
+                        .build());
+    }
+
+    @Operation(summary = "Browse published recipes with facet counts", description = "Served from the in-memory facet index. Returns a page sorted by title, cookingTimeMinutes, calories or recipeId plus per-facet match counts.")
+    @GetMapping("/browse")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<ApiResponse<RecipeBrowseResponse>> browseRecipes(
+            @RequestParam(required = false) RecipeStatus status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer minCookingTimeMinutes,
+            @RequestParam(required = false) Integer maxCookingTimeMinutes,
+            @RequestParam(required = false) String mealType,
+            @RequestParam(required = false) BigDecimal minCalories,
+            @RequestParam(required = false) BigDecimal maxCalories,
+            @RequestParam(required = false, defaultValue = "title") String sortBy,
+            @RequestParam(required = false, defaultValue = "asc") String sortDir,
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false, defaultValue = "10") Integer size) {
+
+        RecipeBrowseResponse result = recipeService.browseRecipes(status, category, mealType,
+                minCookingTimeMinutes, maxCookingTimeMinutes, minCalories, maxCalories, page, size, sortBy, sortDir);
+
+        return ResponseEntity.ok(
+                ApiResponse.<RecipeBrowseResponse>builder()
+                        .status(200)
+                        .message("Recipes retrieved successfully")
+                        .data(result)
+                        .build());
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     @Operation(summary = "Update recipe by id")
@@ -217,4 +303,38 @@ public class RecipeController {
                 .data(suggestions)
                 .build());
     }
+
+    /**
+     * Whether the Accept-Encoding header allows gzip: an explicit gzip (or x-gzip) coding decides,
+     * otherwise "*" does. A q-value of 0 means not acceptable; a malformed one is treated as 0.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() > 2 && param.substring(0, 2).equalsIgnoreCase("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : anyQuality;
+        return quality != null && quality > 0.0;
+    }
 }
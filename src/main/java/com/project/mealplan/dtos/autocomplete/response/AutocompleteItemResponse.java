@@ -0,0 +1,9 @@
+package com.project.mealplan.dtos.autocomplete.response;
+
+import com.project.mealplan.common.enums.AutocompleteType;
+
+public record AutocompleteItemResponse(
+    AutocompleteType type,
+    Long id,
+    String name
+) {}
@@ -0,0 +1,51 @@
+package com.project.mealplan.dtos.mealplan.request;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.project.mealplan.common.enums.MealType;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A candidate week returned by generate-weekly, sent back to be saved.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AcceptWeeklyMealPlanRequest {
+
+    @NotNull(message = "Week start date cannot be null")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate weekStartDate;
+
+    @NotEmpty(message = "Meals cannot be empty")
+    @Size(max = 28, message = "At most one meal per meal type and day")
+    @Valid
+    private List<PlannedMeal> meals;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PlannedMeal {
+        @NotNull(message = "Date cannot be null")
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate date;
+
+        @NotNull(message = "Meal type cannot be null")
+        private MealType mealType;
+
+        @NotNull(message = "Recipe ID cannot be null")
+        private Long recipeId;
+    }
+}
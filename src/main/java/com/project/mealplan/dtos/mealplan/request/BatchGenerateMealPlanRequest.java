@@ -0,0 +1,22 @@
+package com.project.mealplan.dtos.mealplan.request;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGenerateMealPlanRequest {
+    // Any date of the target week, defaults to next week
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    // Cohort to generate for, defaults to every ACTIVE user
+    private List<Long> userIds;
+}
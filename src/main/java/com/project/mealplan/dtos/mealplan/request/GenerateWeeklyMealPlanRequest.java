@@ -5,6 +5,8 @@ import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,4 +18,9 @@ public class GenerateWeeklyMealPlanRequest {
     @JsonFormat(pattern = "yyyy-MM-dd")
     @FutureOrPresent(message = "Start date must be present or future")
     private LocalDate startDate;
+
+    // More than 1 returns that many unsaved candidate plans; the chosen one is saved via accept
+    @Min(value = 1, message = "Alternatives must be at least 1")
+    @Max(value = 5, message = "At most 5 alternatives can be generated")
+    private Integer alternatives;
 }
@@ -0,0 +1,36 @@
+package com.project.mealplan.dtos.mealplan.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateMealSlotsRequest {
+
+    @NotEmpty(message = "Slots cannot be empty")
+    @Size(max = 50, message = "At most 50 slots can be updated at once")
+    @Valid
+    private List<SlotRecipe> slots;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SlotRecipe {
+        @NotNull(message = "Meal slot ID cannot be null")
+        private Long mealSlotId;
+
+        @NotNull(message = "Recipe ID cannot be null")
+        private Long recipeId;
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.mealplan.dtos.mealplan.response;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanBatchJobResponse {
+    private String jobId;
+    private String status; // RUNNING, COMPLETED
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate weekStartDate;
+
+    private int totalUsers;
+    private int processed;
+    private int generated;
+    private int skipped; // Plan already existed for that week
+    private int failed;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    private List<Failure> failures;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Failure {
+        private Long userId;
+        private String reason;
+    }
+}
@@ -24,4 +24,7 @@ public class WeeklyMealPlanResponse {
     private LocalDate weekEndDate;
 
     private List<MealDayResponse> days;
+
+    // Sum of the daily summaries
+    private NutritionSummaryResponse nutritionSummary;
 }
@@ -0,0 +1,19 @@
+package com.project.mealplan.dtos.pantry.response;
+
+import java.util.List;
+
+import com.project.mealplan.dtos.ingredient.response.IngredientListItemResponse;
+import com.project.mealplan.dtos.recipe.response.RecipeShortResponse;
+
+/**
+ * A recipe that can be cooked (mostly) from the pantry.
+ *
+ * @param coverage matchedIngredients / totalIngredients, between 0 and 1
+ */
+public record PantryRecipeMatchResponse(
+    RecipeShortResponse recipe,
+    int matchedIngredients,
+    int totalIngredients,
+    double coverage,
+    List<IngredientListItemResponse> missingIngredients
+) {}
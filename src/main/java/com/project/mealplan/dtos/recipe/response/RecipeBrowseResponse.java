@@ -0,0 +1,14 @@
+package com.project.mealplan.dtos.recipe.response;
+
+import java.util.Map;
+
+import com.project.mealplan.common.response.PagePayLoad;
+
+/**
+ * @param facets per facet (mealType, category, cookingTime, calories), the number of matching
+ *               recipes for each value; values without matches are left out
+ */
+public record RecipeBrowseResponse(
+    PagePayLoad<RecipeShortResponse> page,
+    Map<String, Map<String, Integer>> facets
+) {}
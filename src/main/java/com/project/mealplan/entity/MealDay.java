@@ -1,5 +1,6 @@
 package com.project.mealplan.entity;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -38,6 +39,20 @@ public class MealDay {
     @Column(nullable = false)
     private LocalDate date;
 
+    // Planned totals of the day's recipes (stored macros), adjusted on every recipe swap.
+    // Null until first maintained: batch-written days and days stored before these columns.
+    @Column(name = "total_calories", precision = 10, scale = 2)
+    private BigDecimal totalCalories;
+
+    @Column(name = "total_protein", precision = 10, scale = 2)
+    private BigDecimal totalProtein;
+
+    @Column(name = "total_carbs", precision = 10, scale = 2)
+    private BigDecimal totalCarbs;
+
+    @Column(name = "total_fat", precision = 10, scale = 2)
+    private BigDecimal totalFat;
+
     @OneToMany(mappedBy = "mealDay", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MealSlot> mealSlots = new ArrayList<>();
 
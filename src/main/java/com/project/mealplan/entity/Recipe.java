@@ -32,11 +32,6 @@ public class Recipe {
     @Column(nullable = false)
     private String title;
 
-    private String description;
-
-    @Column(columnDefinition = "TEXT")
-    private String instructions;
-
     private Integer cookingTimeMinutes;
 
     private String imageUrl;
@@ -44,6 +39,16 @@ public class Recipe {
     @Column(name = "calories", precision = 10, scale = 2)
     private BigDecimal calories;
 
+    // Macro totals (grams), stored alongside calories by CalculateCalories.applyRecipeNutrition
+    @Column(name = "protein", precision = 10, scale = 2)
+    private BigDecimal protein;
+
+    @Column(name = "carbs", precision = 10, scale = 2)
+    private BigDecimal carbs;
+
+    @Column(name = "fat", precision = 10, scale = 2)
+    private BigDecimal fat;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private RecipeStatus status = RecipeStatus.DRAFT;
@@ -80,7 +85,43 @@ public class Recipe {
     @JoinColumn(name = "user_id")
     private User createdBy;
 
+    // Description and instructions live in recipe_contents, loaded on first access
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "content_id")
+    private RecipeContent content;
+
+    // Full-text search document, maintained by RecipeSearchIndexer through native updates
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    private String searchVector;
+
     // Helper methods
+    public String getDescription() {
+        return content != null ? content.getDescription() : null;
+    }
+
+    public void setDescription(String description) {
+        content().setDescription(description);
+    }
+
+    public String getInstructions() {
+        return content != null ? content.getInstructions() : null;
+    }
+
+    public void setInstructions(String instructions) {
+        content().setInstructions(instructions);
+    }
+
+    private RecipeContent content() {
+        if (content == null) {
+            content = new RecipeContent();
+        }
+        return content;
+    }
+
     public void addIngredient(RecipeIngredient recipeIngredient) {
         ingredients.add(recipeIngredient);
         recipeIngredient.setRecipe(this);
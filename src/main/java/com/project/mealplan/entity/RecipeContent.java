@@ -0,0 +1,27 @@
+package com.project.mealplan.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Long text of a recipe, kept out of the recipes row so list and catalog reads don't carry it.
+ * Loaded lazily through {@link Recipe}, in practice only by the detail endpoint.
+ */
+@Entity
+@Table(name = "recipe_contents")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeContent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(columnDefinition = "TEXT")
+    private String instructions;
+}
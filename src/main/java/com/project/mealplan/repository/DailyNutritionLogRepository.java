@@ -1,11 +1,18 @@
 package com.project.mealplan.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.project.mealplan.entity.DailyNutritionLog;
 
@@ -18,4 +25,57 @@ public interface DailyNutritionLogRepository extends JpaRepository<DailyNutritio
             Long userId, LocalDate startDate, LocalDate endDate);
 
     boolean existsByUser_UserIdAndDate(Long userId, LocalDate date);
+
+    /**
+     * Create the day row from the food logs in [startOfDay, endOfDay) unless it already exists.
+     * Call before changing that day's food logs, then apply the change with {@link #applyDelta}.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO daily_nutrition_logs (user_id, date, total_calories, total_protein, total_carbs, total_fat,
+                                              created_at, updated_at)
+            SELECT :userId, :date,
+                   COALESCE(SUM(COALESCE(r.calories, 0) * COALESCE(f.quantity, 1)), 0),
+                   COALESCE(SUM(COALESCE(r.protein, 0) * COALESCE(f.quantity, 1)), 0),
+                   COALESCE(SUM(COALESCE(r.carbs, 0) * COALESCE(f.quantity, 1)), 0),
+                   COALESCE(SUM(COALESCE(r.fat, 0) * COALESCE(f.quantity, 1)), 0),
+                   now(), now()
+            FROM food_logs f
+            JOIN recipes r ON r.recipe_id = f.recipe_id
+            WHERE f.user_id = :userId AND f.consume_date >= :startOfDay AND f.consume_date < :endOfDay
+            ON CONFLICT (user_id, date) DO NOTHING
+            """, nativeQuery = true)
+    int initializeFromFoodLogs(@Param("userId") Long userId, @Param("date") LocalDate date,
+            @Param("startOfDay") LocalDateTime startOfDay, @Param("endOfDay") LocalDateTime endOfDay);
+
+    // Add a signed nutrition delta to the day row atomically
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE DailyNutritionLog d
+            SET d.totalCalories = COALESCE(d.totalCalories, 0) + :calories,
+                d.totalProtein = COALESCE(d.totalProtein, 0) + :protein,
+                d.totalCarbs = COALESCE(d.totalCarbs, 0) + :carbs,
+                d.totalFat = COALESCE(d.totalFat, 0) + :fat,
+                d.updatedAt = CURRENT_TIMESTAMP
+            WHERE d.user.userId = :userId AND d.date = :date
+            """)
+    int applyDelta(@Param("userId") Long userId, @Param("date") LocalDate date,
+            @Param("calories") BigDecimal calories, @Param("protein") BigDecimal protein,
+            @Param("carbs") BigDecimal carbs, @Param("fat") BigDecimal fat);
+
+    /**
+     * Drop the day rows of days with a food log of any of the recipes, after their macros changed.
+     * Removing a log subtracts the recipe's current macros, so the rows are rebuilt from the food logs
+     * with {@link #initializeFromFoodLogs} on the next read or write of the day.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            DELETE FROM daily_nutrition_logs d
+            WHERE EXISTS (SELECT 1 FROM food_logs f
+                          WHERE f.user_id = d.user_id AND f.recipe_id IN (:recipeIds)
+                            AND f.consume_date >= d.date AND f.consume_date < d.date + 1)
+            """, nativeQuery = true)
+    int deleteByFoodLogRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
 }
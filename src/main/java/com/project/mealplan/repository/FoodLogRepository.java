@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.mealplan.entity.FoodLog;
@@ -19,6 +21,21 @@ public interface FoodLogRepository extends JpaRepository<FoodLog, Long> {
     List<FoodLog> findByUser_UserIdAndConsumeDateGreaterThanEqualAndConsumeDateLessThanOrderByConsumeDateAsc(
             Long userId, LocalDateTime startDate, LocalDateTime endDate);
 
+    // Rows of [day, calories, protein, carbs, fat] for every day in [startDate, endDate) with food logs
+    @Query(value = """
+            SELECT CAST(f.consume_date AS date) AS day,
+                   COALESCE(SUM(COALESCE(r.calories, 0) * COALESCE(f.quantity, 1)), 0),
+                   COALESCE(SUM(COALESCE(r.protein, 0) * COALESCE(f.quantity, 1)), 0),
+                   COALESCE(SUM(COALESCE(r.carbs, 0) * COALESCE(f.quantity, 1)), 0),
+                   COALESCE(SUM(COALESCE(r.fat, 0) * COALESCE(f.quantity, 1)), 0)
+            FROM food_logs f
+            JOIN recipes r ON r.recipe_id = f.recipe_id
+            WHERE f.user_id = :userId AND f.consume_date >= :startDate AND f.consume_date < :endDate
+            GROUP BY CAST(f.consume_date AS date)
+            """, nativeQuery = true)
+    List<Object[]> sumNutritionByDay(@Param("userId") Long userId, @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
     void deleteByIdAndUser_UserId(Long id, Long userId);
 
     boolean existsByIdAndUser_UserId(Long id, Long userId);
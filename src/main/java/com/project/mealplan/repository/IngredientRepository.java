@@ -37,4 +37,8 @@ public interface IngredientRepository extends JpaRepository<Ingredient, Long>, J
         Page<Ingredient> findAll(@Nullable Specification<Ingredient> spec, Pageable pageable);
 
         List<Ingredient> findTop20ByNameContainingIgnoreCase(String name);
+
+        // Rows of [id, name]
+        @Query("SELECT i.id, i.name FROM Ingredient i")
+        List<Object[]> findAllIdAndName();
 }
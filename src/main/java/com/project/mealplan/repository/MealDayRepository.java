@@ -1,9 +1,13 @@
 package com.project.mealplan.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.mealplan.entity.MealDay;
@@ -12,4 +16,17 @@ import com.project.mealplan.entity.MealDay;
 public interface MealDayRepository extends JpaRepository<MealDay, Long> {
 
     Optional<MealDay> findByMealPlan_User_UserIdAndDate(Long userId, LocalDate date);
+
+    /**
+     * Drop the maintained totals of days planning any of the recipes, after their macros changed.
+     * They are summed again on the next swap.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE MealDay d
+            SET d.totalCalories = NULL, d.totalProtein = NULL, d.totalCarbs = NULL, d.totalFat = NULL
+            WHERE d.totalCalories IS NOT NULL
+              AND d.id IN (SELECT s.mealDay.id FROM MealSlot s WHERE s.recipe.recipeId IN :recipeIds)
+            """)
+    int clearNutritionTotalsByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
 }
@@ -1,9 +1,14 @@
 package com.project.mealplan.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.mealplan.entity.MealPlan;
@@ -11,4 +16,26 @@ import com.project.mealplan.entity.MealPlan;
 @Repository
 public interface MealPlanRepository extends JpaRepository<MealPlan, Long> {
     Optional<MealPlan> findByUser_UserIdAndStartDate(Long userId, LocalDate startDate);
+
+    /**
+     * The whole week flattened to one row per slot, so reading a plan costs one query whatever its size.
+     */
+    @Query("""
+            SELECT new com.project.mealplan.repository.WeeklyPlanRow(
+                p.id, p.startDate, p.endDate, d.id, d.date,
+                d.totalCalories, d.totalProtein, d.totalCarbs, d.totalFat,
+                s.id, s.type, s.consumed, s.consumedAt,
+                r.recipeId, r.title, r.calories, r.protein, r.carbs, r.fat)
+            FROM MealPlan p
+            LEFT JOIN p.mealDays d
+            LEFT JOIN d.mealSlots s
+            LEFT JOIN s.recipe r
+            WHERE p.user.userId = :userId AND p.startDate = :startDate
+            ORDER BY d.date, d.id, s.id
+            """)
+    List<WeeklyPlanRow> findWeeklyPlanRows(@Param("userId") Long userId, @Param("startDate") LocalDate startDate);
+
+    @Query("SELECT p.user.userId FROM MealPlan p WHERE p.user.userId IN :userIds AND p.startDate = :startDate")
+    Set<Long> findUserIdsWithPlanStartingOn(@Param("userIds") Collection<Long> userIds,
+            @Param("startDate") LocalDate startDate);
 }
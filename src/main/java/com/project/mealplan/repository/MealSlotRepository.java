@@ -1,14 +1,74 @@
 package com.project.mealplan.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.project.mealplan.common.enums.MealType;
 import com.project.mealplan.entity.MealSlot;
 
 @Repository
 public interface MealSlotRepository extends JpaRepository<MealSlot, Long> {
 
     Optional<MealSlot> findByIdAndMealDay_MealPlan_User_UserId(Long id, Long userId);
+
+    @Query("""
+            SELECT s FROM MealSlot s
+            JOIN FETCH s.mealDay d
+            JOIN FETCH d.mealPlan
+            JOIN FETCH s.recipe
+            WHERE s.id IN :ids
+            """)
+    List<MealSlot> findAllWithDayAndRecipeByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * [calories, protein, carbs, fat] summed over the day's recipes; null sums for an empty day.
+     */
+    @Query("""
+            SELECT SUM(r.calories), SUM(r.protein), SUM(r.carbs), SUM(r.fat)
+            FROM MealSlot s
+            JOIN s.recipe r
+            WHERE s.mealDay.id = :mealDayId
+            """)
+    List<Object[]> sumStoredNutritionByMealDayId(@Param("mealDayId") Long mealDayId);
+
+    /**
+     * Slots of one meal on one day of the user's plan for the week starting weekStart, in slot order.
+     */
+    @Query("""
+            SELECT new com.project.mealplan.repository.MealSlotRow(
+                s.id, p.id, r.recipeId, r.title, r.imageUrl, r.calories, r.protein, r.carbs, r.fat,
+                s.consumed, s.consumedAt)
+            FROM MealSlot s
+            JOIN s.mealDay d
+            JOIN d.mealPlan p
+            JOIN s.recipe r
+            WHERE p.user.userId = :userId AND p.startDate = :weekStart
+              AND d.date = :date AND s.type = :mealType
+            ORDER BY s.id
+            """)
+    List<MealSlotRow> findSlotRows(@Param("userId") Long userId, @Param("weekStart") LocalDate weekStart,
+            @Param("date") LocalDate date, @Param("mealType") MealType mealType);
+
+    /**
+     * Ingredient requirements of a whole meal plan, one row per (ingredient, unit):
+     * [ingredientId, density, unit, quantity scaled by slot servings].
+     */
+    @Query("""
+            SELECT i.id, i.density, ri.unit, SUM(ri.quantity * COALESCE(s.quantity, 1.0))
+            FROM MealSlot s
+            JOIN s.recipe r
+            JOIN r.ingredients ri
+            JOIN ri.ingredient i
+            WHERE s.mealDay.mealPlan.id = :mealPlanId
+            GROUP BY i.id, i.density, ri.unit
+            ORDER BY i.id
+            """)
+    List<Object[]> sumIngredientQuantitiesByMealPlanId(@Param("mealPlanId") Long mealPlanId);
 }
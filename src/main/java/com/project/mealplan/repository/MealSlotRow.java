@@ -0,0 +1,21 @@
+package com.project.mealplan.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A meal slot with its recipe summary and stored macros, read without loading the entities.
+ */
+public record MealSlotRow(
+        Long mealSlotId,
+        Long mealPlanId,
+        Long recipeId,
+        String title,
+        String imageUrl,
+        BigDecimal calories,
+        BigDecimal protein,
+        BigDecimal carbs,
+        BigDecimal fat,
+        Boolean consumed,
+        LocalDateTime consumedAt) {
+}
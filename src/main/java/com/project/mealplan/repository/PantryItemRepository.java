@@ -1,6 +1,11 @@
 package com.project.mealplan.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.mealplan.entity.PantryItem;
@@ -8,4 +13,25 @@ import com.project.mealplan.entity.PantryItem;
 @Repository
 public interface PantryItemRepository extends JpaRepository<PantryItem, Long> {
 
+    /**
+     * Pantry stock of the given ingredients, one row per (ingredient, unit):
+     * [ingredientId, density, unit, quantity].
+     */
+    @Query("""
+            SELECT i.id, i.density, p.unit, SUM(p.quantity)
+            FROM PantryItem p
+            JOIN p.ingredient i
+            WHERE p.pantry.user.userId = :userId AND i.id IN :ingredientIds
+            GROUP BY i.id, i.density, p.unit
+            """)
+    List<Object[]> sumQuantitiesByUserAndIngredientIds(@Param("userId") Long userId,
+            @Param("ingredientIds") Collection<Long> ingredientIds);
+
+    // Ingredients the user currently has in stock
+    @Query("""
+            SELECT DISTINCT p.ingredient.id
+            FROM PantryItem p
+            WHERE p.pantry.user.userId = :userId AND p.quantity > 0
+            """)
+    List<Long> findStockedIngredientIdsByUserId(@Param("userId") Long userId);
 }
@@ -1,8 +1,13 @@
 package com.project.mealplan.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.mealplan.entity.Pantry;
@@ -10,4 +15,12 @@ import com.project.mealplan.entity.Pantry;
 @Repository
 public interface PantryRepository extends JpaRepository<Pantry, Long> {
     Optional<Pantry> findByUser_UserId(Long userId);
+
+    @EntityGraph(attributePaths = { "items", "items.ingredient" })
+    @Query("SELECT p FROM Pantry p WHERE p.user.userId = :userId")
+    Optional<Pantry> findWithItemsByUserId(@Param("userId") Long userId);
+
+    // Rows of [userId, ingredientId]
+    @Query("SELECT p.user.userId, i.ingredient.id FROM Pantry p JOIN p.items i WHERE p.user.userId IN :userIds")
+    List<Object[]> findIngredientIdsByUserIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,27 @@
+package com.project.mealplan.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import com.project.mealplan.common.enums.RecipeStatus;
+import com.project.mealplan.dtos.recipe.response.RecipeShortResponse;
+
+/**
+ * Short-card columns of a recipe plus its category names, read without loading the entity.
+ * createdAt is carried for keyset cursors only.
+ */
+public record RecipeCard(
+        Long recipeId,
+        String title,
+        String imageUrl,
+        RecipeStatus status,
+        Integer cookingTimeMinutes,
+        BigDecimal calories,
+        LocalDateTime createdAt,
+        Set<String> categories) {
+
+    public RecipeShortResponse toShortResponse() {
+        return new RecipeShortResponse(recipeId, title, imageUrl, status, categories, cookingTimeMinutes, calories);
+    }
+}
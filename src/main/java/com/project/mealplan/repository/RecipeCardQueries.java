@@ -0,0 +1,24 @@
+package com.project.mealplan.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.project.mealplan.entity.Recipe;
+
+/**
+ * Read-side recipe list queries returning {@link RecipeCard}s: one statement for the card
+ * columns and one for the category names of the whole page, plus the count for pages.
+ */
+public interface RecipeCardQueries {
+
+    Page<RecipeCard> findCards(Specification<Recipe> spec, Pageable pageable);
+
+    List<RecipeCard> findCards(Specification<Recipe> spec, Sort sort, int limit);
+
+    List<RecipeCard> findCardsByIds(Collection<Long> recipeIds, Sort sort);
+}
@@ -0,0 +1,121 @@
+package com.project.mealplan.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.project.mealplan.common.enums.RecipeStatus;
+import com.project.mealplan.entity.Recipe;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class RecipeCardQueriesImpl implements RecipeCardQueries {
+
+    record CardRow(Long recipeId, String title, String imageUrl, RecipeStatus status,
+            Integer cookingTimeMinutes, BigDecimal calories, LocalDateTime createdAt) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<RecipeCard> findCards(Specification<Recipe> spec, Pageable pageable) {
+        TypedQuery<CardRow> query = cardQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(withCategories(query.getResultList()), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<RecipeCard> findCards(Specification<Recipe> spec, Sort sort, int limit) {
+        return withCategories(cardQuery(spec, sort).setMaxResults(limit).getResultList());
+    }
+
+    @Override
+    public List<RecipeCard> findCardsByIds(Collection<Long> recipeIds, Sort sort) {
+        if (recipeIds.isEmpty()) {
+            return List.of();
+        }
+        Specification<Recipe> byIds = (root, query, cb) -> root.get("recipeId").in(recipeIds);
+        return findCards(byIds, sort, recipeIds.size());
+    }
+
+    private TypedQuery<CardRow> cardQuery(Specification<Recipe> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CardRow> query = cb.createQuery(CardRow.class);
+        Root<Recipe> root = query.from(Recipe.class);
+
+        query.select(cb.construct(CardRow.class,
+                root.get("recipeId"),
+                root.get("title"),
+                root.get("imageUrl"),
+                root.get("status"),
+                root.get("cookingTimeMinutes"),
+                root.get("calories"),
+                root.get("createdAt")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // An explicit sort wins over an order set by the specification (e.g. relevance)
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Recipe> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Recipe> root = query.from(Recipe.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.count(root)).orderBy(List.of());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<RecipeCard> withCategories(List<CardRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = rows.stream().map(CardRow::recipeId).toList();
+        Map<Long, Set<String>> categories = new HashMap<>();
+        entityManager.createQuery(
+                "SELECT r.recipeId, c.name FROM Recipe r JOIN r.categories c WHERE r.recipeId IN :ids",
+                Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(row -> categories.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]));
+
+        return rows.stream()
+                .map(row -> new RecipeCard(row.recipeId(), row.title(), row.imageUrl(), row.status(),
+                        row.cookingTimeMinutes(), row.calories(), row.createdAt(),
+                        categories.getOrDefault(row.recipeId(), new HashSet<>())))
+                .toList();
+    }
+}
@@ -1,12 +1,91 @@
 package com.project.mealplan.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.project.mealplan.common.enums.RecipeStatus;
 import com.project.mealplan.entity.Recipe;
 
-public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe> {
+public interface RecipeRepository
+        extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe>, RecipeCardQueries {
+
+    // Weighted search document: title > ingredient names > category names > description
+    String SEARCH_DOCUMENT = """
+            UPDATE recipes r SET search_vector =
+                setweight(to_tsvector('simple', coalesce(r.title, '')), 'A')
+                || setweight(to_tsvector('simple', coalesce((
+                        SELECT string_agg(i.name, ' ')
+                        FROM recipe_ingredient ri
+                        JOIN ingredient i ON i.ingredient_id = ri.ingredient_id
+                        WHERE ri.recipe_id = r.recipe_id), '')), 'B')
+                || setweight(to_tsvector('simple', coalesce((
+                        SELECT string_agg(c.name, ' ')
+                        FROM recipe_category_mapping m
+                        JOIN recipe_category c ON c.id = m.category_id
+                        WHERE m.recipe_id = r.recipe_id), '')), 'C')
+                || setweight(to_tsvector('simple', coalesce((
+                        SELECT rc.description
+                        FROM recipe_contents rc
+                        WHERE rc.id = r.content_id), '')), 'D')
+            """;
+
     boolean existsByTitleAndStatus(String title, RecipeStatus status);
-}
 
+    // Loads everything the in-memory recipe catalog needs in a single round trip
+    @EntityGraph(attributePaths = { "categories", "ingredients" })
+    List<Recipe> findByStatus(RecipeStatus status);
+
+    // Same as findByStatus, limited to the recipes of one category
+    @EntityGraph(attributePaths = { "categories", "ingredients" })
+    @Query("""
+            SELECT r FROM Recipe r
+            WHERE r.status = :status
+              AND r.recipeId IN (SELECT rc.recipeId FROM Recipe rc JOIN rc.categories c WHERE c.id = :categoryId)
+            """)
+    List<Recipe> findByStatusAndCategoryId(@Param("status") RecipeStatus status,
+            @Param("categoryId") Long categoryId);
+
+    // Recipes whose stored nutrition depends on the given ingredient
+    @Query("SELECT DISTINCT ri.recipe.recipeId FROM RecipeIngredient ri WHERE ri.ingredient.id = :ingredientId")
+    List<Long> findIdsByIngredientId(@Param("ingredientId") Long ingredientId);
+
+    // Rows created before macros were stored
+    @Query("SELECT r.recipeId FROM Recipe r WHERE r.protein IS NULL OR r.carbs IS NULL OR r.fat IS NULL")
+    List<Long> findIdsWithoutStoredMacros();
+
+    // Recipes whose detail response shows the user as author
+    @Query("SELECT r.recipeId FROM Recipe r WHERE r.createdBy.userId = :userId")
+    List<Long> findIdsByCreatedByUserId(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = SEARCH_DOCUMENT + " WHERE r.recipe_id IN (:recipeIds)", nativeQuery = true)
+    int refreshSearchVectors(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = SEARCH_DOCUMENT
+            + " WHERE r.recipe_id IN (SELECT ri.recipe_id FROM recipe_ingredient ri WHERE ri.ingredient_id = :ingredientId)",
+            nativeQuery = true)
+    int refreshSearchVectorsByIngredientId(@Param("ingredientId") Long ingredientId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = SEARCH_DOCUMENT
+            + " WHERE r.recipe_id IN (SELECT m.recipe_id FROM recipe_category_mapping m WHERE m.category_id = :categoryId)",
+            nativeQuery = true)
+    int refreshSearchVectorsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Transactional
+    @Modifying
+    @Query(value = SEARCH_DOCUMENT + " WHERE r.search_vector IS NULL", nativeQuery = true)
+    int refreshMissingSearchVectors();
+}
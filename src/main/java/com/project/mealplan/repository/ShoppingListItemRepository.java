@@ -1,13 +1,35 @@
 package com.project.mealplan.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.project.mealplan.entity.ShoppingListItem;
 
 @Repository
 public interface ShoppingListItemRepository extends JpaRepository<ShoppingListItem, Long> {
     Optional<ShoppingListItem> findByIdAndShoppingList_User_UserId(Long id, Long userId);
+
+    @EntityGraph(attributePaths = "ingredient")
+    List<ShoppingListItem> findByIdInAndShoppingList_User_UserId(Collection<Long> ids, Long userId);
+
+    /**
+     * Delete the given items that belong to the user's shopping list, ids of other users are ignored.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            DELETE FROM ShoppingListItem i
+            WHERE i.id IN :ids
+              AND i.shoppingList.id IN (SELECT sl.id FROM ShoppingList sl WHERE sl.user.userId = :userId)
+            """)
+    int deleteByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
 }
@@ -2,7 +2,10 @@ package com.project.mealplan.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.mealplan.entity.ShoppingList;
@@ -10,4 +13,8 @@ import com.project.mealplan.entity.ShoppingList;
 @Repository
 public interface ShoppingListRepository extends JpaRepository<ShoppingList, Long> {
     Optional<ShoppingList> findByUser_UserId(Long userId);
+
+    @EntityGraph(attributePaths = { "items", "items.ingredient" })
+    @Query("SELECT sl FROM ShoppingList sl WHERE sl.user.userId = :userId")
+    Optional<ShoppingList> findWithItemsByUserId(@Param("userId") Long userId);
 }
@@ -1,11 +1,17 @@
 package com.project.mealplan.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.project.mealplan.common.enums.UserStatus;
 import com.project.mealplan.entity.User;
 
 @Repository
@@ -13,4 +19,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	@EntityGraph(attributePaths = "roles")
 	Optional<User> findByEmail(String email);
 	boolean existsByEmailIgnoreCase(String email);
+
+	@Query("SELECT r.recipeId FROM User u JOIN u.favorites r WHERE u.userId = :userId")
+	Set<Long> findFavoriteRecipeIds(@Param("userId") Long userId);
+
+	// Rows of [userId, recipeId]
+	@Query("SELECT u.userId, r.recipeId FROM User u JOIN u.favorites r WHERE u.userId IN :userIds")
+	List<Object[]> findFavoriteRecipeIdsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+	// Rows of [recipeId, number of users who favorited it]
+	@Query("SELECT r.recipeId, COUNT(u) FROM User u JOIN u.favorites r GROUP BY r.recipeId")
+	List<Object[]> countFavoritesByRecipeId();
+
+	@Query("SELECT u.userId FROM User u WHERE u.status = :status ORDER BY u.userId")
+	List<Long> findIdsByStatus(@Param("status") UserStatus status);
 }
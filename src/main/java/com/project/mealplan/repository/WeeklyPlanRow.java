@@ -0,0 +1,34 @@
+package com.project.mealplan.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.project.mealplan.common.enums.MealType;
+
+/**
+ * One meal slot of a weekly plan with the plan, day and recipe columns it needs, read in a single query.
+ * Slot and recipe columns are null for a day without slots; day columns are null for a plan without days.
+ * The day totals are the ones maintained on the day, null until they are (re)computed.
+ */
+public record WeeklyPlanRow(
+        Long planId,
+        LocalDate startDate,
+        LocalDate endDate,
+        Long mealDayId,
+        LocalDate date,
+        BigDecimal dayCalories,
+        BigDecimal dayProtein,
+        BigDecimal dayCarbs,
+        BigDecimal dayFat,
+        Long mealSlotId,
+        MealType type,
+        Boolean consumed,
+        LocalDateTime consumedAt,
+        Long recipeId,
+        String title,
+        BigDecimal calories,
+        BigDecimal protein,
+        BigDecimal carbs,
+        BigDecimal fat) {
+}
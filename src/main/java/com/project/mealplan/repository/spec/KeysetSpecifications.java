@@ -0,0 +1,40 @@
+package com.project.mealplan.repository.spec;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Expression;
+
+public final class KeysetSpecifications {
+
+    private KeysetSpecifications() {
+    }
+
+    /**
+     * Seek predicate for keyset pagination ordered by (field, idField) in the given direction:
+     * rows strictly after (value, id). The field must be non-null and idField unique.
+     */
+    public static <T, V extends Comparable<? super V>> Specification<T> after(String field, V value,
+            String idField, Long id, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Expression<V> key = root.get(field);
+            Expression<Long> idKey = root.get(idField);
+            if (field.equals(idField)) {
+                return direction.isAscending() ? cb.greaterThan(idKey, id) : cb.lessThan(idKey, id);
+            }
+            if (direction.isAscending()) {
+                return cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(idKey, id)));
+            }
+            return cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(idKey, id)));
+        };
+    }
+
+    /**
+     * Order matching {@link #after}: the sort field, then the id as tie breaker.
+     */
+    public static Sort sort(String field, String idField, Sort.Direction direction) {
+        return field.equals(idField)
+                ? Sort.by(direction, idField)
+                : Sort.by(direction, field).and(Sort.by(direction, idField));
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.mealplan.repository.spec;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * PostgreSQL full-text functions usable from JPQL and Criteria queries.
+ * Registered through META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ *
+ * Both take a tsvector column and a to_tsquery('simple', ...) string. MATCH renders a plain
+ * {@code @@} so the planner can use a GIN index on the column.
+ */
+public class PostgresSearchFunctions implements FunctionContributor {
+
+    public static final String MATCH = "fts_match";
+    public static final String RANK = "fts_rank";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().registerPattern(MATCH,
+                "(?1 @@ to_tsquery('simple', ?2))", types.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern(RANK,
+                "ts_rank(?1, to_tsquery('simple', ?2))", types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -3,17 +3,22 @@ package com.project.mealplan.repository.spec;
 import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 
 import org.springframework.data.jpa.domain.Specification;
 
 import com.project.mealplan.common.enums.MealType;
 import com.project.mealplan.common.enums.RecipeStatus;
 import com.project.mealplan.entity.Recipe;
+import com.project.mealplan.entity.RecipeCategory;
 import com.project.mealplan.security.CurrentUser;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
 
 public final class RecipeSpecifications {
 
@@ -43,23 +48,52 @@ public final class RecipeSpecifications {
                 return null;
             }
 
-            Join<Object, Object> categoryJoin = root.join("categories");
-
-            return cb.like(
-                cb.lower(categoryJoin.get("name")),
-                "%" + category.trim().toLowerCase(Locale.ROOT) + "%"
-            );
+            // EXISTS instead of a join, so a recipe matching several categories is listed once
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<Recipe> recipe = sub.from(Recipe.class);
+            Join<Recipe, RecipeCategory> categoryJoin = recipe.join("categories");
+            sub.select(recipe.get("recipeId"))
+                .where(
+                    cb.equal(recipe.get("recipeId"), root.get("recipeId")),
+                    cb.like(
+                        cb.lower(categoryJoin.get("name")),
+                        "%" + category.trim().toLowerCase(Locale.ROOT) + "%"
+                    ));
+
+            return cb.exists(sub);
         };
     }
 
-    // title OR description, case-insensitive
-    public static Specification<Recipe> keywordLike(String keyword) {
+    /**
+     * Prefix search query for recipes.search_vector: every word of the keyword must match
+     * the start of a word in the recipe's title, description, ingredient or category names.
+     *
+     * @return the tsquery text, or null when the keyword has no searchable words
+     */
+    public static String toSearchQuery(String keyword) {
+        if (keyword == null || keyword.isBlank()) return null;
+        String query = Arrays.stream(keyword.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    /**
+     * Full-text match against the GIN-indexed search document, see {@link #toSearchQuery(String)}.
+     * With orderByRank the results are ordered by relevance, then by id.
+     */
+    public static Specification<Recipe> matchesSearch(String searchQuery, boolean orderByRank) {
         return (root, query, cb) -> {
-            if (keyword == null || keyword.isBlank()) return null;
-            String k = "%" + keyword.trim().toLowerCase(Locale.ROOT) + "%";
-            Expression<String> title = cb.lower(root.get("title"));
-            Expression<String> description = cb.lower(root.get("description"));
-            return cb.or(cb.like(title, k), cb.like(description, k));
+            Expression<String> document = root.get("searchVector");
+            Expression<String> tsQuery = cb.literal(searchQuery);
+
+            if (orderByRank && !Long.class.equals(query.getResultType())) {
+                query.orderBy(
+                        cb.desc(cb.function(PostgresSearchFunctions.RANK, Double.class, document, tsQuery)),
+                        cb.asc(root.get("recipeId")));
+            }
+            return cb.isTrue(cb.function(PostgresSearchFunctions.MATCH, Boolean.class, document, tsQuery));
         };
     }
 
@@ -5,6 +5,7 @@ import com.project.mealplan.common.exception.AppException;
 import com.project.mealplan.service.impl.CustomUserDetailsService;
 import com.project.mealplan.service.impl.RedisTokenService;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -53,19 +54,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
+                // single parse: verifies signature and expiry (ExpiredJwtException)
+                Claims claims = jwtUtil.parseClaims(token);
+
                 // check blacklist
-                if (redisTokenService.isTokenBlacklisted(token)) {
+                if (redisTokenService.isTokenBlacklisted(claims.getId())) {
                     throw new AppException(ErrorCode.UNAUTHORIZED, "Token is blacklisted");
                 }
 
-                String username = jwtUtil.extractSubject(token);
-                if (!jwtUtil.isTokenExpired(token)) {
-                    var customUserDetails = customUserDetailsService.loadUserByUsername(username);
-                    var auth = new UsernamePasswordAuthenticationToken(
-                            customUserDetails, null, customUserDetails.getAuthorities());
-                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                }
+                var customUserDetails = customUserDetailsService.loadUserFromClaims(claims);
+                var auth = new UsernamePasswordAuthenticationToken(
+                        customUserDetails, null, customUserDetails.getAuthorities());
+                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(auth);
             } catch (ExpiredJwtException ex) {
                 throw new AppException(ErrorCode.UNAUTHORIZED, "Token has expired");
             } catch (JwtException ex) {
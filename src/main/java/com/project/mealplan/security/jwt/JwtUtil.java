@@ -6,8 +6,11 @@ import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import io.jsonwebtoken.ExpiredJwtException;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import com.project.mealplan.config.CustomUserDetails;
+
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
@@ -32,16 +35,32 @@ public class JwtUtil {
         this.refreshTtl = refreshTtl;
     }
 
-    public String generateAccessToken(String subject, Collection<String> authorities) {
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_STATUS = "status";
+
+    // Embeds everything the authentication filter needs, so requests need no user lookup
+    public String generateAccessToken(CustomUserDetails user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("roles", authorities);
-        return buildToken(subject, claims, accessTtl);
+        claims.put(CLAIM_ROLES, user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_STATUS, user.getStatus().name());
+        return buildToken(user.getEmail(), claims, accessTtl);
     }
 
     public String generateRefreshToken(String subject) {
         return buildToken(subject, Collections.emptyMap(), refreshTtl);
     }
 
+    /**
+     * Verify signature and expiry once and return every claim.
+     * Throws ExpiredJwtException / JwtException like the extract methods.
+     */
+    public Claims parseClaims(String token) {
+        return Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token).getBody();
+    }
+
     public String extractSubject(String token) {
         return parseClaims(token).getSubject();
     }
@@ -85,10 +104,6 @@ public class JwtUtil {
                 .signWith(key, SignatureAlgorithm.HS256).compact();
     }
 
-    private Claims parseClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody();
-    }
 //    private Key getSigningKey() {
 //        return this.key;
 //    }
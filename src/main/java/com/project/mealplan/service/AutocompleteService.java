@@ -0,0 +1,15 @@
+package com.project.mealplan.service;
+
+import java.util.List;
+
+import com.project.mealplan.common.enums.AutocompleteType;
+import com.project.mealplan.dtos.autocomplete.response.AutocompleteItemResponse;
+
+public interface AutocompleteService {
+
+    /**
+     * Ingredient and/or published recipe names matching the typed text, ignoring Vietnamese
+     * diacritics and tolerating small typos.
+     */
+    List<AutocompleteItemResponse> suggest(String query, AutocompleteType type, Integer limit);
+}
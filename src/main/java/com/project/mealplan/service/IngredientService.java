@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 
+import com.project.mealplan.common.response.CursorPayLoad;
 import com.project.mealplan.dtos.admin.BulkDeleteIngredientDto;
 import com.project.mealplan.dtos.admin.BulkDeleteIngredientResponseDto;
 import com.project.mealplan.dtos.admin.IngredientResponseDto;
@@ -35,5 +36,18 @@ public interface IngredientService {
                         String sortBy,
                         String sortDir);
 
+        /**
+         * Keyset-paginated variant of searchIngredients, sortable by name or id. Skips the count query.
+         */
+        CursorPayLoad<IngredientListItemResponse> searchIngredientsByCursor(
+                        String type,
+                        BigDecimal minCalories,
+                        BigDecimal maxCalories,
+                        String keyword,
+                        int size,
+                        String sortBy,
+                        String sortDir,
+                        String cursor);
+
         List<NutritionType> getAllNutritions();
 }
\ No newline at end of file
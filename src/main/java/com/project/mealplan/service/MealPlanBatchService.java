@@ -0,0 +1,10 @@
+package com.project.mealplan.service;
+
+import com.project.mealplan.dtos.mealplan.request.BatchGenerateMealPlanRequest;
+import com.project.mealplan.dtos.mealplan.response.MealPlanBatchJobResponse;
+
+public interface MealPlanBatchService {
+    MealPlanBatchJobResponse startBatchGeneration(BatchGenerateMealPlanRequest request);
+
+    MealPlanBatchJobResponse getBatchJob(String jobId);
+}
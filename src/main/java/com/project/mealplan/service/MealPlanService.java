@@ -1,9 +1,12 @@
 package com.project.mealplan.service;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.dtos.mealplan.request.AcceptWeeklyMealPlanRequest;
 import com.project.mealplan.dtos.mealplan.request.UpdateMealSlotRecipeRequest;
+import com.project.mealplan.dtos.mealplan.request.UpdateMealSlotsRequest;
 import com.project.mealplan.dtos.mealplan.response.MealSlotListResponse;
 import com.project.mealplan.dtos.mealplan.response.UpdatedMealSlotResponse;
 import com.project.mealplan.dtos.mealplan.response.WeeklyMealPlanResponse;
@@ -11,9 +14,24 @@ import com.project.mealplan.dtos.mealplan.response.WeeklyMealPlanResponse;
 public interface MealPlanService {
     WeeklyMealPlanResponse generateWeeklyMealPlan(Long userId, LocalDate startDate);
 
+    /**
+     * Plan count alternative weeks from one scoring of the catalog without saving any of them.
+     */
+    List<WeeklyMealPlanResponse> generateWeeklyMealPlanCandidates(Long userId, LocalDate startDate, int count);
+
+    /**
+     * Save a week chosen among the candidates.
+     */
+    WeeklyMealPlanResponse acceptWeeklyMealPlan(Long userId, AcceptWeeklyMealPlanRequest request);
+
     MealSlotListResponse getMealSlotsByDateAndMealType(Long userId, LocalDate date, MealType mealType);
 
     UpdatedMealSlotResponse updateMealSlotRecipe(Long userId, Long mealSlotId, UpdateMealSlotRecipeRequest request);
 
+    /**
+     * Swap the recipes of several slots in one transaction; day totals are adjusted once per day.
+     */
+    List<UpdatedMealSlotResponse> updateMealSlotRecipes(Long userId, UpdateMealSlotsRequest request);
+
     WeeklyMealPlanResponse getWeeklyMealPlan(Long userId, LocalDate date);
 }
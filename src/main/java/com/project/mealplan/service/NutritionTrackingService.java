@@ -62,6 +62,17 @@ public interface NutritionTrackingService {
      */
     WeeklyNutritionSummaryResponse getWeeklyNutritionSummary(Long userId, LocalDate startDate);
 
+    /**
+     * Get nutrition summary for an arbitrary date range (e.g. 30/90/365 days for trends).
+     * Includes one entry per day with averages over days with data.
+     * 
+     * @param userId    User ID
+     * @param startDate First day (inclusive)
+     * @param endDate   Last day (inclusive)
+     * @return Nutrition summary for the range
+     */
+    WeeklyNutritionSummaryResponse getNutritionSummary(Long userId, LocalDate startDate, LocalDate endDate);
+
     /**
      * Log a meal slot as consumed or not consumed.
      * Only consumed meals count toward nutrition tracking.
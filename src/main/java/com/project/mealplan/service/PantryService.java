@@ -2,12 +2,20 @@ package com.project.mealplan.service;
 
 import java.util.List;
 
+import com.project.mealplan.common.enums.MealType;
 import com.project.mealplan.dtos.pantry.request.PantryItemRequest;
 import com.project.mealplan.dtos.pantry.response.PantryItemResponse;
+import com.project.mealplan.dtos.pantry.response.PantryRecipeMatchResponse;
 
 public interface PantryService {
     List<PantryItemResponse> getPantryItemsByUserId(Long userId);
     PantryItemResponse addPantryItem(Long userId, PantryItemRequest request);
     PantryItemResponse updatePantryItem(Long userId, Long itemId, PantryItemRequest request);
     void deletePantryItem(Long userId, Long itemId);
+
+    /**
+     * Published recipes with at least minCoverage (0..1) of their ingredients in the user's pantry,
+     * best coverage first, each with the ingredients still missing.
+     */
+    List<PantryRecipeMatchResponse> findCookableRecipes(Long userId, double minCoverage, MealType mealType, int limit);
 }
@@ -6,11 +6,14 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 
 import com.project.mealplan.common.enums.RecipeStatus;
+import com.project.mealplan.common.response.CursorPayLoad;
 import com.project.mealplan.dtos.recipe.request.RecipeCreateRequest;
 import com.project.mealplan.dtos.recipe.request.UpdateRecipeDto;
+import com.project.mealplan.dtos.recipe.response.RecipeBrowseResponse;
 import com.project.mealplan.dtos.recipe.response.RecipeResponseDto;
 import com.project.mealplan.dtos.recipe.response.RecipeShortResponse;
 import com.project.mealplan.security.CurrentUser;
+import com.project.mealplan.service.catalog.RecipeDetailCache;
 import com.project.mealplan.dtos.recipe.DeleteRecipesDto;
 import com.project.mealplan.dtos.recipe.request.UpdateRecipeStatus;
 
@@ -21,6 +24,12 @@ public interface RecipeService {
 
     RecipeResponseDto getRecipeById(Long id, CurrentUser currentUser);
 
+    /**
+     * Serialized GET /api/recipes/{id} response from the detail cache. Cache hits need no
+     * database access; the viewer's permission is still checked on every call.
+     */
+    RecipeDetailCache.Entry getRecipeDetailResponse(Long id, CurrentUser currentUser);
+
     Page<RecipeShortResponse> getRecipes(
         CurrentUser currentUser,
         RecipeStatus status,
@@ -37,6 +46,47 @@ public interface RecipeService {
         String keyword
     );
     
+    /**
+     * Keyset-paginated variant of getRecipes for infinite scroll: no totals, and the cost of a
+     * slice does not grow with depth. Sortable by title, createdAt or recipeId.
+     */
+    CursorPayLoad<RecipeShortResponse> getRecipesByCursor(
+        CurrentUser currentUser,
+        RecipeStatus status,
+        String category,
+        String mealType,
+        Integer minCookingTimeMinutes,
+        Integer maxCookingTimeMinutes,
+        BigDecimal minCalories,
+        BigDecimal maxCalories,
+        Integer size,
+        String sortBy,
+        String sortDir,
+        String keyword,
+        String cursor
+    );
+
+    /**
+     * Browse published recipes through the in-memory facet index: filters, facet counts and
+     * sorted paging without SQL. Sortable by title, cookingTimeMinutes, calories or recipeId.
+     */
+    RecipeBrowseResponse browseRecipes(
+        RecipeStatus status,
+        String category,
+        String mealType,
+        Integer minCookingTimeMinutes,
+        Integer maxCookingTimeMinutes,
+        BigDecimal minCalories,
+        BigDecimal maxCalories,
+        Integer page,
+        Integer size,
+        String sortBy,
+        String sortDir
+    );
+
+    // Reload the recipe catalog and its facet index from the database. Returns the number of indexed recipes.
+    int rebuildBrowseIndex();
+
     RecipeResponseDto updateRecipeStatus(Long id, UpdateRecipeStatus status, CurrentUser currentUser);
 
     // Delete a recipe (and its related recipe_ingredient rows) by id. Admin only.
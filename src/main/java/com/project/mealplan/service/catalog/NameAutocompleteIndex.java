@@ -0,0 +1,131 @@
+package com.project.mealplan.service.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.mealplan.common.enums.AutocompleteType;
+import com.project.mealplan.dtos.autocomplete.response.AutocompleteItemResponse;
+import com.project.mealplan.repository.IngredientRepository;
+import com.project.mealplan.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory, accent-insensitive autocomplete over ingredient names and published recipe titles.
+ *
+ * Ingredients are loaded on startup and kept current by IngredientServiceImpl after commit;
+ * recipe titles are fed by {@link RecipeCatalog}, so only published recipes are suggested.
+ * Ties are broken by popularity: the number of published recipes using an ingredient, and the
+ * number of users who favorited a recipe (refreshed periodically).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NameAutocompleteIndex {
+
+    private final IngredientRepository ingredientRepository;
+    private final UserRepository userRepository;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+
+    private record TypedHit(AutocompleteType type, NameIndex.Hit hit) {
+    }
+
+    private final NameIndex ingredients = new NameIndex();
+    private final NameIndex recipes = new NameIndex();
+    private volatile Map<Long, Integer> favoriteCounts = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIngredients() {
+        Map<Long, String> names = new HashMap<>();
+        for (Object[] row : ingredientRepository.findAllIdAndName()) {
+            names.put((Long) row[0], (String) row[1]);
+        }
+        ingredients.replaceAll(names);
+        refreshFavoriteCounts();
+        log.info("Autocomplete loaded with {} ingredients", ingredients.size());
+    }
+
+    @Scheduled(initialDelayString = "${app.autocomplete.popularity-refresh-interval:PT15M}",
+            fixedDelayString = "${app.autocomplete.popularity-refresh-interval:PT15M}")
+    public void refreshFavoriteCounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : userRepository.countFavoritesByRecipeId()) {
+            counts.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        favoriteCounts = Map.copyOf(counts);
+    }
+
+    /**
+     * Best matches of both kinds ordered by match quality; on equal quality ingredients come first,
+     * each kind keeping its popularity order.
+     */
+    public List<AutocompleteItemResponse> suggest(String query, AutocompleteType type, int limit) {
+        List<TypedHit> hits = new ArrayList<>();
+        if (type != AutocompleteType.RECIPE) {
+            ingredients.search(query, limit, recipeIngredientIndex::recipeCount)
+                    .forEach(hit -> hits.add(new TypedHit(AutocompleteType.INGREDIENT, hit)));
+        }
+        if (type != AutocompleteType.INGREDIENT) {
+            Map<Long, Integer> counts = favoriteCounts;
+            recipes.search(query, limit, id -> counts.getOrDefault(id, 0))
+                    .forEach(hit -> hits.add(new TypedHit(AutocompleteType.RECIPE, hit)));
+        }
+        // List.sort is stable, so the per-kind order survives
+        hits.sort(Comparator.comparingInt(h -> h.hit().rank()));
+        return hits.stream()
+                .limit(limit)
+                .map(h -> new AutocompleteItemResponse(h.type(), h.hit().id(), h.hit().name()))
+                .toList();
+    }
+
+    /**
+     * Record an ingredient's current name after the surrounding transaction commits.
+     */
+    public void onIngredientSaved(Long ingredientId, String name) {
+        afterCommit(() -> ingredients.put(ingredientId, name));
+    }
+
+    public void onIngredientDeleted(Long ingredientId) {
+        afterCommit(() -> ingredients.remove(ingredientId));
+    }
+
+    // Called by RecipeCatalog, which already applies after commit
+    void rebuildRecipes(Collection<RecipeSnapshot> snapshots) {
+        Map<Long, String> titles = new HashMap<>();
+        snapshots.forEach(s -> titles.put(s.recipeId(), s.title()));
+        recipes.replaceAll(titles);
+    }
+
+    void applyRecipe(Long recipeId, RecipeSnapshot snapshot) {
+        if (snapshot != null) {
+            recipes.put(recipeId, snapshot.title());
+        } else {
+            recipes.remove(recipeId);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
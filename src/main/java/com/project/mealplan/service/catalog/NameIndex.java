@@ -0,0 +1,202 @@
+package com.project.mealplan.service.catalog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.ToIntFunction;
+
+import com.project.mealplan.common.util.VietnameseText;
+
+/**
+ * Accent-insensitive name lookup used by {@link NameAutocompleteIndex}.
+ *
+ * Names are folded with {@link VietnameseText#fold(String)} and split into words. A sorted word
+ * map answers prefix lookups; a trigram map over the words finds candidates for typos. Every
+ * candidate is then verified and scored: whole-name prefix, word prefix, then prefix edit distance.
+ * Writes are serialized; reads run lock-free and re-check candidates against the entry map.
+ */
+final class NameIndex {
+
+    /**
+     * A match; lower rank is better (0 name prefix, 1 word prefix, 2 + edits for typos).
+     */
+    record Hit(long id, String name, int rank, int popularity) {
+    }
+
+    private record Entry(long id, String name, String folded, String[] words) {
+    }
+
+    private static final Comparator<Hit> ORDER = Comparator.comparingInt(Hit::rank)
+            .thenComparing(Comparator.comparingInt(Hit::popularity).reversed())
+            .thenComparingInt(h -> h.name().length())
+            .thenComparingLong(Hit::id);
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Long>> words = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<Long>> grams = new ConcurrentHashMap<>();
+
+    int size() {
+        return entries.size();
+    }
+
+    synchronized void put(long id, String name) {
+        remove(id);
+        String folded = VietnameseText.fold(name);
+        if (folded.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(id, name, folded, folded.split(" "));
+        entries.put(id, entry);
+        for (String word : entry.words()) {
+            words.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(id);
+            for (String gram : trigrams(word)) {
+                grams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+    }
+
+    synchronized void remove(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String word : entry.words()) {
+            detach(words, word, id);
+            for (String gram : trigrams(word)) {
+                detach(grams, gram, id);
+            }
+        }
+    }
+
+    synchronized void replaceAll(Map<Long, String> names) {
+        entries.clear();
+        words.clear();
+        grams.clear();
+        names.forEach(this::put);
+    }
+
+    List<Hit> search(String query, int limit, ToIntFunction<Long> popularity) {
+        String folded = VietnameseText.fold(query);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        String[] tokens = folded.split(" ");
+
+        // Candidates: names with a word starting with the first token, or sharing enough of its trigrams
+        Set<Long> candidates = new HashSet<>();
+        String first = tokens[0];
+        words.subMap(first, true, first + Character.MAX_VALUE, false).values().forEach(candidates::addAll);
+        if (maxEdits(first) > 0) {
+            List<String> queryGrams = trigrams(first);
+            int needed = Math.max(1, queryGrams.size() - 3 * maxEdits(first));
+            Map<Long, Integer> shared = new HashMap<>();
+            for (String gram : queryGrams) {
+                for (Long id : grams.getOrDefault(gram, Set.of())) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+            shared.forEach((id, count) -> {
+                if (count >= needed) {
+                    candidates.add(id);
+                }
+            });
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Long id : candidates) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+            int rank = rank(entry, folded, tokens);
+            if (rank >= 0) {
+                hits.add(new Hit(id, entry.name(), rank, popularity.applyAsInt(id)));
+            }
+        }
+        hits.sort(ORDER);
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * -1 when the entry does not match every query token within the allowed edits.
+     */
+    private static int rank(Entry entry, String folded, String[] tokens) {
+        if (entry.folded().startsWith(folded)) {
+            return 0;
+        }
+        int edits = 0;
+        for (String token : tokens) {
+            int best = Integer.MAX_VALUE;
+            for (String word : entry.words()) {
+                best = Math.min(best, word.startsWith(token) ? 0 : prefixDistance(token, word));
+                if (best == 0) {
+                    break;
+                }
+            }
+            if (best > maxEdits(token)) {
+                return -1;
+            }
+            edits += best;
+        }
+        return edits == 0 ? 1 : 2 + edits;
+    }
+
+    // Typo tolerance grows with the token: none below 3 chars, 1 up to 5, then 2
+    private static int maxEdits(String token) {
+        return token.length() < 3 ? 0 : token.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Smallest Levenshtein distance between the token and any prefix of the word.
+     */
+    private static int prefixDistance(String token, String word) {
+        int[] previous = new int[word.length() + 1];
+        int[] current = new int[word.length() + 1];
+        for (int j = 0; j <= word.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= token.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= word.length(); j++) {
+                int cost = token.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int best = Integer.MAX_VALUE;
+        for (int value : previous) {
+            best = Math.min(best, value);
+        }
+        return best;
+    }
+
+    // Word trigrams with a start marker, so the beginning of a word weighs in
+    private static List<String> trigrams(String word) {
+        String padded = "$" + word;
+        List<String> result = new ArrayList<>(Math.max(1, padded.length() - 2));
+        if (padded.length() < 3) {
+            result.add(padded);
+            return result;
+        }
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static void detach(Map<String, Set<Long>> map, String key, long id) {
+        map.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -0,0 +1,218 @@
+package com.project.mealplan.service.catalog;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.common.enums.RecipeStatus;
+import com.project.mealplan.common.util.CalculateCalories;
+import com.project.mealplan.entity.Recipe;
+import com.project.mealplan.entity.RecipeCategory;
+import com.project.mealplan.repository.RecipeRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-mostly, in-memory catalog of PUBLISHED recipes partitioned by {@link MealType}.
+ *
+ * The catalog is loaded once on startup and then kept current by the recipe write paths
+ * in RecipeServiceImpl calling {@link #onRecipeSaved(Recipe)} and
+ * {@link #onRecipesDeleted(Collection)}. Changes are applied after the surrounding
+ * transaction commits, so readers never see rolled back data. The {@link RecipeFacetIndex},
+ * {@link RecipeIngredientIndex} and recipe titles in {@link NameAutocompleteIndex} are kept in
+ * step with every change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeCatalog {
+
+    private static final Comparator<RecipeSnapshot> BY_ID = Comparator.comparing(RecipeSnapshot::recipeId);
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeFacetIndex facetIndex;
+    private final RecipeIngredientIndex ingredientIndex;
+    private final NameAutocompleteIndex autocompleteIndex;
+
+    private final Map<Long, RecipeSnapshot> byId = new ConcurrentHashMap<>();
+    private volatile Map<MealType, List<RecipeSnapshot>> byMealType = emptyPartitions();
+    private final AtomicLong version = new AtomicLong();
+    private volatile RecipeScoringTable scoringTable;
+
+    /**
+     * Load every published recipe from the database and replace the current content.
+     *
+     * The lock is held across the load and the swap: a write committing during the load waits
+     * to apply its change until the swap is done, instead of being overwritten by the older
+     * snapshot. Lookups are not blocked.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<RecipeSnapshot> snapshots;
+        synchronized (this) {
+            snapshots = recipeRepository.findByStatus(RecipeStatus.PUBLISHED).stream()
+                    .map(RecipeCatalog::toSnapshot)
+                    .toList();
+
+            byId.clear();
+            snapshots.forEach(s -> byId.put(s.recipeId(), s));
+
+            Map<MealType, List<RecipeSnapshot>> partitions = new EnumMap<>(MealType.class);
+            for (MealType mealType : MealType.values()) {
+                partitions.put(mealType, snapshots.stream()
+                        .filter(s -> s.mealType() == mealType)
+                        .sorted(BY_ID)
+                        .toList());
+            }
+            byMealType = Collections.unmodifiableMap(partitions);
+            facetIndex.rebuild(snapshots);
+            ingredientIndex.rebuild(snapshots);
+            autocompleteIndex.rebuildRecipes(snapshots);
+            version.incrementAndGet();
+        }
+
+        log.info("Recipe catalog loaded with {} published recipes", snapshots.size());
+    }
+
+    /**
+     * Columnar copy of the current catalog for batch scoring, built on first use after a change.
+     */
+    public RecipeScoringTable getScoringTable() {
+        RecipeScoringTable table = scoringTable;
+        if (table != null && table.partitions() == byMealType) {
+            return table;
+        }
+        synchronized (this) {
+            List<RecipeSnapshot> withoutMealType = byId.values().stream()
+                    .filter(s -> s.mealType() == null)
+                    .sorted(BY_ID)
+                    .toList();
+            table = new RecipeScoringTable(byMealType, withoutMealType);
+            scoringTable = table;
+            return table;
+        }
+    }
+
+    public Optional<RecipeSnapshot> get(Long recipeId) {
+        return Optional.ofNullable(byId.get(recipeId));
+    }
+
+    public boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    /**
+     * Monotonic counter bumped on every change, usable as a cache stamp.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Record the current state of a recipe after create/update/status change.
+     * Must be called inside the write transaction so lazy associations can be read.
+     */
+    public void onRecipeSaved(Recipe recipe) {
+        Long recipeId = recipe.getRecipeId();
+        RecipeSnapshot snapshot = recipe.getStatus() == RecipeStatus.PUBLISHED ? toSnapshot(recipe) : null;
+        afterCommit(() -> apply(recipeId, snapshot));
+    }
+
+    public void onRecipesDeleted(Collection<Long> recipeIds) {
+        List<Long> ids = List.copyOf(recipeIds);
+        afterCommit(() -> ids.forEach(id -> apply(id, null)));
+    }
+
+    private synchronized void apply(Long recipeId, RecipeSnapshot snapshot) {
+        RecipeSnapshot previous = snapshot != null ? byId.put(recipeId, snapshot) : byId.remove(recipeId);
+        if (previous == null && snapshot == null) {
+            return;
+        }
+
+        Map<MealType, List<RecipeSnapshot>> partitions = new EnumMap<>(byMealType);
+        if (previous != null && previous.mealType() != null) {
+            List<RecipeSnapshot> list = new ArrayList<>(partitions.get(previous.mealType()));
+            list.removeIf(s -> s.recipeId().equals(recipeId));
+            partitions.put(previous.mealType(), List.copyOf(list));
+        }
+        if (snapshot != null && snapshot.mealType() != null) {
+            List<RecipeSnapshot> list = new ArrayList<>(partitions.get(snapshot.mealType()));
+            list.add(snapshot);
+            list.sort(BY_ID);
+            partitions.put(snapshot.mealType(), List.copyOf(list));
+        }
+        byMealType = Collections.unmodifiableMap(partitions);
+        facetIndex.apply(recipeId, snapshot);
+        ingredientIndex.apply(recipeId, snapshot);
+        autocompleteIndex.applyRecipe(recipeId, snapshot);
+        version.incrementAndGet();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Map<MealType, List<RecipeSnapshot>> emptyPartitions() {
+        Map<MealType, List<RecipeSnapshot>> partitions = new EnumMap<>(MealType.class);
+        for (MealType mealType : MealType.values()) {
+            partitions.put(mealType, List.of());
+        }
+        return Collections.unmodifiableMap(partitions);
+    }
+
+    private static RecipeSnapshot toSnapshot(Recipe recipe) {
+        Set<String> categories = recipe.getCategories().stream()
+                .map(RecipeCategory::getName)
+                .collect(Collectors.toUnmodifiableSet());
+
+        long[] ingredientIds = recipe.getIngredients().stream()
+                .filter(ri -> ri.getIngredient() != null)
+                .mapToLong(ri -> ri.getIngredient().getId())
+                .toArray();
+
+        Map<String, BigDecimal> macros = CalculateCalories.getStoredMacros(recipe);
+
+        return new RecipeSnapshot(
+                recipe.getRecipeId(),
+                recipe.getTitle(),
+                recipe.getImageUrl(),
+                recipe.getMealType(),
+                recipe.getRole(),
+                recipe.getCookingTimeMinutes(),
+                recipe.getCalories(),
+                macros.get("protein"),
+                macros.get("carbs"),
+                macros.get("fat"),
+                categories,
+                ingredientIds);
+    }
+}
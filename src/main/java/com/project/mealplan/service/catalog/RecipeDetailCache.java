@@ -0,0 +1,150 @@
+package com.project.mealplan.service.catalog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.mealplan.common.enums.RecipeStatus;
+
+/**
+ * Bounded, least recently used in-memory cache of serialized recipe detail responses.
+ *
+ * Every recipe has a version that write paths bump through {@link #invalidate(Collection)}
+ * once their transaction commits. A loaded response is only stored if the version did not
+ * change while it was being built, so a read racing with a write never caches stale data.
+ * Like {@link RecipeCatalog} the cache is local to this instance.
+ */
+@Component
+public class RecipeDetailCache {
+
+    private static final int GZIP_MIN_BYTES = 1024;
+    private static final int MAX_RECIPES = 5_000;
+
+    /**
+     * Serialized response plus what is needed to authorize a viewer without loading the recipe.
+     * gzip is null for small bodies.
+     */
+    public record Entry(RecipeStatus status, Long ownerId, byte[] json, byte[] gzip, String etag) {
+
+        /**
+         * Strong ETags identify one representation, so the gzip body gets its own.
+         */
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gz\"";
+        }
+    }
+
+    /**
+     * What a loader produces on a miss: the recipe's access fields and the response body.
+     */
+    public record Loaded(RecipeStatus status, Long ownerId, byte[] json) {
+    }
+
+    private record Slot(long version, Entry entry) {
+    }
+
+    private final Map<Long, Slot> slots = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Slot> eldest) {
+            return size() > MAX_RECIPES;
+        }
+    };
+
+    public Entry get(Long recipeId, Supplier<Loaded> loader) {
+        Slot slot;
+        synchronized (slots) {
+            slot = slots.get(recipeId);
+        }
+        if (slot != null && slot.entry() != null) {
+            return slot.entry();
+        }
+
+        long version = slot != null ? slot.version() : 0L;
+        Loaded loaded = loader.get();
+        Entry entry = new Entry(loaded.status(), loaded.ownerId(), loaded.json(),
+                loaded.json().length >= GZIP_MIN_BYTES ? gzip(loaded.json()) : null, etag(loaded.json()));
+
+        synchronized (slots) {
+            Slot current = slots.get(recipeId);
+            long currentVersion = current != null ? current.version() : 0L;
+            if (currentVersion == version) {
+                slots.put(recipeId, new Slot(version, entry));
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Drop the cached responses of the given recipes after the surrounding transaction commits.
+     */
+    public void invalidate(Collection<Long> recipeIds) {
+        List<Long> ids = List.copyOf(recipeIds);
+        afterCommit(() -> {
+            synchronized (slots) {
+                ids.forEach(this::bump);
+            }
+        });
+    }
+
+    /**
+     * Drop every cached response, for changes shared by many recipes (e.g. a category rename).
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            synchronized (slots) {
+                List.copyOf(slots.keySet()).forEach(this::bump);
+            }
+        });
+    }
+
+    // Caller holds the lock on slots
+    private void bump(Long recipeId) {
+        Slot current = slots.get(recipeId);
+        slots.put(recipeId, new Slot(current != null ? current.version() + 1 : 1L, null));
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
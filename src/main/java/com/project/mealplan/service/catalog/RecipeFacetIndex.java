@@ -0,0 +1,398 @@
+package com.project.mealplan.service.catalog;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.project.mealplan.common.enums.MealType;
+
+/**
+ * Bitmap index over the {@link RecipeCatalog} for browse filters and facet counts.
+ *
+ * Each recipe gets a dense slot; every filter value (meal type, category, cooking time
+ * bucket, calorie bucket) keeps a BitSet of slots. A query intersects the bitmaps, refines
+ * the numeric range edges against the snapshots, counts facets over the result and pages
+ * through a cached sort order. Updates are copy-on-write: only the bitmaps a recipe touches
+ * are cloned, and readers always see a consistent state. A removed recipe's slot is not
+ * reused, since older states sharing the snapshot array may still read it; once freed slots
+ * outnumber live ones the state is rebuilt densely. Fed by RecipeCatalog, so it holds the
+ * same PUBLISHED recipes.
+ */
+@Component
+public class RecipeFacetIndex {
+
+    // Bucket upper bounds (exclusive); one more bucket above the last bound
+    public static final double[] COOKING_TIME_BOUNDS = { 15, 30, 60, 120 };
+    public static final double[] CALORIE_BOUNDS = { 200, 400, 600, 800 };
+
+    public static final String FACET_MEAL_TYPE = "mealType";
+    public static final String FACET_CATEGORY = "category";
+    public static final String FACET_COOKING_TIME = "cookingTime";
+    public static final String FACET_CALORIES = "calories";
+
+    private static final BitSet NONE = new BitSet();
+
+    // Compact once slots exceed twice the live recipes (and this floor)
+    private static final int MIN_COMPACT_SLOTS = 1024;
+
+    /**
+     * Filter combination; null fields are not filtered on. Category matches a full name,
+     * ignoring case.
+     */
+    public record Filter(MealType mealType, String category, Integer minCookingTime, Integer maxCookingTime,
+            BigDecimal minCalories, BigDecimal maxCalories) {
+    }
+
+    /**
+     * One page of matches, the total match count and facet counts over all matches.
+     */
+    public record Result(List<RecipeSnapshot> content, int total, Map<String, Map<String, Integer>> facets) {
+    }
+
+    public enum SortField {
+        TITLE(Comparator.comparing(RecipeSnapshot::title, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))),
+        COOKING_TIME(Comparator.comparing(RecipeSnapshot::cookingTimeMinutes, Comparator.nullsLast(Comparator.naturalOrder()))),
+        CALORIES(Comparator.comparing(RecipeSnapshot::calories, Comparator.nullsLast(Comparator.naturalOrder()))),
+        RECIPE_ID(Comparator.comparing(RecipeSnapshot::recipeId));
+
+        private final Comparator<RecipeSnapshot> comparator;
+
+        SortField(Comparator<RecipeSnapshot> comparator) {
+            this.comparator = comparator.thenComparing(RecipeSnapshot::recipeId);
+        }
+    }
+
+    private volatile State state = new Builder(State.EMPTY).build();
+
+    public int size() {
+        return state.live.cardinality();
+    }
+
+    public Result search(Filter filter, SortField sortField, boolean ascending, int offset, int limit) {
+        State s = state;
+        BitSet matches = (BitSet) s.live.clone();
+
+        if (filter.mealType() != null) {
+            matches.and(s.mealTypes.getOrDefault(filter.mealType(), NONE));
+        }
+        if (filter.category() != null && !filter.category().isBlank()) {
+            matches.and(s.categories.getOrDefault(categoryKey(filter.category()), NONE));
+        }
+        if (filter.minCookingTime() != null || filter.maxCookingTime() != null) {
+            matches.and(range(s, s.cookingTime, COOKING_TIME_BOUNDS, toDouble(filter.minCookingTime()),
+                    toDouble(filter.maxCookingTime()), r -> toDouble(r.cookingTimeMinutes())));
+        }
+        if (filter.minCalories() != null || filter.maxCalories() != null) {
+            matches.and(range(s, s.calories, CALORIE_BOUNDS, toDouble(filter.minCalories()),
+                    toDouble(filter.maxCalories()), r -> toDouble(r.calories())));
+        }
+
+        int[] order = s.order(sortField);
+        List<RecipeSnapshot> content = new ArrayList<>(Math.max(0, Math.min(limit, 100)));
+        int skipped = 0;
+        for (int i = 0; i < order.length && content.size() < limit; i++) {
+            int slot = order[ascending ? i : order.length - 1 - i];
+            if (matches.get(slot)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    content.add(s.recipes[slot]);
+                }
+            }
+        }
+
+        return new Result(content, matches.cardinality(), facets(s, matches));
+    }
+
+    synchronized void rebuild(Collection<RecipeSnapshot> snapshots) {
+        Builder builder = new Builder(State.EMPTY);
+        snapshots.forEach(builder::add);
+        state = builder.build();
+    }
+
+    /**
+     * Replace the indexed recipe; a null snapshot removes it.
+     */
+    synchronized void apply(Long recipeId, RecipeSnapshot snapshot) {
+        Builder builder = new Builder(state);
+        builder.remove(recipeId);
+        if (snapshot != null) {
+            builder.add(snapshot);
+        }
+        state = builder.build();
+    }
+
+    // ===== Query helpers =====
+
+    /**
+     * Slots whose value lies in [min, max]: buckets fully inside are taken as is, the (at most
+     * two) edge buckets are checked recipe by recipe. Null values never match, as in SQL.
+     */
+    private static BitSet range(State s, BitSet[] buckets, double[] bounds, Double min, Double max,
+            Function<RecipeSnapshot, Double> value) {
+        double lo = min != null ? min : Double.NEGATIVE_INFINITY;
+        double hi = max != null ? max : Double.POSITIVE_INFINITY;
+
+        BitSet result = new BitSet();
+        for (int b = 0; b <= bounds.length; b++) {
+            double bucketLo = b == 0 ? Double.NEGATIVE_INFINITY : bounds[b - 1];
+            double bucketHi = b == bounds.length ? Double.POSITIVE_INFINITY : bounds[b];
+            if (bucketHi <= lo || bucketLo > hi) {
+                continue;
+            }
+            if (bucketLo >= lo && bucketHi <= hi) {
+                result.or(buckets[b]);
+                continue;
+            }
+            BitSet bucket = buckets[b];
+            for (int slot = bucket.nextSetBit(0); slot >= 0; slot = bucket.nextSetBit(slot + 1)) {
+                Double v = value.apply(s.recipes[slot]);
+                if (v != null && v >= lo && v <= hi) {
+                    result.set(slot);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Map<String, Integer>> facets(State s, BitSet matches) {
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+
+        Map<String, Integer> mealTypes = new LinkedHashMap<>();
+        s.mealTypes.forEach((type, bits) -> putCount(mealTypes, type.name(), bits, matches));
+        facets.put(FACET_MEAL_TYPE, mealTypes);
+
+        Map<String, Integer> categories = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        s.categories.forEach((key, bits) -> putCount(categories, s.categoryNames.get(key), bits, matches));
+        facets.put(FACET_CATEGORY, categories);
+
+        facets.put(FACET_COOKING_TIME, bucketCounts(s.cookingTime, COOKING_TIME_BOUNDS, matches));
+        facets.put(FACET_CALORIES, bucketCounts(s.calories, CALORIE_BOUNDS, matches));
+        return facets;
+    }
+
+    private static Map<String, Integer> bucketCounts(BitSet[] buckets, double[] bounds, BitSet matches) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int b = 0; b <= bounds.length; b++) {
+            putCount(counts, bucketLabel(bounds, b), buckets[b], matches);
+        }
+        return counts;
+    }
+
+    private static void putCount(Map<String, Integer> counts, String label, BitSet bits, BitSet matches) {
+        BitSet both = (BitSet) bits.clone();
+        both.and(matches);
+        int count = both.cardinality();
+        if (count > 0) {
+            counts.put(label, count);
+        }
+    }
+
+    // "<15", "15-30" (upper bound exclusive), "120+"
+    private static String bucketLabel(double[] bounds, int bucket) {
+        if (bucket == 0) {
+            return "<" + format(bounds[0]);
+        }
+        if (bucket == bounds.length) {
+            return format(bounds[bounds.length - 1]) + "+";
+        }
+        return format(bounds[bucket - 1]) + "-" + format(bounds[bucket]);
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) ? Long.toString((long) bound) : Double.toString(bound);
+    }
+
+    private static int bucketOf(double[] bounds, Double value) {
+        if (value == null) {
+            return -1;
+        }
+        int b = 0;
+        while (b < bounds.length && value >= bounds[b]) {
+            b++;
+        }
+        return b;
+    }
+
+    private static Double toDouble(Number value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+    private static String categoryKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ===== State =====
+
+    private static final class State {
+        static final State EMPTY = new State(new RecipeSnapshot[0], 0, Map.of(), new BitSet(),
+                new EnumMap<>(MealType.class), Map.of(), Map.of(), emptyBuckets(COOKING_TIME_BOUNDS),
+                emptyBuckets(CALORIE_BOUNDS));
+
+        final RecipeSnapshot[] recipes; // by slot; freed slots keep their last snapshot
+        final int slotCount;
+        final Map<Long, Integer> slots;
+        final BitSet live;
+        final Map<MealType, BitSet> mealTypes;
+        final Map<String, BitSet> categories; // by lower-cased name
+        final Map<String, String> categoryNames;
+        final BitSet[] cookingTime;
+        final BitSet[] calories;
+        private final Map<SortField, int[]> orders = new ConcurrentHashMap<>();
+
+        State(RecipeSnapshot[] recipes, int slotCount, Map<Long, Integer> slots, BitSet live,
+                Map<MealType, BitSet> mealTypes, Map<String, BitSet> categories, Map<String, String> categoryNames,
+                BitSet[] cookingTime, BitSet[] calories) {
+            this.recipes = recipes;
+            this.slotCount = slotCount;
+            this.slots = slots;
+            this.live = live;
+            this.mealTypes = mealTypes;
+            this.categories = categories;
+            this.categoryNames = categoryNames;
+            this.cookingTime = cookingTime;
+            this.calories = calories;
+        }
+
+        /**
+         * Live slots in ascending order of the field, computed once per state.
+         */
+        int[] order(SortField field) {
+            return orders.computeIfAbsent(field, f -> live.stream()
+                    .boxed()
+                    .sorted((a, b) -> f.comparator.compare(recipes[a], recipes[b]))
+                    .mapToInt(Integer::intValue)
+                    .toArray());
+        }
+
+        private static BitSet[] emptyBuckets(double[] bounds) {
+            BitSet[] buckets = new BitSet[bounds.length + 1];
+            Arrays.setAll(buckets, i -> new BitSet());
+            return buckets;
+        }
+    }
+
+    /**
+     * Copy-on-write editor of a state: shares every bitmap until it is modified.
+     */
+    private static final class Builder {
+        private RecipeSnapshot[] recipes;
+        private int slotCount;
+        private final Map<Long, Integer> slots;
+        private BitSet live;
+        private final Map<MealType, BitSet> mealTypes;
+        private final Map<String, BitSet> categories;
+        private final Map<String, String> categoryNames;
+        private final BitSet[] cookingTime;
+        private final BitSet[] calories;
+        private final Set<BitSet> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Builder(State base) {
+            recipes = base.recipes;
+            slotCount = base.slotCount;
+            slots = new HashMap<>(base.slots);
+            live = base.live;
+            mealTypes = new EnumMap<>(MealType.class);
+            mealTypes.putAll(base.mealTypes);
+            categories = new HashMap<>(base.categories);
+            categoryNames = new HashMap<>(base.categoryNames);
+            cookingTime = base.cookingTime.clone();
+            calories = base.calories.clone();
+        }
+
+        void add(RecipeSnapshot recipe) {
+            // Slots past the base state's slotCount are never read by it, so spare capacity can be shared
+            if (slotCount == recipes.length) {
+                recipes = Arrays.copyOf(recipes, Math.max(16, slotCount * 2));
+            }
+            int slot = slotCount++;
+            recipes[slot] = recipe;
+            slots.put(recipe.recipeId(), slot);
+
+            live = own(live);
+            live.set(slot);
+            if (recipe.mealType() != null) {
+                mealTypes.compute(recipe.mealType(), (type, bits) -> own(bits)).set(slot);
+            }
+            for (String name : recipe.categories()) {
+                String key = categoryKey(name);
+                categoryNames.putIfAbsent(key, name);
+                categories.compute(key, (k, bits) -> own(bits)).set(slot);
+            }
+            setBucket(cookingTime, bucketOf(COOKING_TIME_BOUNDS, toDouble(recipe.cookingTimeMinutes())), slot, true);
+            setBucket(calories, bucketOf(CALORIE_BOUNDS, toDouble(recipe.calories())), slot, true);
+        }
+
+        void remove(Long recipeId) {
+            Integer slot = slots.remove(recipeId);
+            if (slot == null) {
+                return;
+            }
+            // The snapshot stays in the shared array for older states; no bitmap here points at it
+            RecipeSnapshot recipe = recipes[slot];
+
+            live = own(live);
+            live.clear(slot);
+            if (recipe.mealType() != null) {
+                mealTypes.compute(recipe.mealType(), (type, bits) -> own(bits)).clear(slot);
+            }
+            for (String name : recipe.categories()) {
+                String key = categoryKey(name);
+                BitSet bits = categories.compute(key, (k, b) -> own(b));
+                bits.clear(slot);
+                if (bits.isEmpty()) {
+                    categories.remove(key);
+                    categoryNames.remove(key);
+                }
+            }
+            setBucket(cookingTime, bucketOf(COOKING_TIME_BOUNDS, toDouble(recipe.cookingTimeMinutes())), slot, false);
+            setBucket(calories, bucketOf(CALORIE_BOUNDS, toDouble(recipe.calories())), slot, false);
+        }
+
+        State build() {
+            if (slotCount > MIN_COMPACT_SLOTS && slotCount > 2 * live.cardinality()) {
+                Builder compacted = new Builder(State.EMPTY);
+                for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                    compacted.add(recipes[slot]);
+                }
+                return compacted.build();
+            }
+            return new State(recipes, slotCount, Map.copyOf(slots), live, mealTypes, Map.copyOf(categories),
+                    Map.copyOf(categoryNames), cookingTime, calories);
+        }
+
+        private void setBucket(BitSet[] buckets, int bucket, int slot, boolean value) {
+            if (bucket < 0) {
+                return;
+            }
+            buckets[bucket] = own(buckets[bucket]);
+            buckets[bucket].set(slot, value);
+        }
+
+        private BitSet own(BitSet bits) {
+            if (bits != null && owned.contains(bits)) {
+                return bits;
+            }
+            BitSet copy = bits != null ? (BitSet) bits.clone() : new BitSet();
+            owned.add(copy);
+            return copy;
+        }
+    }
+}
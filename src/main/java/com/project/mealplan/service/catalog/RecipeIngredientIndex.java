@@ -0,0 +1,173 @@
+package com.project.mealplan.service.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.project.mealplan.common.enums.MealType;
+
+/**
+ * Inverted index ingredient id -> ids of the published recipes using it, over the {@link RecipeCatalog}.
+ *
+ * Coverage for a set of owned ingredients is counted by walking only their posting lists,
+ * so a query costs the number of postings touched, not the catalog size. Updates are
+ * copy-on-write per posting list; readers always see a consistent state. Fed by RecipeCatalog.
+ */
+@Component
+public class RecipeIngredientIndex {
+
+    private static final long[] NO_POSTINGS = new long[0];
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingDouble(Match::coverage).reversed()
+            .thenComparing(Comparator.comparingInt(Match::matched).reversed())
+            .thenComparing(m -> m.recipe().recipeId());
+
+    /**
+     * @param matched distinct recipe ingredients found in the owned set
+     * @param total   distinct ingredients of the recipe
+     */
+    public record Match(RecipeSnapshot recipe, int matched, int total) {
+
+        public double coverage() {
+            return (double) matched / total;
+        }
+    }
+
+    private record State(Map<Long, long[]> postings, Map<Long, RecipeSnapshot> recipes,
+            Map<Long, long[]> ingredientsByRecipe) {
+    }
+
+    private volatile State state = new State(Map.of(), Map.of(), Map.of());
+
+    /**
+     * Recipes with at least minCoverage (0..1) of their distinct ingredients in ownedIngredientIds,
+     * best coverage first. Recipes sharing no ingredient are never returned.
+     */
+    public List<Match> match(Collection<Long> ownedIngredientIds, double minCoverage, MealType mealType) {
+        State s = state;
+        Map<Long, int[]> counts = new HashMap<>();
+        for (Long ingredientId : new LinkedHashSet<>(ownedIngredientIds)) {
+            for (long recipeId : s.postings.getOrDefault(ingredientId, NO_POSTINGS)) {
+                counts.computeIfAbsent(recipeId, id -> new int[1])[0]++;
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        counts.forEach((recipeId, count) -> {
+            RecipeSnapshot recipe = s.recipes.get(recipeId);
+            if (mealType != null && recipe.mealType() != mealType) {
+                return;
+            }
+            Match match = new Match(recipe, count[0], s.ingredientsByRecipe.get(recipeId).length);
+            if (match.coverage() >= minCoverage) {
+                matches.add(match);
+            }
+        });
+        matches.sort(RANKING);
+        return matches;
+    }
+
+    /**
+     * Number of published recipes using the ingredient.
+     */
+    public int recipeCount(Long ingredientId) {
+        return state.postings.getOrDefault(ingredientId, NO_POSTINGS).length;
+    }
+
+    /**
+     * Distinct ingredient ids of an indexed recipe, ascending.
+     */
+    public long[] ingredientsOf(Long recipeId) {
+        return state.ingredientsByRecipe.getOrDefault(recipeId, NO_POSTINGS).clone();
+    }
+
+    synchronized void rebuild(Collection<RecipeSnapshot> snapshots) {
+        Map<Long, List<Long>> lists = new HashMap<>();
+        Map<Long, RecipeSnapshot> recipes = new HashMap<>();
+        Map<Long, long[]> ingredientsByRecipe = new HashMap<>();
+        for (RecipeSnapshot snapshot : snapshots) {
+            long[] ingredients = distinctIngredients(snapshot);
+            if (ingredients.length == 0) {
+                continue;
+            }
+            recipes.put(snapshot.recipeId(), snapshot);
+            ingredientsByRecipe.put(snapshot.recipeId(), ingredients);
+            for (long ingredientId : ingredients) {
+                lists.computeIfAbsent(ingredientId, id -> new ArrayList<>()).add(snapshot.recipeId());
+            }
+        }
+
+        Map<Long, long[]> postings = new HashMap<>();
+        lists.forEach((ingredientId, recipeIds) -> postings.put(ingredientId,
+                recipeIds.stream().mapToLong(Long::longValue).sorted().toArray()));
+        state = new State(Map.copyOf(postings), Map.copyOf(recipes), Map.copyOf(ingredientsByRecipe));
+    }
+
+    /**
+     * Replace the indexed recipe; a null snapshot removes it.
+     */
+    synchronized void apply(Long recipeId, RecipeSnapshot snapshot) {
+        State s = state;
+        long[] before = s.ingredientsByRecipe.getOrDefault(recipeId, NO_POSTINGS);
+        long[] after = snapshot != null ? distinctIngredients(snapshot) : NO_POSTINGS;
+
+        Map<Long, long[]> postings = new HashMap<>(s.postings);
+        for (long ingredientId : before) {
+            if (Arrays.binarySearch(after, ingredientId) < 0) {
+                long[] list = postings.get(ingredientId);
+                long[] updated = Arrays.stream(list).filter(id -> id != recipeId).toArray();
+                if (updated.length == 0) {
+                    postings.remove(ingredientId);
+                } else {
+                    postings.put(ingredientId, updated);
+                }
+            }
+        }
+        for (long ingredientId : after) {
+            if (Arrays.binarySearch(before, ingredientId) < 0) {
+                long[] list = postings.getOrDefault(ingredientId, NO_POSTINGS);
+                long[] updated = Arrays.copyOf(list, list.length + 1);
+                updated[list.length] = recipeId;
+                Arrays.sort(updated);
+                postings.put(ingredientId, updated);
+            }
+        }
+
+        Map<Long, RecipeSnapshot> recipes = new HashMap<>(s.recipes);
+        Map<Long, long[]> ingredientsByRecipe = new HashMap<>(s.ingredientsByRecipe);
+        if (after.length == 0) {
+            recipes.remove(recipeId);
+            ingredientsByRecipe.remove(recipeId);
+        } else {
+            recipes.put(recipeId, snapshot);
+            ingredientsByRecipe.put(recipeId, after);
+        }
+        state = new State(Map.copyOf(postings), Map.copyOf(recipes), Map.copyOf(ingredientsByRecipe));
+    }
+
+    private static long[] distinctIngredients(RecipeSnapshot snapshot) {
+        return Arrays.stream(snapshot.ingredientIds()).distinct().sorted().toArray();
+    }
+
+    /**
+     * Ids of the given recipe ingredients that are not in the owned set.
+     */
+    public static List<Long> missing(long[] recipeIngredients, Set<Long> owned) {
+        List<Long> missing = new ArrayList<>();
+        for (long ingredientId : recipeIngredients) {
+            if (!owned.contains(ingredientId)) {
+                missing.add(ingredientId);
+            }
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,255 @@
+package com.project.mealplan.service.catalog;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.common.util.CalculateRecipeScore;
+
+/**
+ * Column-wise copy of the published catalog for scoring every recipe of a user in one pass.
+ *
+ * Rows hold the meal type partitions back to back (see {@link #offset(MealType)}), followed by
+ * recipes without a meal type. Calories are a double column; each recipe's ingredients are a
+ * sparse bitset over a dense ingredient numbering (non-empty words only), so pantry overlap is
+ * a popcount against the user's pantry bitset. Stored macros are kept as columns too, for the
+ * plan optimizer. Ingredients listed on several lines of a recipe
+ * are kept aside so the line-based ratio of {@link CalculateRecipeScore} is reproduced exactly.
+ * Scores match the BigDecimal scorer up to its 4 digit rounding of the calorie ratio.
+ * Immutable; obtained from {@link RecipeCatalog#getScoringTable()}.
+ */
+public final class RecipeScoringTable {
+
+    private final Map<MealType, List<RecipeSnapshot>> partitions;
+    private final Map<MealType, Integer> offsets = new EnumMap<>(MealType.class);
+    private final Map<Long, Integer> ingredientSlots = new HashMap<>();
+    private final Map<Long, Integer> rows = new HashMap<>();
+
+    private final RecipeSnapshot[] recipes;
+    private final double[] calories; // NaN when unknown
+    private final double[] protein;
+    private final double[] carbs;
+    private final double[] fat;
+    private final int[] lineCounts;
+
+    // Sparse ingredient bitsets, CSR style: words of row r are [wordStart[r], wordStart[r + 1])
+    private final int[] wordStart;
+    private final int[] wordIndex;
+    private final long[] wordBits;
+
+    // Repeated ingredient lines beyond the first, CSR style as well
+    private final int[] extraStart;
+    private final int[] extraSlots;
+
+    RecipeScoringTable(Map<MealType, List<RecipeSnapshot>> partitions, Collection<RecipeSnapshot> withoutMealType) {
+        this.partitions = partitions;
+
+        int size = withoutMealType.size();
+        for (List<RecipeSnapshot> partition : partitions.values()) {
+            size += partition.size();
+        }
+        recipes = new RecipeSnapshot[size];
+        int row = 0;
+        for (MealType mealType : MealType.values()) {
+            offsets.put(mealType, row);
+            for (RecipeSnapshot recipe : partitions.getOrDefault(mealType, List.of())) {
+                recipes[row++] = recipe;
+            }
+        }
+        for (RecipeSnapshot recipe : withoutMealType) {
+            recipes[row++] = recipe;
+        }
+
+        calories = new double[size];
+        protein = new double[size];
+        carbs = new double[size];
+        fat = new double[size];
+        lineCounts = new int[size];
+        wordStart = new int[size + 1];
+        extraStart = new int[size + 1];
+        int[] words = new int[16];
+        long[] bits = new long[16];
+        int[] extras = new int[16];
+        int wordCount = 0;
+        int extraCount = 0;
+
+        for (int r = 0; r < size; r++) {
+            RecipeSnapshot recipe = recipes[r];
+            rows.put(recipe.recipeId(), r);
+            calories[r] = recipe.calories() != null ? recipe.calories().doubleValue() : Double.NaN;
+            protein[r] = recipe.protein() != null ? recipe.protein().doubleValue() : 0.0;
+            carbs[r] = recipe.carbs() != null ? recipe.carbs().doubleValue() : 0.0;
+            fat[r] = recipe.fat() != null ? recipe.fat().doubleValue() : 0.0;
+            lineCounts[r] = recipe.ingredientCount();
+
+            // Word-sorted sparse bitset of this recipe's ingredient slots
+            TreeMap<Integer, Long> recipeWords = new TreeMap<>();
+            for (long ingredientId : recipe.ingredientIds()) {
+                int slot = ingredientSlots.computeIfAbsent(ingredientId, id -> ingredientSlots.size());
+                long mask = 1L << slot;
+                long current = recipeWords.getOrDefault(slot >>> 6, 0L);
+                if ((current & mask) != 0) {
+                    if (extraCount == extras.length) {
+                        extras = Arrays.copyOf(extras, extraCount * 2);
+                    }
+                    extras[extraCount++] = slot;
+                } else {
+                    recipeWords.put(slot >>> 6, current | mask);
+                }
+            }
+            for (Map.Entry<Integer, Long> word : recipeWords.entrySet()) {
+                if (wordCount == words.length) {
+                    words = Arrays.copyOf(words, wordCount * 2);
+                    bits = Arrays.copyOf(bits, wordCount * 2);
+                }
+                words[wordCount] = word.getKey();
+                bits[wordCount++] = word.getValue();
+            }
+            wordStart[r + 1] = wordCount;
+            extraStart[r + 1] = extraCount;
+        }
+        wordIndex = Arrays.copyOf(words, wordCount);
+        wordBits = Arrays.copyOf(bits, wordCount);
+        extraSlots = Arrays.copyOf(extras, extraCount);
+    }
+
+    public int size() {
+        return recipes.length;
+    }
+
+    public RecipeSnapshot recipe(int row) {
+        return recipes[row];
+    }
+
+    /**
+     * Stored calories of the row, NaN when unknown.
+     */
+    public double calories(int row) {
+        return calories[row];
+    }
+
+    public double protein(int row) {
+        return protein[row];
+    }
+
+    public double carbs(int row) {
+        return carbs[row];
+    }
+
+    public double fat(int row) {
+        return fat[row];
+    }
+
+    /**
+     * Row of the first recipe of the meal type; its recipes follow in partition order.
+     */
+    public int offset(MealType mealType) {
+        return offsets.get(mealType);
+    }
+
+    /**
+     * The catalog partitions this table was built from.
+     */
+    public Map<MealType, List<RecipeSnapshot>> partitions() {
+        return partitions;
+    }
+
+    /**
+     * Row of a recipe, or -1 when it is not in the table.
+     */
+    public int row(Long recipeId) {
+        return rows.getOrDefault(recipeId, -1);
+    }
+
+    /**
+     * Rows of the k best scores, best first; equal scores are ordered by recipe id.
+     */
+    public int[] top(double[] scores, int k) {
+        int[] top = new int[Math.min(k, recipes.length)];
+        int count = 0;
+        for (int r = 0; r < recipes.length; r++) {
+            if (count == top.length && !better(scores, r, top[count - 1])) {
+                continue;
+            }
+            int i = count < top.length ? count++ : count - 1;
+            while (i > 0 && better(scores, r, top[i - 1])) {
+                top[i] = top[i - 1];
+                i--;
+            }
+            top[i] = r;
+        }
+        return top;
+    }
+
+    private boolean better(double[] scores, int a, int b) {
+        int byScore = Double.compare(scores[a], scores[b]);
+        return byScore != 0 ? byScore > 0 : recipes[a].recipeId() < recipes[b].recipeId();
+    }
+
+    public double[] score(BigDecimal targetCalories, Set<Long> pantryIngredientIds, Set<Long> favoriteRecipeIds) {
+        double[] scores = new double[recipes.length];
+        score(targetCalories, pantryIngredientIds, favoriteRecipeIds, scores);
+        return scores;
+    }
+
+    /**
+     * Same score as {@link CalculateRecipeScore#calculateRecipeScore} on a recipe entity,
+     * for every row, written to out (indexed by row).
+     */
+    public void score(BigDecimal targetCalories, Set<Long> pantryIngredientIds, Set<Long> favoriteRecipeIds,
+            double[] out) {
+        long[] pantry = new long[(ingredientSlots.size() + 63) >>> 6];
+        for (Long ingredientId : pantryIngredientIds) {
+            Integer slot = ingredientSlots.get(ingredientId);
+            if (slot != null) {
+                pantry[slot >>> 6] |= 1L << slot;
+            }
+        }
+        long[] favorites = new long[(recipes.length + 63) >>> 6];
+        for (Long recipeId : favoriteRecipeIds) {
+            Integer r = rows.get(recipeId);
+            if (r != null) {
+                favorites[r >>> 6] |= 1L << r;
+            }
+        }
+
+        boolean hasTarget = targetCalories != null && targetCalories.signum() != 0;
+        double target = hasTarget ? targetCalories.doubleValue() : 0.0;
+
+        for (int r = 0; r < recipes.length; r++) {
+            double calorieScore = 0.5; // Neutral score if data missing
+            double cal = calories[r];
+            if (hasTarget && !Double.isNaN(cal)) {
+                calorieScore = Math.max(0.0, Math.min(1.0, 1.0 - Math.abs(cal - target) / target));
+            }
+
+            double pantryScore = 0.0;
+            int lines = lineCounts[r];
+            if (lines > 0) {
+                int matched = 0;
+                for (int w = wordStart[r]; w < wordStart[r + 1]; w++) {
+                    matched += Long.bitCount(wordBits[w] & pantry[wordIndex[w]]);
+                }
+                for (int e = extraStart[r]; e < extraStart[r + 1]; e++) {
+                    int slot = extraSlots[e];
+                    matched += (int) ((pantry[slot >>> 6] >>> slot) & 1L);
+                }
+                pantryScore = (double) matched / lines;
+            }
+
+            double favoriteScore = (favorites[r >>> 6] >>> r) & 1L;
+
+            double total = CalculateRecipeScore.CALORIE_WEIGHT * calorieScore
+                    + CalculateRecipeScore.PANTRY_WEIGHT * pantryScore
+                    + CalculateRecipeScore.FAVORITE_WEIGHT * favoriteScore;
+            out[r] = Math.max(0.0, Math.min(1.0, total));
+        }
+    }
+}
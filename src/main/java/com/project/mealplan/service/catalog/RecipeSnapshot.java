@@ -0,0 +1,33 @@
+package com.project.mealplan.service.catalog;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import com.project.mealplan.common.enums.MealRole;
+import com.project.mealplan.common.enums.MealType;
+
+/**
+ * Immutable, detached view of a published recipe held by {@link RecipeCatalog}.
+ * Only carries the columns needed for scoring, meal planning and short cards,
+ * so it can be shared across requests without touching the persistence context.
+ *
+ * @param ingredientIds ids of the recipe's ingredients, one entry per recipe ingredient line
+ */
+public record RecipeSnapshot(
+        Long recipeId,
+        String title,
+        String imageUrl,
+        MealType mealType,
+        MealRole role,
+        Integer cookingTimeMinutes,
+        BigDecimal calories,
+        BigDecimal protein,
+        BigDecimal carbs,
+        BigDecimal fat,
+        Set<String> categories,
+        long[] ingredientIds) {
+
+    public int ingredientCount() {
+        return ingredientIds.length;
+    }
+}
@@ -0,0 +1,91 @@
+package com.project.mealplan.service.catalog;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.mealplan.dtos.recipe.response.RecipeShortResponse;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bounded, least recently used cache of each user's top recipe suggestions.
+ *
+ * An entry depends on the user's profile, pantry and favorites plus the published catalog.
+ * The user side is invalidated explicitly by those write paths through {@link #invalidate(Long)}
+ * after commit; the catalog side is checked with the {@link RecipeCatalog} version stamped on
+ * the entry. As in {@link RecipeDetailCache}, a result is only stored if the user's version
+ * did not change while it was computed.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeSuggestionCache {
+
+    private static final int MAX_USERS = 10_000;
+
+    private record Slot(long version, long catalogVersion, List<RecipeShortResponse> suggestions) {
+    }
+
+    private final RecipeCatalog recipeCatalog;
+
+    private final Map<Long, Slot> slots = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Slot> eldest) {
+            return size() > MAX_USERS;
+        }
+    };
+
+    public List<RecipeShortResponse> get(Long userId, Supplier<List<RecipeShortResponse>> loader) {
+        long catalogVersion = recipeCatalog.getVersion();
+        Slot slot;
+        synchronized (slots) {
+            slot = slots.get(userId);
+        }
+        if (slot != null && slot.suggestions() != null && slot.catalogVersion() == catalogVersion) {
+            return slot.suggestions();
+        }
+
+        long version = slot != null ? slot.version() : 0L;
+        List<RecipeShortResponse> suggestions = List.copyOf(loader.get());
+
+        synchronized (slots) {
+            Slot current = slots.get(userId);
+            long currentVersion = current != null ? current.version() : 0L;
+            if (currentVersion == version) {
+                slots.put(userId, new Slot(version, catalogVersion, suggestions));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Drop the user's suggestions once the surrounding transaction commits. Call from every
+     * write path that changes the user's profile, pantry or favorites.
+     */
+    public void invalidate(Long userId) {
+        afterCommit(() -> {
+            synchronized (slots) {
+                Slot current = slots.get(userId);
+                slots.put(userId, new Slot(current != null ? current.version() + 1 : 1L, 0L, null));
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.project.mealplan.service.event;
+
+/**
+ * Published when the nutrition values of an ingredient change, so recipes using it
+ * can refresh their stored calories and macros.
+ */
+public record IngredientNutritionChangedEvent(Long ingredientId) {
+}
@@ -6,6 +6,7 @@ import com.project.mealplan.dtos.auth.response.LoginResponse;
 import com.project.mealplan.dtos.auth.response.TokenResponse;
 import com.project.mealplan.common.enums.ErrorCode;
 import com.project.mealplan.common.exception.AppException;
+import com.project.mealplan.config.CustomUserDetails;
 import com.project.mealplan.security.jwt.JwtUtil;
 import com.project.mealplan.service.AuthService;
 import io.jsonwebtoken.JwtException;
@@ -22,7 +23,6 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
@@ -49,12 +49,13 @@ public class AuthServiceImpl implements AuthService {
                             req.email().trim().toLowerCase(),
                             req.password()));
 
-            final String email = authentication.getName();
-            final List<String> roles = authentication.getAuthorities().stream()
+            final CustomUserDetails user = (CustomUserDetails) authentication.getPrincipal();
+            final String email = user.getEmail();
+            final List<String> roles = user.getAuthorities().stream()
                     .map(GrantedAuthority::getAuthority)
                     .toList();
 
-            String accessToken = jwtUtil.generateAccessToken(email, roles);
+            String accessToken = jwtUtil.generateAccessToken(user);
             String refreshToken = jwtUtil.generateRefreshToken(email);
 
             // Store refresh token in Redis
@@ -79,7 +80,7 @@ public class AuthServiceImpl implements AuthService {
         if (token != null) {
             long ttl = jwtUtil.getRemainingDuration(token);
             if (ttl > 0) {
-                redisTokenService.blacklistToken(token, Duration.ofMillis(ttl));
+                redisTokenService.blacklistToken(jwtUtil.extractJti(token), Duration.ofMillis(ttl));
             }
         }
 
@@ -130,18 +131,14 @@ public class AuthServiceImpl implements AuthService {
         }
         redisTokenService.storeRefreshToken(subject, newJti, newRefreshToken, Duration.ofMillis(newRefreshMs));
 
-        UserDetails userDetails;
+        CustomUserDetails userDetails;
         try {
-            userDetails = customUserDetailsService.loadUserByUsername(subject);
+            userDetails = (CustomUserDetails) customUserDetailsService.loadUserByUsername(subject);
         } catch (UsernameNotFoundException ex) {
             throw new AppException(ErrorCode.UNAUTHORIZED, "User not found");
         }
 
-        List<String> roles = userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .toList();
-
-        String newAccessToken = jwtUtil.generateAccessToken(subject, roles);
+        String newAccessToken = jwtUtil.generateAccessToken(userDetails);
 
         return new TokenResponse(newAccessToken, newRefreshToken);
     }
@@ -0,0 +1,32 @@
+package com.project.mealplan.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.project.mealplan.common.enums.AutocompleteType;
+import com.project.mealplan.dtos.autocomplete.response.AutocompleteItemResponse;
+import com.project.mealplan.service.AutocompleteService;
+import com.project.mealplan.service.catalog.NameAutocompleteIndex;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final NameAutocompleteIndex nameAutocompleteIndex;
+
+    @Override
+    public List<AutocompleteItemResponse> suggest(String query, AutocompleteType type, Integer limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        String text = query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query;
+        int size = (limit == null || limit <= 0) ? 10 : Math.min(limit, MAX_SUGGESTIONS);
+        return nameAutocompleteIndex.suggest(text, type != null ? type : AutocompleteType.ALL, size);
+    }
+}
@@ -1,5 +1,9 @@
 package com.project.mealplan.service.impl;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.userdetails.UserDetails;
@@ -7,19 +11,30 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.project.mealplan.common.enums.UserStatus;
 import com.project.mealplan.config.CustomUserDetails;
 import com.project.mealplan.entity.Role;
 import com.project.mealplan.entity.User;
 import com.project.mealplan.repository.UserRepository;
+import com.project.mealplan.security.jwt.JwtUtil;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final long LOOKUP_CACHE_TTL_MS = 60_000;
+    private static final int LOOKUP_CACHE_MAX_SIZE = 10_000;
+
     private final UserRepository userRepository;
 
+    private final Map<String, CachedUser> lookupCache = new ConcurrentHashMap<>();
+
+    private record CachedUser(CustomUserDetails user, long expiresAt) {
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
@@ -29,7 +44,48 @@ public class CustomUserDetailsService implements UserDetailsService {
                 user.getUserId(),
                 user.getEmail(),
                 user.getPassword(),
-                user.getStatus().toString().equals("ACTIVE"),
+                user.getStatus(),
                 user.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
     }
+
+    /**
+     * Build the principal of an already verified access token.
+     * Tokens carrying user id and status need no database access; older tokens without
+     * those claims fall back to a lookup that is cached for a short time.
+     */
+    public CustomUserDetails loadUserFromClaims(Claims claims) {
+        Long userId = claims.get(JwtUtil.CLAIM_USER_ID, Long.class);
+        String status = claims.get(JwtUtil.CLAIM_STATUS, String.class);
+        if (userId == null || status == null) {
+            return loadUserCached(claims.getSubject());
+        }
+
+        List<?> authorities = claims.get(JwtUtil.CLAIM_ROLES, List.class);
+        return new CustomUserDetails(
+                userId,
+                claims.getSubject(),
+                null,
+                UserStatus.valueOf(status),
+                authorities == null ? Set.of() : authorities.stream()
+                        .map(authority -> authority.toString().replaceFirst("^ROLE_", ""))
+                        .collect(Collectors.toSet()));
+    }
+
+    private CustomUserDetails loadUserCached(String email) {
+        long now = System.currentTimeMillis();
+        CachedUser cached = lookupCache.get(email);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.user();
+        }
+
+        CustomUserDetails user = (CustomUserDetails) loadUserByUsername(email);
+        if (lookupCache.size() >= LOOKUP_CACHE_MAX_SIZE) {
+            lookupCache.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (lookupCache.size() >= LOOKUP_CACHE_MAX_SIZE) {
+                lookupCache.clear();
+            }
+        }
+        lookupCache.put(email, new CachedUser(user, now + LOOKUP_CACHE_TTL_MS));
+        return user;
+    }
 }
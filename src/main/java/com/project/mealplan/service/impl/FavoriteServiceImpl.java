@@ -5,15 +5,19 @@ import com.project.mealplan.entity.Recipe;
 import com.project.mealplan.entity.User;
 import com.project.mealplan.common.exception.AppException;
 import com.project.mealplan.common.enums.ErrorCode;
+import com.project.mealplan.repository.RecipeCard;
 import com.project.mealplan.repository.RecipeRepository;
 import com.project.mealplan.repository.UserRepository;
 import com.project.mealplan.service.FavoriteService;
+import com.project.mealplan.service.catalog.RecipeSuggestionCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,29 +25,19 @@ import java.util.stream.Collectors;
 public class FavoriteServiceImpl implements FavoriteService {
         private final UserRepository userRepository;
         private final RecipeRepository recipeRepository;
+        private final RecipeSuggestionCache recipeSuggestionCache;
 
         @Override
         @Transactional(readOnly = true)
         public List<RecipeShortResponse> getFavorites(Long userId) {
-                User user = userRepository.findById(userId)
-                                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
+                if (!userRepository.existsById(userId))
+                        throw new AppException(ErrorCode.USER_NOT_FOUND);
 
-                if (user.getFavorites() == null)
-                        return List.of();
-
-                return user.getFavorites().stream()
-                                .map(r -> new RecipeShortResponse(
-                                                r.getRecipeId(),
-                                                r.getTitle(),
-                                                r.getImageUrl(),
-                                                r.getStatus(),
-                                                r.getCategories().stream()
-                                                                .map(c -> c.getName())
-                                                                .collect(Collectors.toSet()),
-                                                r.getCookingTimeMinutes(),
-                                                r.getCalories()))
-                                .collect(Collectors.toList());
+                Set<Long> favoriteIds = userRepository.findFavoriteRecipeIds(userId);
 
+                return recipeRepository.findCardsByIds(favoriteIds, Sort.by("title")).stream()
+                                .map(RecipeCard::toShortResponse)
+                                .collect(Collectors.toList());
         }
 
         @Override
@@ -68,6 +62,7 @@ public class FavoriteServiceImpl implements FavoriteService {
 
                 user.getFavorites().add(recipe);
                 userRepository.saveAndFlush(user);
+                recipeSuggestionCache.invalidate(userId);
 
                 return new RecipeShortResponse(
                                 recipe.getRecipeId(),
@@ -104,6 +99,7 @@ public class FavoriteServiceImpl implements FavoriteService {
                 boolean removed = user.getFavorites().removeIf(r -> Objects.equals(r.getRecipeId(), recipeId));
                 if (removed) {
                         userRepository.saveAndFlush(user);
+                        recipeSuggestionCache.invalidate(userId);
                 }
 
                 return new RecipeShortResponse(
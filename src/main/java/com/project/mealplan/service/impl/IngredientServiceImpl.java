@@ -3,6 +3,8 @@ package com.project.mealplan.service.impl;
 import com.project.mealplan.common.exception.AppException;
 import com.project.mealplan.common.enums.ErrorCode;
 import com.project.mealplan.common.enums.IngredientType;
+import com.project.mealplan.common.response.CursorPayLoad;
+import com.project.mealplan.common.util.KeysetCursor;
 import com.project.mealplan.dtos.admin.BulkDeleteIngredientDto;
 import com.project.mealplan.dtos.admin.BulkDeleteIngredientResponseDto;
 import com.project.mealplan.dtos.admin.IngredientResponseDto;
@@ -16,10 +18,16 @@ import com.project.mealplan.entity.IngredientNutrition;
 import com.project.mealplan.entity.NutritionType;
 import com.project.mealplan.repository.IngredientRepository;
 import com.project.mealplan.repository.NutritionTypeRepository;
+import com.project.mealplan.repository.RecipeRepository;
 import com.project.mealplan.repository.spec.IngredientSpecifications;
+import com.project.mealplan.repository.spec.KeysetSpecifications;
 import com.project.mealplan.service.IngredientService;
+import com.project.mealplan.service.event.IngredientNutritionChangedEvent;
+import com.project.mealplan.service.catalog.NameAutocompleteIndex;
+import com.project.mealplan.service.catalog.RecipeDetailCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -27,6 +35,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -38,9 +48,16 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class IngredientServiceImpl implements IngredientService {
 
+        private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
         private final IngredientRepository ingredientRepository;
         private final NutritionTypeRepository nutritionTypeRepository;
         private final IngredientResponseConverter ingredientResponseConverter;
+        private final ApplicationEventPublisher eventPublisher;
+        private final RecipeSearchIndexer recipeSearchIndexer;
+        private final NameAutocompleteIndex nameAutocompleteIndex;
+        private final RecipeRepository recipeRepository;
+        private final RecipeDetailCache recipeDetailCache;
 
         @Override
         @Transactional
@@ -89,6 +106,7 @@ public class IngredientServiceImpl implements IngredientService {
 
                 ingredient.setNutritions(nutritionSet);
                 Ingredient saved = ingredientRepository.save(ingredient);
+                nameAutocompleteIndex.onIngredientSaved(saved.getId(), saved.getName());
 
                 IngredientResponse ingredientResponse = ingredientResponseConverter.convert(saved);
 
@@ -107,17 +125,32 @@ public class IngredientServiceImpl implements IngredientService {
                         validateIngredientNameUniqueness(updateDto.getName(), id);
                 }
 
+                boolean renamed = !ingredient.getName().equals(updateDto.getName());
+
                 // Update basic info
                 ingredient.setName(updateDto.getName());
                 ingredient.setType(updateDto.getType());
 
                 // Update nutritions safely to avoid ConcurrentModificationException
-                updateIngredientNutritions(ingredient, updateDto.getNutritions());
+                boolean nutritionChanged = updateIngredientNutritions(ingredient, updateDto.getNutritions());
 
                 // Save and return
                 Ingredient savedIngredient = ingredientRepository.save(ingredient);
                 log.info("Successfully updated ingredient with id: {}", id);
 
+                // Ingredient names are part of the recipe search document
+                if (renamed) {
+                        recipeSearchIndexer.onIngredientRenamed(id);
+                        nameAutocompleteIndex.onIngredientSaved(id, savedIngredient.getName());
+                        // Recipe details list ingredient names
+                        recipeDetailCache.invalidate(recipeRepository.findIdsByIngredientId(id));
+                }
+
+                // Recipes store their nutrition totals, refresh them in the background after commit
+                if (nutritionChanged) {
+                        eventPublisher.publishEvent(new IngredientNutritionChangedEvent(id));
+                }
+
                 return convertToResponseDto(savedIngredient);
         }
 
@@ -136,7 +169,10 @@ public class IngredientServiceImpl implements IngredientService {
                 }
         }
 
-        private void updateIngredientNutritions(Ingredient ingredient,
+        /**
+         * @return whether any amount was added, removed or changed
+         */
+        private boolean updateIngredientNutritions(Ingredient ingredient,
                         List<UpdateIngredientDto.IngredientNutritionDto> nutritionDtos) {
 
                 // Get existing nutritions as a Map for easy lookup
@@ -144,6 +180,7 @@ public class IngredientServiceImpl implements IngredientService {
                                 .collect(Collectors.toMap(
                                                 nutrition -> nutrition.getNutritionType().getId(),
                                                 nutrition -> nutrition));
+                Map<Long, BigDecimal> previousAmounts = amountsByType(ingredient.getNutritions());
 
                 // New nutritions collection to replace the old one
                 Set<IngredientNutrition> updatedNutritions = new HashSet<>();
@@ -183,6 +220,18 @@ public class IngredientServiceImpl implements IngredientService {
                 ingredient.getNutritions().clear();
                 ingredient.getNutritions().addAll(updatedNutritions);
 
+                Map<Long, BigDecimal> amounts = amountsByType(updatedNutritions);
+                return !amounts.keySet().equals(previousAmounts.keySet())
+                                || amounts.entrySet().stream().anyMatch(e -> previousAmounts.get(e.getKey()) == null
+                                                || previousAmounts.get(e.getKey()).compareTo(e.getValue()) != 0);
+        }
+
+        private static Map<Long, BigDecimal> amountsByType(Collection<IngredientNutrition> nutritions) {
+                Map<Long, BigDecimal> amounts = new HashMap<>();
+                for (IngredientNutrition nutrition : nutritions) {
+                        amounts.put(nutrition.getNutritionType().getId(), nutrition.getAmountPer100g());
+                }
+                return amounts;
         }
 
         private IngredientResponseDto convertToResponseDto(Ingredient ingredient) {
@@ -227,6 +276,7 @@ public class IngredientServiceImpl implements IngredientService {
 
                 // Delete the ingredient
                 ingredientRepository.delete(ingredient);
+                nameAutocompleteIndex.onIngredientDeleted(id);
         }
 
         @Override
@@ -305,6 +355,64 @@ public class IngredientServiceImpl implements IngredientService {
                                 i.getType().toString()));
         }
 
+        @Override
+        @Transactional(readOnly = true)
+        public CursorPayLoad<IngredientListItemResponse> searchIngredientsByCursor(
+                        String type,
+                        BigDecimal minCalories,
+                        BigDecimal maxCalories,
+                        String keyword,
+                        int size,
+                        String sortBy,
+                        String sortDir,
+                        String cursor) {
+                String sortField = (sortBy == null || sortBy.isBlank()) ? "name" : sortBy.trim();
+                if (!"name".equals(sortField) && !"id".equals(sortField)) {
+                        throw new AppException(ErrorCode.INVALID_REQUEST,
+                                        "Cursor listing cannot be sorted by " + sortField);
+                }
+                Sort.Direction direction = ("desc".equalsIgnoreCase(sortDir)) ? Sort.Direction.DESC
+                                : Sort.Direction.ASC;
+                int pageSize = size > 0 ? Math.min(size, MAX_CURSOR_PAGE_SIZE) : 10;
+
+                Specification<Ingredient> spec = IngredientSpecifications.hasTypeIgnoreCase(type)
+                                .and(IngredientSpecifications.hasKeyword(keyword))
+                                .and(IngredientSpecifications.caloriesBetween(minCalories, maxCalories));
+
+                if (cursor != null && !cursor.isBlank()) {
+                        KeysetCursor position = KeysetCursor.decode(cursor, sortField, direction);
+                        spec = spec.and("name".equals(sortField)
+                                        ? KeysetSpecifications.<Ingredient, String>after("name", position.value(),
+                                                        "id", position.id(), direction)
+                                        : KeysetSpecifications.<Ingredient, Long>after("id", position.id(),
+                                                        "id", position.id(), direction));
+                }
+
+                // One extra row tells whether another slice exists, without a count query
+                List<Ingredient> rows = ingredientRepository.findBy(spec, query -> query
+                                .sortBy(KeysetSpecifications.sort(sortField, "id", direction))
+                                .limit(pageSize + 1)
+                                .all());
+
+                boolean hasNext = rows.size() > pageSize;
+                List<Ingredient> slice = hasNext ? rows.subList(0, pageSize) : rows;
+
+                String nextCursor = null;
+                if (hasNext) {
+                        Ingredient last = slice.get(slice.size() - 1);
+                        String value = "name".equals(sortField) ? last.getName() : last.getId().toString();
+                        nextCursor = new KeysetCursor(sortField, direction, value, last.getId()).encode();
+                }
+
+                List<IngredientListItemResponse> content = slice.stream()
+                                .map(i -> new IngredientListItemResponse(
+                                                i.getId(),
+                                                i.getName(),
+                                                i.getType().toString()))
+                                .toList();
+                return new CursorPayLoad<>(content, content.size(), nextCursor, hasNext);
+        }
+
         public List<NutritionType> getAllNutritions() {
                 return nutritionTypeRepository.findAll();
         }
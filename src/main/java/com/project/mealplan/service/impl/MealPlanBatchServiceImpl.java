@@ -0,0 +1,302 @@
+package com.project.mealplan.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.mealplan.common.enums.ErrorCode;
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.common.enums.UserStatus;
+import com.project.mealplan.common.exception.AppException;
+import com.project.mealplan.common.util.CalculateDailyCalories;
+import com.project.mealplan.dtos.mealplan.request.BatchGenerateMealPlanRequest;
+import com.project.mealplan.dtos.mealplan.response.MealPlanBatchJobResponse;
+import com.project.mealplan.entity.User;
+import com.project.mealplan.repository.MealPlanRepository;
+import com.project.mealplan.repository.PantryRepository;
+import com.project.mealplan.repository.UserRepository;
+import com.project.mealplan.service.MealPlanBatchService;
+import com.project.mealplan.service.catalog.RecipeCatalog;
+import com.project.mealplan.service.catalog.RecipeScoringTable;
+import com.project.mealplan.service.mealplan.MealPlanBatchWriter;
+import com.project.mealplan.service.mealplan.MealPlanBatchWriter.PlannedSlot;
+import com.project.mealplan.service.mealplan.MealPlanBatchWriter.PlannedWeek;
+import com.project.mealplan.service.mealplan.WeeklyRecipeSelector;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates weekly meal plans for a cohort of users in the background.
+ *
+ * Users are split into chunks processed on a bounded worker pool. Each chunk loads its
+ * users, pantries, favorites and existing plans with one query each, plans every user
+ * against the same catalog snapshot and writes all rows in one transaction with JDBC
+ * batches. If a chunk fails to commit it is retried user by user, so one bad row only
+ * fails that user.
+ */
+@Service
+@Slf4j
+public class MealPlanBatchServiceImpl implements MealPlanBatchService {
+
+    private static final int CHUNK_SIZE = 100;
+    private static final int MAX_RETAINED_JOBS = 20;
+    private static final int DAYS_PER_PLAN = 7;
+    private static final String GOAL = "Auto-generated weekly meal plan";
+
+    private final UserRepository userRepository;
+    private final PantryRepository pantryRepository;
+    private final MealPlanRepository mealPlanRepository;
+    private final RecipeCatalog recipeCatalog;
+    private final MealPlanBatchWriter mealPlanBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    private final AtomicReference<BatchJob> runningJob = new AtomicReference<>();
+    private final Map<String, BatchJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BatchJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    });
+
+    public MealPlanBatchServiceImpl(UserRepository userRepository,
+            PantryRepository pantryRepository,
+            MealPlanRepository mealPlanRepository,
+            RecipeCatalog recipeCatalog,
+            MealPlanBatchWriter mealPlanBatchWriter,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.meal-plan.batch.workers:4}") int workers) {
+        this.userRepository = userRepository;
+        this.pantryRepository = pantryRepository;
+        this.mealPlanRepository = mealPlanRepository;
+        this.recipeCatalog = recipeCatalog;
+        this.mealPlanBatchWriter = mealPlanBatchWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Pre-generate next week's plans for every active user. Disabled unless
+     * app.meal-plan.batch.cron is set.
+     */
+    @Scheduled(cron = "${app.meal-plan.batch.cron:-}")
+    public void generateNextWeekForActiveUsers() {
+        try {
+            MealPlanBatchJobResponse job = startBatchGeneration(new BatchGenerateMealPlanRequest());
+            log.info("Scheduled batch meal plan job {} started for {} users", job.getJobId(), job.getTotalUsers());
+        } catch (AppException e) {
+            log.warn("Scheduled batch meal plan generation not started: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public MealPlanBatchJobResponse startBatchGeneration(BatchGenerateMealPlanRequest request) {
+        LocalDate targetDate = request.getStartDate() != null ? request.getStartDate() : LocalDate.now().plusWeeks(1);
+        LocalDate weekStart = targetDate.minusDays(targetDate.getDayOfWeek().getValue() - 1);
+
+        if (recipeCatalog.isEmpty()) {
+            throw new AppException(ErrorCode.NO_RECIPES_AVAILABLE);
+        }
+        // One snapshot for the whole run, catalog changes during the job are not picked up
+        RecipeScoringTable scoringTable = recipeCatalog.getScoringTable();
+
+        List<Long> userIds = request.getUserIds() == null || request.getUserIds().isEmpty()
+                ? userRepository.findIdsByStatus(UserStatus.ACTIVE)
+                : request.getUserIds().stream().distinct().toList();
+
+        BatchJob job = new BatchJob(UUID.randomUUID().toString(), weekStart, userIds.size());
+        if (!runningJob.compareAndSet(null, job)) {
+            throw new AppException(ErrorCode.MEAL_PLAN_BATCH_ALREADY_RUNNING);
+        }
+        jobs.put(job.id, job);
+        log.info("Batch meal plan job {} started: {} users, week {}", job.id, userIds.size(), weekStart);
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + CHUNK_SIZE, userIds.size()));
+            chunks.add(CompletableFuture.runAsync(() -> processChunk(job, chunk, scoringTable), executor));
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            job.finishedAt = LocalDateTime.now();
+            runningJob.set(null);
+            log.info("Batch meal plan job {} finished: {} generated, {} skipped, {} failed",
+                    job.id, job.generated.get(), job.skipped.get(), job.failed.get());
+        });
+
+        return job.toResponse();
+    }
+
+    @Override
+    public MealPlanBatchJobResponse getBatchJob(String jobId) {
+        BatchJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new AppException(ErrorCode.MEAL_PLAN_BATCH_JOB_NOT_FOUND);
+        }
+        return job.toResponse();
+    }
+
+    private void processChunk(BatchJob job, List<Long> userIds, RecipeScoringTable scoringTable) {
+        ChunkResult result;
+        try {
+            result = transactionTemplate.execute(status -> generateChunk(job.weekStart, userIds, scoringTable));
+        } catch (RuntimeException e) {
+            if (userIds.size() == 1) {
+                log.warn("Batch meal plan generation failed for user {}", userIds.get(0), e);
+                result = new ChunkResult(0, 0, List.of(new MealPlanBatchJobResponse.Failure(userIds.get(0),
+                        e.getMessage())));
+            } else {
+                log.warn("Batch chunk of {} users failed, retrying one user at a time", userIds.size(), e);
+                for (Long userId : userIds) {
+                    processChunk(job, List.of(userId), scoringTable);
+                }
+                return;
+            }
+        }
+        job.record(userIds.size(), result);
+    }
+
+    private ChunkResult generateChunk(LocalDate weekStart, List<Long> userIds,
+            RecipeScoringTable scoringTable) {
+        Set<Long> withPlan = mealPlanRepository.findUserIdsWithPlanStartingOn(userIds, weekStart);
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        Map<Long, Set<Long>> pantries = groupByUser(pantryRepository.findIngredientIdsByUserIds(userIds));
+        Map<Long, Set<Long>> favorites = groupByUser(userRepository.findFavoriteRecipeIdsByUserIds(userIds));
+
+        List<PlannedWeek> weeks = new ArrayList<>();
+        // Reused for every user of the chunk; the selector copies what it needs
+        double[] scores = new double[scoringTable.size()];
+        List<MealPlanBatchJobResponse.Failure> failures = new ArrayList<>();
+        int skipped = 0;
+
+        for (Long userId : userIds) {
+            if (withPlan.contains(userId)) {
+                skipped++;
+                continue;
+            }
+            User user = users.get(userId);
+            if (user == null) {
+                failures.add(new MealPlanBatchJobResponse.Failure(userId, ErrorCode.USER_NOT_FOUND.getMessage()));
+                continue;
+            }
+            if (user.getWeight() == null || user.getHeight() == null || user.getAge() == null) {
+                failures.add(new MealPlanBatchJobResponse.Failure(userId,
+                        ErrorCode.INSUFFICIENT_USER_PROFILE.getMessage()));
+                continue;
+            }
+            weeks.add(planWeek(user, weekStart, scoringTable, scores,
+                    pantries.getOrDefault(userId, Set.of()),
+                    favorites.getOrDefault(userId, Set.of())));
+        }
+
+        mealPlanBatchWriter.insert(weeks);
+        return new ChunkResult(weeks.size(), skipped, failures);
+    }
+
+    private PlannedWeek planWeek(User user, LocalDate weekStart, RecipeScoringTable scoringTable, double[] scores,
+            Set<Long> pantryIngredientIds, Set<Long> favoriteRecipeIds) {
+        BigDecimal mealCalorieTarget = CalculateDailyCalories.calculateDailyCalorieTarget(user)
+                .divide(BigDecimal.valueOf(4), 2, RoundingMode.HALF_UP);
+        scoringTable.score(mealCalorieTarget, pantryIngredientIds, favoriteRecipeIds, scores);
+        WeeklyRecipeSelector selector = new WeeklyRecipeSelector(scoringTable, scores,
+                DAYS_PER_PLAN, ThreadLocalRandom.current());
+
+        List<List<PlannedSlot>> days = new ArrayList<>(DAYS_PER_PLAN);
+        for (int i = 0; i < DAYS_PER_PLAN; i++) {
+            List<PlannedSlot> slots = new ArrayList<>();
+            for (MealType mealType : MealType.values()) {
+                WeeklyRecipeSelector.Pick pick = selector.select(mealType, i);
+                if (pick != null) {
+                    slots.add(new PlannedSlot(mealType, pick.recipe().recipeId()));
+                }
+            }
+            days.add(slots);
+        }
+        return new PlannedWeek(user.getUserId(), weekStart, GOAL, days);
+    }
+
+    private static Map<Long, Set<Long>> groupByUser(List<Object[]> rows) {
+        Map<Long, Set<Long>> grouped = new HashMap<>();
+        for (Object[] row : rows) {
+            grouped.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((Long) row[1]);
+        }
+        return grouped;
+    }
+
+    private record ChunkResult(int generated, int skipped, List<MealPlanBatchJobResponse.Failure> failures) {
+    }
+
+    private static final class BatchJob {
+        final String id;
+        final LocalDate weekStart;
+        final int totalUsers;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        volatile LocalDateTime finishedAt;
+
+        final AtomicInteger processed = new AtomicInteger();
+        final AtomicInteger generated = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final ConcurrentLinkedQueue<MealPlanBatchJobResponse.Failure> failures = new ConcurrentLinkedQueue<>();
+
+        BatchJob(String id, LocalDate weekStart, int totalUsers) {
+            this.id = id;
+            this.weekStart = weekStart;
+            this.totalUsers = totalUsers;
+        }
+
+        void record(int users, ChunkResult result) {
+            generated.addAndGet(result.generated());
+            skipped.addAndGet(result.skipped());
+            failed.addAndGet(result.failures().size());
+            failures.addAll(result.failures());
+            processed.addAndGet(users);
+        }
+
+        MealPlanBatchJobResponse toResponse() {
+            return MealPlanBatchJobResponse.builder()
+                    .jobId(id)
+                    .status(finishedAt == null ? "RUNNING" : "COMPLETED")
+                    .weekStartDate(weekStart)
+                    .totalUsers(totalUsers)
+                    .processed(processed.get())
+                    .generated(generated.get())
+                    .skipped(skipped.get())
+                    .failed(failed.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .failures(List.copyOf(failures))
+                    .build();
+        }
+    }
+}
@@ -3,18 +3,23 @@ package com.project.mealplan.service.impl;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.project.mealplan.common.enums.ErrorCode;
 import com.project.mealplan.common.enums.MealType;
-import com.project.mealplan.common.enums.RecipeStatus;
 import com.project.mealplan.common.exception.AppException;
+import com.project.mealplan.dtos.mealplan.request.AcceptWeeklyMealPlanRequest;
 import com.project.mealplan.dtos.mealplan.request.UpdateMealSlotRecipeRequest;
+import com.project.mealplan.dtos.mealplan.request.UpdateMealSlotsRequest;
 import com.project.mealplan.dtos.mealplan.response.MealDayResponse;
 import com.project.mealplan.dtos.mealplan.response.MealSlotDetailResponse;
 import com.project.mealplan.dtos.mealplan.response.MealSlotListResponse;
@@ -26,8 +31,14 @@ import com.project.mealplan.dtos.mealplan.response.WeeklyMealPlanResponse;
 import com.project.mealplan.entity.*;
 import com.project.mealplan.repository.*;
 import com.project.mealplan.service.MealPlanService;
-import com.project.mealplan.common.util.CalculateRecipeScore;
+import com.project.mealplan.service.catalog.RecipeCatalog;
+import com.project.mealplan.service.catalog.RecipeScoringTable;
+import com.project.mealplan.service.catalog.RecipeSnapshot;
+import com.project.mealplan.service.mealplan.WeeklyPlanOptimizer;
+import com.project.mealplan.service.mealplan.WeeklyRecipeSelector;
 import com.project.mealplan.common.util.CalculateDailyCalories;
+import com.project.mealplan.common.util.CalculateCalories;
+import com.project.mealplan.common.util.NutritionCalculator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,25 +53,95 @@ public class MealPlanServiceImpl implements MealPlanService {
     private final RecipeRepository recipeRepository;
     private final PantryRepository pantryRepository;
     private final MealSlotRepository mealSlotRepository;
+    private final NutritionGoalRepository nutritionGoalRepository;
+    private final RecipeCatalog recipeCatalog;
 
-    // Variety penalty for recipe repetition
-    private static final double BASE_REPETITION_PENALTY = 0.7; // 70% penalty per overall use
-    private static final double RECENT_USE_PENALTY = 0.9; // 100% penalty if used in last day
-    private static final double RANDOMIZATION_FACTOR = 0.05; // 5% random variance to break ties
-    private static final int RECENT_USE_WINDOW = 3; // Consider last 3 days for recent use
-    private static final int MAX_USES_PER_MEAL_TYPE = 2; // Hard limit per meal type
     private final Random random = new Random();
 
+    // Time the optimizer may spend refining a generated week; zero keeps the greedy plan
+    @Value("${app.meal-plan.optimizer.budget:50ms}")
+    private Duration optimizerBudget;
+
+    /**
+     * What a week is planned from. Scores and targets are computed once and only read afterwards,
+     * so several plans can be drawn from one context concurrently.
+     */
+    private record PlanningContext(User user, LocalDate weekStart, RecipeScoringTable scoringTable,
+            double[] scores, WeeklyPlanOptimizer.DailyTargets targets) {
+    }
+
     @Override
     @Transactional
     public WeeklyMealPlanResponse generateWeeklyMealPlan(Long userId, LocalDate startDate) {
         log.info("Generating weekly meal plan for user: {}, startDate: {}", userId, startDate);
 
+        PlanningContext context = prepareWeek(userId, startDate);
+        return buildWeek(context, planWeek(context, random), true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WeeklyMealPlanResponse> generateWeeklyMealPlanCandidates(Long userId, LocalDate startDate,
+            int count) {
+        log.info("Generating {} candidate weekly meal plans for user: {}, startDate: {}", count, userId, startDate);
+
+        PlanningContext context = prepareWeek(userId, startDate);
+
+        // One seed per candidate, so tie-breaks and optimizer walks differ. Planning is pure CPU work
+        // on the shared context and runs on the common ForkJoin pool; nothing is persisted.
+        long[] seeds = random.longs(count).toArray();
+        List<WeeklyRecipeSelector.Pick[][]> plans = IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> planWeek(context, new Random(seeds[i])))
+                .toList();
+
+        return plans.stream()
+                .map(picks -> buildWeek(context, picks, false))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public WeeklyMealPlanResponse acceptWeeklyMealPlan(Long userId, AcceptWeeklyMealPlanRequest request) {
+        log.info("Accepting weekly meal plan for user: {}, weekStartDate: {}", userId, request.getWeekStartDate());
+
+        PlanningContext context = prepareWeek(userId, request.getWeekStartDate());
+        RecipeScoringTable scoringTable = context.scoringTable();
+
+        WeeklyRecipeSelector.Pick[][] picks = new WeeklyRecipeSelector.Pick[7][MealType.values().length];
+        for (AcceptWeeklyMealPlanRequest.PlannedMeal meal : request.getMeals()) {
+            long day = ChronoUnit.DAYS.between(context.weekStart(), meal.getDate());
+            if (day < 0 || day >= 7) {
+                throw new AppException(ErrorCode.INVALID_DATE_RANGE,
+                        "Meal date " + meal.getDate() + " is outside the planned week");
+            }
+            // Only published recipes can be planned
+            int row = scoringTable.row(meal.getRecipeId());
+            if (row < 0) {
+                throw new AppException(ErrorCode.RECIPE_NOT_FOUND);
+            }
+            // Same rule as generation: a slot only takes recipes of its meal type
+            if (scoringTable.recipe(row).mealType() != meal.getMealType()) {
+                throw new AppException(ErrorCode.INVALID_REQUEST,
+                        "Recipe " + meal.getRecipeId() + " is not a " + meal.getMealType() + " recipe");
+            }
+            WeeklyRecipeSelector.Pick[] slots = picks[(int) day];
+            if (slots[meal.getMealType().ordinal()] != null) {
+                throw new AppException(ErrorCode.INVALID_REQUEST,
+                        "More than one recipe for " + meal.getMealType() + " on " + meal.getDate());
+            }
+            slots[meal.getMealType().ordinal()] = new WeeklyRecipeSelector.Pick(scoringTable.recipe(row),
+                    context.scores()[row]);
+        }
+
+        return buildWeek(context, picks, true);
+    }
+
+    private PlanningContext prepareWeek(Long userId, LocalDate startDate) {
         // 1. Calculate week range (Monday to Sunday)
         LocalDate weekStart = calculateWeekStart(startDate);
-        LocalDate weekEnd = weekStart.plusDays(6);
 
-        log.debug("Week range: {} to {}", weekStart, weekEnd);
+        log.debug("Week range: {} to {}", weekStart, weekStart.plusDays(6));
 
         // 2. Check if meal plan already exists
         mealPlanRepository.findByUser_UserIdAndStartDate(userId, weekStart)
@@ -80,43 +161,32 @@ public class MealPlanServiceImpl implements MealPlanService {
 
         // 5. Get user's pantry and favorites
         Set<Long> pantryIngredientIds = getUserPantryIngredientIds(userId);
-        Set<Long> favoriteRecipeIds = user.getFavorites().stream()
-                .map(Recipe::getRecipeId)
-                .collect(Collectors.toSet());
-
-        // 6. Get all published recipes
-        List<Recipe> availableRecipes = recipeRepository.findAll().stream()
-                .filter(r -> r.getStatus() == RecipeStatus.PUBLISHED)
-                .collect(Collectors.toList());
+        Set<Long> favoriteRecipeIds = userRepository.findFavoriteRecipeIds(userId);
 
-        if (availableRecipes.isEmpty()) {
+        // 6. Published recipes come from the in-memory catalog (no recipe reads)
+        if (recipeCatalog.isEmpty()) {
             throw new AppException(ErrorCode.NO_RECIPES_AVAILABLE);
         }
 
-        // 7. Create meal plan entity
-        MealPlan mealPlan = new MealPlan();
-        mealPlan.setUser(user);
-        mealPlan.setStartDate(weekStart);
-        mealPlan.setEndDate(weekEnd);
-        mealPlan.setGoal("Auto-generated weekly meal plan");
+        // 7. Score the catalog once; same target for every meal type, scores only depend on the recipe
+        BigDecimal mealCalorieTarget = dailyCalorieTarget.divide(
+                BigDecimal.valueOf(4), 2, RoundingMode.HALF_UP);
+        RecipeScoringTable scoringTable = recipeCatalog.getScoringTable();
+        double[] scores = scoringTable.score(mealCalorieTarget, pantryIngredientIds, favoriteRecipeIds);
+
+        return new PlanningContext(user, weekStart, scoringTable, scores, dailyTargets(user, dailyCalorieTarget));
+    }
 
-        // 8. Generate 7 days with meal slots
+    /**
+     * Day and week responses for the picks; when persist is set the plan is saved and the
+     * response carries its ids.
+     */
+    private WeeklyMealPlanResponse buildWeek(PlanningContext context, WeeklyRecipeSelector.Pick[][] picks,
+            boolean persist) {
+        LocalDate weekStart = context.weekStart();
         List<MealDayResponse> dayResponses = new ArrayList<>();
-        Map<Long, Double> recipeScores = new HashMap<>(); // Cache for recipe scores
-        Map<Long, Integer> usedRecipes = new HashMap<>(); // Track overall recipe usage
-        Map<String, Integer> perMealTypeUsage = new HashMap<>(); // Track usage per meal type (key: recipeId_mealType)
-        List<Map<MealType, Long>> recentlyUsedRecipes = new ArrayList<>(); // Track recent use per day per meal type
 
         for (int i = 0; i < 7; i++) {
-            LocalDate currentDate = weekStart.plusDays(i);
-            MealDay mealDay = new MealDay();
-            mealDay.setDate(currentDate);
-            mealPlan.addMealDay(mealDay);
-
-            // Track today's selections for recent use tracking
-            Map<MealType, Long> todaySelections = new EnumMap<>(MealType.class);
-
-            // Generate meals for each type
             Map<MealType, List<MealSlotResponse>> mealsMap = new EnumMap<>(MealType.class);
             BigDecimal dailyCalories = BigDecimal.ZERO;
             BigDecimal dailyProtein = BigDecimal.ZERO;
@@ -124,50 +194,17 @@ public class MealPlanServiceImpl implements MealPlanService {
             BigDecimal dailyFat = BigDecimal.ZERO;
 
             for (MealType mealType : MealType.values()) {
-                // Calculate target calories for this meal type
-                BigDecimal mealCalorieTarget = dailyCalorieTarget.divide(
-                        BigDecimal.valueOf(4), 2, RoundingMode.HALF_UP);
-
-                // Select best recipe for this meal type
-                Recipe selectedRecipe = selectBestRecipe(
-                        availableRecipes,
-                        mealType,
-                        mealCalorieTarget,
-                        pantryIngredientIds,
-                        favoriteRecipeIds,
-                        recipeScores,
-                        usedRecipes,
-                        perMealTypeUsage,
-                        recentlyUsedRecipes,
-                        i); // Pass current day index
-
-                if (selectedRecipe != null) {
-                    MealSlot mealSlot = new MealSlot();
-                    mealSlot.setType(mealType);
-                    mealSlot.setRecipe(selectedRecipe);
-                    mealSlot.setQuantity(1.0);
-                    mealDay.addMealSlot(mealSlot);
-
-                    // Track recipe usage for variety
-                    usedRecipes.merge(selectedRecipe.getRecipeId(), 1, Integer::sum);
-                    todaySelections.put(mealType, selectedRecipe.getRecipeId());
-
-                    // Track per-meal-type usage
-                    String usageKey = selectedRecipe.getRecipeId() + "_" + mealType;
-                    perMealTypeUsage.merge(usageKey, 1, Integer::sum);
+                WeeklyRecipeSelector.Pick pick = picks[i][mealType.ordinal()];
 
-                    // Calculate score
-                    double score = recipeScores.computeIfAbsent(selectedRecipe.getRecipeId(),
-                            id -> CalculateRecipeScore.calculateRecipeScore(selectedRecipe, mealCalorieTarget,
-                                    pantryIngredientIds, favoriteRecipeIds));
+                if (pick != null) {
+                    RecipeSnapshot selectedRecipe = pick.recipe();
 
-                    // Create response
                     MealSlotResponse slotResponse = MealSlotResponse.builder()
-                            .mealSlotId(null) // Will be set after save
-                            .recipeId(selectedRecipe.getRecipeId())
-                            .title(selectedRecipe.getTitle())
-                            .calories(selectedRecipe.getCalories())
-                            .score(score)
+                            .mealSlotId(null) // Set after save
+                            .recipeId(selectedRecipe.recipeId())
+                            .title(selectedRecipe.title())
+                            .calories(selectedRecipe.calories())
+                            .score(pick.score())
                             .consumed(false) // New meal slots default to not consumed
                             .consumedAt(null)
                             .build();
@@ -175,44 +212,72 @@ public class MealPlanServiceImpl implements MealPlanService {
                     mealsMap.computeIfAbsent(mealType, k -> new ArrayList<>()).add(slotResponse);
 
                     // Accumulate nutrition
-                    if (selectedRecipe.getCalories() != null) {
-                        dailyCalories = dailyCalories.add(selectedRecipe.getCalories());
+                    if (selectedRecipe.calories() != null) {
+                        dailyCalories = dailyCalories.add(selectedRecipe.calories());
                     }
-
-                    // Get nutrition from recipe ingredients
-                    Map<String, BigDecimal> nutrition = calculateRecipeNutrition(selectedRecipe);
-                    dailyProtein = dailyProtein.add(nutrition.getOrDefault("protein", BigDecimal.ZERO));
-                    dailyCarbs = dailyCarbs.add(nutrition.getOrDefault("carbs", BigDecimal.ZERO));
-                    dailyFat = dailyFat.add(nutrition.getOrDefault("fat", BigDecimal.ZERO));
+                    dailyProtein = dailyProtein.add(selectedRecipe.protein());
+                    dailyCarbs = dailyCarbs.add(selectedRecipe.carbs());
+                    dailyFat = dailyFat.add(selectedRecipe.fat());
                 }
             }
 
-            // Create nutrition summary
-            NutritionSummaryResponse nutritionSummary = NutritionSummaryResponse.builder()
-                    .totalCalories(dailyCalories)
-                    .protein(dailyProtein)
-                    .carbs(dailyCarbs)
-                    .fat(dailyFat)
-                    .build();
-
-            // Create day response
-            MealDayResponse dayResponse = MealDayResponse.builder()
-                    .date(currentDate)
+            dayResponses.add(MealDayResponse.builder()
+                    .date(weekStart.plusDays(i))
                     .meals(mealsMap)
-                    .nutritionSummary(nutritionSummary)
-                    .build();
+                    .nutritionSummary(NutritionSummaryResponse.builder()
+                            .totalCalories(dailyCalories)
+                            .protein(dailyProtein)
+                            .carbs(dailyCarbs)
+                            .fat(dailyFat)
+                            .build())
+                    .build());
+        }
 
-            dayResponses.add(dayResponse);
+        return WeeklyMealPlanResponse.builder()
+                .id(persist ? saveWeek(context, dayResponses) : null)
+                .weekStartDate(weekStart)
+                .weekEndDate(weekStart.plusDays(6))
+                .days(dayResponses)
+                .nutritionSummary(sumNutrition(dayResponses))
+                .build();
+    }
 
-            // Store today's selections for recent-use tracking
-            recentlyUsedRecipes.add(todaySelections);
+    /**
+     * Save the week described by the day responses and fill in their slot ids.
+     */
+    private Long saveWeek(PlanningContext context, List<MealDayResponse> dayResponses) {
+        MealPlan mealPlan = new MealPlan();
+        mealPlan.setUser(context.user());
+        mealPlan.setStartDate(context.weekStart());
+        mealPlan.setEndDate(context.weekStart().plusDays(6));
+        mealPlan.setGoal("Auto-generated weekly meal plan");
+
+        Map<MealSlot, MealSlotResponse> slotResponses = new IdentityHashMap<>(); // Filled with ids after save
+        for (MealDayResponse dayResponse : dayResponses) {
+            MealDay mealDay = new MealDay();
+            mealDay.setDate(dayResponse.getDate());
+            mealDay.setTotalCalories(dayResponse.getNutritionSummary().getTotalCalories());
+            mealDay.setTotalProtein(dayResponse.getNutritionSummary().getProtein());
+            mealDay.setTotalCarbs(dayResponse.getNutritionSummary().getCarbs());
+            mealDay.setTotalFat(dayResponse.getNutritionSummary().getFat());
+            mealPlan.addMealDay(mealDay);
+
+            dayResponse.getMeals().forEach((mealType, slots) -> {
+                for (MealSlotResponse slotResponse : slots) {
+                    MealSlot mealSlot = new MealSlot();
+                    mealSlot.setType(mealType);
+                    // Reference only, the row itself is never loaded
+                    mealSlot.setRecipe(recipeRepository.getReferenceById(slotResponse.getRecipeId()));
+                    mealSlot.setQuantity(1.0);
+                    mealDay.addMealSlot(mealSlot);
+                    slotResponses.put(mealSlot, slotResponse);
+                }
+            });
         }
 
-        // 9. Save meal plan
         MealPlan savedMealPlan = mealPlanRepository.save(mealPlan);
-
-        // 10. Build response
-        return mapToWeeklyMealPlanResponse(savedMealPlan);
+        slotResponses.forEach((slot, response) -> response.setMealSlotId(slot.getId()));
+        return savedMealPlan.getId();
     }
 
     @Override
@@ -221,81 +286,162 @@ public class MealPlanServiceImpl implements MealPlanService {
         log.info("Getting weekly meal plan for user: {}, date: {}", userId, date);
 
         LocalDate weekStart = calculateWeekStart(date);
-        MealPlan mealPlan = mealPlanRepository.findByUser_UserIdAndStartDate(userId, weekStart)
-                .orElseThrow(() -> new AppException(ErrorCode.MEAL_PLAN_NOT_FOUND));
+        List<WeeklyPlanRow> rows = mealPlanRepository.findWeeklyPlanRows(userId, weekStart);
+        if (rows.isEmpty()) {
+            throw new AppException(ErrorCode.MEAL_PLAN_NOT_FOUND);
+        }
 
-        return mapToWeeklyMealPlanResponse(mealPlan);
+        return mapToWeeklyMealPlanResponse(rows);
     }
 
-    private WeeklyMealPlanResponse mapToWeeklyMealPlanResponse(MealPlan mealPlan) {
+    /**
+     * Build the week from flat rows ordered by day. Day totals are the ones maintained on the day
+     * when present, otherwise they are summed from the recipes' stored macros.
+     */
+    private WeeklyMealPlanResponse mapToWeeklyMealPlanResponse(List<WeeklyPlanRow> rows) {
         List<MealDayResponse> dayResponses = new ArrayList<>();
 
-        for (MealDay mealDay : mealPlan.getMealDays()) {
+        int i = 0;
+        while (i < rows.size() && rows.get(i).mealDayId() != null) {
+            WeeklyPlanRow day = rows.get(i);
+            Long mealDayId = day.mealDayId();
+            LocalDate dayDate = day.date();
             Map<MealType, List<MealSlotResponse>> mealsMap = new EnumMap<>(MealType.class);
             BigDecimal dailyCalories = BigDecimal.ZERO;
             BigDecimal dailyProtein = BigDecimal.ZERO;
             BigDecimal dailyCarbs = BigDecimal.ZERO;
             BigDecimal dailyFat = BigDecimal.ZERO;
 
-            for (MealSlot slot : mealDay.getMealSlots()) {
-                Recipe recipe = slot.getRecipe();
-
-                // Calculate score (simplified re-calculation or just skip since it's already
-                // generated)
-                // For retrieval, we might not need the exact generation score, so we can use 0
-                // or recalculate.
-                // Re-calculating for consistency.
-                Double score = 0.0; // Determine if we need to store score. Entity doesn't store it.
+            for (; i < rows.size() && mealDayId.equals(rows.get(i).mealDayId()); i++) {
+                WeeklyPlanRow row = rows.get(i);
+                if (row.mealSlotId() == null) {
+                    continue;
+                }
 
+                // The entity doesn't store the generation score
                 MealSlotResponse slotResponse = MealSlotResponse.builder()
-                        .mealSlotId(slot.getId())
-                        .recipeId(recipe.getRecipeId())
-                        .title(recipe.getTitle())
-                        .calories(recipe.getCalories())
-                        .score(score)
-                        .consumed(slot.getConsumed())
-                        .consumedAt(slot.getConsumedAt())
+                        .mealSlotId(row.mealSlotId())
+                        .recipeId(row.recipeId())
+                        .title(row.title())
+                        .calories(row.calories())
+                        .score(0.0)
+                        .consumed(row.consumed())
+                        .consumedAt(row.consumedAt())
                         .build();
 
-                mealsMap.computeIfAbsent(slot.getType(), k -> new ArrayList<>()).add(slotResponse);
+                mealsMap.computeIfAbsent(row.type(), k -> new ArrayList<>()).add(slotResponse);
 
-                if (recipe.getCalories() != null) {
-                    dailyCalories = dailyCalories.add(recipe.getCalories());
-                }
-
-                Map<String, BigDecimal> nutrition = calculateRecipeNutrition(recipe);
-                dailyProtein = dailyProtein.add(nutrition.getOrDefault("protein", BigDecimal.ZERO));
-                dailyCarbs = dailyCarbs.add(nutrition.getOrDefault("carbs", BigDecimal.ZERO));
-                dailyFat = dailyFat.add(nutrition.getOrDefault("fat", BigDecimal.ZERO));
+                dailyCalories = dailyCalories.add(orZero(row.calories()));
+                dailyProtein = dailyProtein.add(orZero(row.protein()));
+                dailyCarbs = dailyCarbs.add(orZero(row.carbs()));
+                dailyFat = dailyFat.add(orZero(row.fat()));
             }
 
-            NutritionSummaryResponse nutritionSummary = NutritionSummaryResponse.builder()
-                    .totalCalories(dailyCalories)
-                    .protein(dailyProtein)
-                    .carbs(dailyCarbs)
-                    .fat(dailyFat)
-                    .build();
+            // Totals are set and cleared together
+            if (day.dayCalories() != null) {
+                dailyCalories = day.dayCalories();
+                dailyProtein = orZero(day.dayProtein());
+                dailyCarbs = orZero(day.dayCarbs());
+                dailyFat = orZero(day.dayFat());
+            }
 
-            MealDayResponse dayResponse = MealDayResponse.builder()
-                    .date(mealDay.getDate())
+            dayResponses.add(MealDayResponse.builder()
+                    .date(dayDate)
                     .meals(mealsMap)
-                    .nutritionSummary(nutritionSummary)
-                    .build();
-
-            dayResponses.add(dayResponse);
+                    .nutritionSummary(NutritionSummaryResponse.builder()
+                            .totalCalories(dailyCalories)
+                            .protein(dailyProtein)
+                            .carbs(dailyCarbs)
+                            .fat(dailyFat)
+                            .build())
+                    .build());
         }
 
-        // Sort days by date
-        dayResponses.sort(Comparator.comparing(MealDayResponse::getDate));
-
+        WeeklyPlanRow plan = rows.get(0);
         return WeeklyMealPlanResponse.builder()
-                .id(mealPlan.getId())
-                .weekStartDate(mealPlan.getStartDate())
-                .weekEndDate(mealPlan.getEndDate())
+                .id(plan.planId())
+                .weekStartDate(plan.startDate())
+                .weekEndDate(plan.endDate())
                 .days(dayResponses)
+                .nutritionSummary(sumNutrition(dayResponses))
                 .build();
     }
 
+    private NutritionSummaryResponse sumNutrition(List<MealDayResponse> days) {
+        BigDecimal calories = BigDecimal.ZERO;
+        BigDecimal protein = BigDecimal.ZERO;
+        BigDecimal carbs = BigDecimal.ZERO;
+        BigDecimal fat = BigDecimal.ZERO;
+        for (MealDayResponse day : days) {
+            NutritionSummaryResponse summary = day.getNutritionSummary();
+            calories = calories.add(summary.getTotalCalories());
+            protein = protein.add(summary.getProtein());
+            carbs = carbs.add(summary.getCarbs());
+            fat = fat.add(summary.getFat());
+        }
+        return NutritionSummaryResponse.builder()
+                .totalCalories(calories)
+                .protein(protein)
+                .carbs(carbs)
+                .fat(fat)
+                .build();
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    /**
+     * Greedy picks per [day][meal type], then refined against the daily calorie and macro targets
+     * within the optimizer budget. Falls back to the greedy week if the optimizer fails.
+     * Only reads the context, so it is safe to call concurrently with separate randoms.
+     */
+    private WeeklyRecipeSelector.Pick[][] planWeek(PlanningContext context, Random random) {
+        RecipeScoringTable scoringTable = context.scoringTable();
+        WeeklyRecipeSelector selector = new WeeklyRecipeSelector(scoringTable, context.scores(), 7, random);
+        WeeklyRecipeSelector.Pick[][] picks = new WeeklyRecipeSelector.Pick[7][MealType.values().length];
+        for (int i = 0; i < 7; i++) {
+            for (MealType mealType : MealType.values()) {
+                // Usage is tracked by the selector
+                picks[i][mealType.ordinal()] = selector.select(mealType, i);
+            }
+        }
+
+        if (optimizerBudget.isZero()) {
+            return picks;
+        }
+        try {
+            WeeklyPlanOptimizer optimizer = new WeeklyPlanOptimizer(scoringTable, context.scores(),
+                    context.targets(), 7, random);
+            return optimizer.improve(picks, optimizerBudget);
+        } catch (RuntimeException e) {
+            log.warn("Weekly plan optimizer failed for user {}, keeping the greedy plan",
+                    context.user().getUserId(), e);
+            return picks;
+        }
+    }
+
+    /**
+     * The user's nutrition goal where set, otherwise the calorie target with the default macro split.
+     */
+    private WeeklyPlanOptimizer.DailyTargets dailyTargets(User user, BigDecimal dailyCalorieTarget) {
+        NutritionGoal goal = nutritionGoalRepository.findByUser_UserId(user.getUserId()).orElse(null);
+        BigDecimal calories = goal != null && goal.getDailyCalories() != null
+                ? goal.getDailyCalories()
+                : dailyCalorieTarget;
+        BigDecimal protein = goal != null && goal.getDailyProtein() != null
+                ? goal.getDailyProtein()
+                : NutritionCalculator.calculateDailyProtein(calories);
+        BigDecimal carbs = goal != null && goal.getDailyCarbs() != null
+                ? goal.getDailyCarbs()
+                : NutritionCalculator.calculateDailyCarbs(calories);
+        BigDecimal fat = goal != null && goal.getDailyFat() != null
+                ? goal.getDailyFat()
+                : NutritionCalculator.calculateDailyFat(calories);
+        return new WeeklyPlanOptimizer.DailyTargets(calories.doubleValue(), protein.doubleValue(),
+                carbs.doubleValue(), fat.doubleValue());
+    }
+
     /**
      * Calculate the Monday of the week for the given date
      */
@@ -325,188 +471,53 @@ public class MealPlanServiceImpl implements MealPlanService {
                 .orElse(Collections.emptySet());
     }
 
-    /**
-     * Select best recipe with advanced variety tracking and hard limits:
-     * - HARD LIMIT: Max 2 uses per recipe per meal type per week
-     * - Base repetition penalty for any reuse
-     * - Heavy penalty for recent use (within last 3 days)
-     * - Exponential decay for recent penalties
-     * - Randomization to break ties and add unpredictability
-     */
-    private Recipe selectBestRecipe(
-            List<Recipe> availableRecipes,
-            MealType mealType,
-            BigDecimal targetCalories,
-            Set<Long> pantryIngredientIds,
-            Set<Long> favoriteRecipeIds,
-            Map<Long, Double> scoreCache,
-            Map<Long, Integer> usedRecipes,
-            Map<String, Integer> perMealTypeUsage,
-            List<Map<MealType, Long>> recentlyUsedRecipes,
-            int currentDayIndex) {
-
-        return availableRecipes.stream()
-                .filter(recipe -> {
-                    // Filter by meal type
-                    if (recipe.getMealType() != mealType) {
-                        return false;
-                    }
-
-                    // HARD LIMIT: Filter out recipes that hit the limit for this meal type
-                    String usageKey = recipe.getRecipeId() + "_" + mealType;
-                    int mealTypeUsage = perMealTypeUsage.getOrDefault(usageKey, 0);
-                    return mealTypeUsage < MAX_USES_PER_MEAL_TYPE;
-                })
-                .max(Comparator.comparingDouble(recipe -> {
-                    Long recipeId = recipe.getRecipeId();
-
-                    // 1. Get base quality score (0.0 - 1.0)
-                    double baseScore = scoreCache.computeIfAbsent(recipeId,
-                            id -> CalculateRecipeScore.calculateRecipeScore(recipe, targetCalories,
-                                    pantryIngredientIds, favoriteRecipeIds));
-
-                    // 2. Apply base repetition penalty (linear)
-                    int totalUsageCount = usedRecipes.getOrDefault(recipeId, 0);
-                    double repetitionPenalty = totalUsageCount * BASE_REPETITION_PENALTY;
-
-                    // 3. Apply recent use penalty (exponential decay)
-                    double recentUsePenalty = 0.0;
-                    int lookbackDays = Math.min(currentDayIndex, RECENT_USE_WINDOW);
-                    for (int daysAgo = 1; daysAgo <= lookbackDays; daysAgo++) {
-                        int dayIndex = currentDayIndex - daysAgo;
-                        if (dayIndex >= 0 && dayIndex < recentlyUsedRecipes.size()) {
-                            Map<MealType, Long> dayRecipes = recentlyUsedRecipes.get(dayIndex);
-                            Long usedRecipeId = dayRecipes.get(mealType);
-                            if (recipeId.equals(usedRecipeId)) {
-                                // Exponential decay: most recent day has highest penalty
-                                double decayFactor = Math.pow(0.5, daysAgo - 1); // 100%, 50%, 25%...
-                                recentUsePenalty += RECENT_USE_PENALTY * decayFactor;
-                            }
-                        }
-                    }
-
-                    // 4. Add small random variance to break ties and add unpredictability
-                    double randomVariance = (random.nextDouble() - 0.5) * RANDOMIZATION_FACTOR;
-
-                    // 5. Calculate final adjusted score
-                    double adjustedScore = baseScore - repetitionPenalty - recentUsePenalty + randomVariance;
-
-                    return Math.max(0.0, adjustedScore); // Ensure non-negative
-                }))
-                .orElse(null);
-    }
-
-    /**
-     * Calculate nutrition for a recipe
-     */
-    private Map<String, BigDecimal> calculateRecipeNutrition(Recipe recipe) {
-        Map<String, BigDecimal> nutrition = new HashMap<>();
-        BigDecimal protein = BigDecimal.ZERO;
-        BigDecimal carbs = BigDecimal.ZERO;
-        BigDecimal fat = BigDecimal.ZERO;
-
-        for (RecipeIngredient ri : recipe.getIngredients()) {
-            Ingredient ingredient = ri.getIngredient();
-            Double quantity = ri.getQuantity() != null ? ri.getQuantity() : 100.0;
-
-            for (IngredientNutrition in : ingredient.getNutritions()) {
-                String nutritionName = in.getNutritionType().getName().toLowerCase();
-                BigDecimal amount = in.getAmountPer100g()
-                        .multiply(BigDecimal.valueOf(quantity))
-                        .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-
-                if (nutritionName.contains("protein")) {
-                    protein = protein.add(amount);
-                } else if (nutritionName.contains("carb")) {
-                    carbs = carbs.add(amount);
-                } else if (nutritionName.contains("fat")) {
-                    fat = fat.add(amount);
-                }
-            }
-        }
-
-        nutrition.put("protein", protein);
-        nutrition.put("carbs", carbs);
-        nutrition.put("fat", fat);
-
-        return nutrition;
-    }
-
     @Override
     @Transactional(readOnly = true)
     public MealSlotListResponse getMealSlotsByDateAndMealType(Long userId, LocalDate date, MealType mealType) {
         log.info("Getting meal slots for user: {}, date: {}, mealType: {}", userId, date, mealType);
 
         LocalDate weekStart = calculateWeekStart(date);
-
-        MealPlan mealPlan = mealPlanRepository.findByUser_UserIdAndStartDate(userId, weekStart)
-                .orElse(null);
+        List<MealSlotRow> rows = mealSlotRepository.findSlotRows(userId, weekStart, date, mealType);
 
         MealSlotListResponse response = MealSlotListResponse.builder()
                 .date(date)
                 .mealType(mealType)
                 .slots(new ArrayList<>())
-                .nutritionSummary(NutritionSummaryResponse.builder()
-                        .totalCalories(BigDecimal.ZERO)
-                        .protein(BigDecimal.ZERO)
-                        .carbs(BigDecimal.ZERO)
-                        .fat(BigDecimal.ZERO)
-                        .build())
                 .build();
 
-        if (mealPlan == null) {
-            log.debug("No meal plan found for user: {}, weekStart: {}", userId, weekStart);
-            return response;
-        }
-
-        MealDay mealDay = mealPlan.getMealDays().stream()
-                .filter(md -> md.getDate().equals(date))
-                .findFirst()
-                .orElse(null);
-
-        if (mealDay == null) {
-            log.debug("No meal day found for date: {}", date);
-            return response;
-        }
-
-        List<MealSlot> mealSlots = mealDay.getMealSlots().stream()
-                .filter(slot -> slot.getType() == mealType)
-                .collect(Collectors.toList());
-
         List<MealSlotDetailResponse> slots = new ArrayList<>();
         BigDecimal totalCalories = BigDecimal.ZERO;
         BigDecimal totalProtein = BigDecimal.ZERO;
         BigDecimal totalCarbs = BigDecimal.ZERO;
         BigDecimal totalFat = BigDecimal.ZERO;
 
-        for (MealSlot mealSlot : mealSlots) {
-            Recipe recipe = mealSlot.getRecipe();
-            Map<String, BigDecimal> nutrition = calculateRecipeNutrition(recipe);
+        for (MealSlotRow row : rows) {
+            BigDecimal protein = orZero(row.protein());
+            BigDecimal carbs = orZero(row.carbs());
+            BigDecimal fat = orZero(row.fat());
 
             MealSlotDetailResponse slotResponse = MealSlotDetailResponse.builder()
-                    .mealSlotId(mealSlot.getId())
-                    .mealPlanId(mealPlan.getId())
-                    .recipeId(recipe.getRecipeId())
-                    .title(recipe.getTitle())
-                    .imageUrl(recipe.getImageUrl())
-                    .calories(recipe.getCalories())
+                    .mealSlotId(row.mealSlotId())
+                    .mealPlanId(row.mealPlanId())
+                    .recipeId(row.recipeId())
+                    .title(row.title())
+                    .imageUrl(row.imageUrl())
+                    .calories(row.calories())
                     .nutrition(NutritionDetailResponse.builder()
-                            .protein(nutrition.getOrDefault("protein", BigDecimal.ZERO))
-                            .carbs(nutrition.getOrDefault("carbs", BigDecimal.ZERO))
-                            .fat(nutrition.getOrDefault("fat", BigDecimal.ZERO))
+                            .protein(protein)
+                            .carbs(carbs)
+                            .fat(fat)
                             .build())
-                    .consumed(mealSlot.getConsumed())
-                    .consumedAt(mealSlot.getConsumedAt())
+                    .consumed(row.consumed())
+                    .consumedAt(row.consumedAt())
                     .build();
 
             slots.add(slotResponse);
 
-            if (recipe.getCalories() != null) {
-                totalCalories = totalCalories.add(recipe.getCalories());
-            }
-            totalProtein = totalProtein.add(nutrition.getOrDefault("protein", BigDecimal.ZERO));
-            totalCarbs = totalCarbs.add(nutrition.getOrDefault("carbs", BigDecimal.ZERO));
-            totalFat = totalFat.add(nutrition.getOrDefault("fat", BigDecimal.ZERO));
+            totalCalories = totalCalories.add(orZero(row.calories()));
+            totalProtein = totalProtein.add(protein);
+            totalCarbs = totalCarbs.add(carbs);
+            totalFat = totalFat.add(fat);
         }
 
         response.setSlots(slots);
@@ -528,76 +539,121 @@ public class MealPlanServiceImpl implements MealPlanService {
             UpdateMealSlotRecipeRequest request) {
         log.info("Updating meal slot: {} for user: {} with recipe: {}", mealSlotId, userId, request.getRecipeId());
 
-        MealSlot mealSlot = mealSlotRepository.findById(mealSlotId)
-                .orElseThrow(() -> new AppException(ErrorCode.NOT_FOUND, "Meal slot not found"));
+        UpdatedMealSlotResponse response = swapRecipes(userId, Map.of(mealSlotId, request.getRecipeId())).get(0);
+        log.info("Meal slot {} updated successfully with recipe {}", mealSlotId, request.getRecipeId());
 
-        MealDay mealDay = mealSlot.getMealDay();
-        MealPlan mealPlan = mealDay.getMealPlan();
+        return response;
+    }
 
-        if (!mealPlan.getUser().getUserId().equals(userId)) {
-            log.warn("Unauthorized access attempt: user {} trying to update slot of user {}",
-                    userId, mealPlan.getUser().getUserId());
-            throw new AppException(ErrorCode.FORBIDDEN);
+    @Override
+    @Transactional
+    public List<UpdatedMealSlotResponse> updateMealSlotRecipes(Long userId, UpdateMealSlotsRequest request) {
+        Map<Long, Long> recipeIdBySlotId = new LinkedHashMap<>();
+        for (UpdateMealSlotsRequest.SlotRecipe change : request.getSlots()) {
+            if (recipeIdBySlotId.put(change.getMealSlotId(), change.getRecipeId()) != null) {
+                throw new AppException(ErrorCode.INVALID_REQUEST,
+                        "Meal slot " + change.getMealSlotId() + " is listed more than once");
+            }
         }
+        log.info("Updating {} meal slots for user: {}", recipeIdBySlotId.size(), userId);
 
-        Recipe newRecipe = recipeRepository.findById(request.getRecipeId())
-                .orElseThrow(() -> new AppException(ErrorCode.RECIPE_NOT_FOUND));
-
-        mealSlot.setRecipe(newRecipe);
-        MealSlot updatedMealSlot = mealSlotRepository.save(mealSlot);
-        log.info("Meal slot {} updated successfully with recipe {}", mealSlotId, request.getRecipeId());
-
-        NutritionSummaryResponse dayNutrition = calculateDayNutritionSummary(mealDay);
-
-        Map<String, BigDecimal> recipeNutrition = calculateRecipeNutrition(newRecipe);
-
-        UpdatedMealSlotResponse response = UpdatedMealSlotResponse.builder()
-                .mealSlotId(updatedMealSlot.getId())
-                .date(mealDay.getDate().toString())
-                .mealType(updatedMealSlot.getType())
-                .recipe(UpdatedMealSlotResponse.RecipeDetailResponse.builder()
-                        .recipeId(newRecipe.getRecipeId())
-                        .title(newRecipe.getTitle())
-                        .imageUrl(newRecipe.getImageUrl())
-                        .calories(newRecipe.getCalories())
-                        .nutrition(NutritionSummaryResponse.builder()
-                                .protein(recipeNutrition.getOrDefault("protein", BigDecimal.ZERO))
-                                .carbs(recipeNutrition.getOrDefault("carbs", BigDecimal.ZERO))
-                                .fat(recipeNutrition.getOrDefault("fat", BigDecimal.ZERO))
-                                .totalCalories(
-                                        newRecipe.getCalories() != null ? newRecipe.getCalories() : BigDecimal.ZERO)
-                                .build())
-                        .build())
-                .nutritionSummaryOfDay(dayNutrition)
-                .build();
-
-        return response;
+        return swapRecipes(userId, recipeIdBySlotId);
     }
 
-    private NutritionSummaryResponse calculateDayNutritionSummary(MealDay mealDay) {
-        BigDecimal totalCalories = BigDecimal.ZERO;
-        BigDecimal totalProtein = BigDecimal.ZERO;
-        BigDecimal totalCarbs = BigDecimal.ZERO;
-        BigDecimal totalFat = BigDecimal.ZERO;
+    /**
+     * Point each slot at its new recipe and move the day totals by (new - old) stored macros.
+     * Responses follow the request order and all carry the final totals of their day.
+     */
+    private List<UpdatedMealSlotResponse> swapRecipes(Long userId, Map<Long, Long> recipeIdBySlotId) {
+        Map<Long, MealSlot> slotsById = new HashMap<>();
+        for (MealSlot slot : mealSlotRepository.findAllWithDayAndRecipeByIdIn(recipeIdBySlotId.keySet())) {
+            slotsById.put(slot.getId(), slot);
+        }
+        for (Long mealSlotId : recipeIdBySlotId.keySet()) {
+            MealSlot slot = slotsById.get(mealSlotId);
+            if (slot == null) {
+                throw new AppException(ErrorCode.NOT_FOUND, "Meal slot not found");
+            }
+            Long ownerId = slot.getMealDay().getMealPlan().getUser().getUserId();
+            if (!ownerId.equals(userId)) {
+                log.warn("Unauthorized access attempt: user {} trying to update slot of user {}", userId, ownerId);
+                throw new AppException(ErrorCode.FORBIDDEN);
+            }
+        }
 
-        for (MealSlot mealSlot : mealDay.getMealSlots()) {
-            Recipe recipe = mealSlot.getRecipe();
+        Map<Long, Recipe> recipesById = new HashMap<>();
+        for (Recipe recipe : recipeRepository.findAllById(new HashSet<>(recipeIdBySlotId.values()))) {
+            recipesById.put(recipe.getRecipeId(), recipe);
+        }
+        if (!recipesById.keySet().containsAll(recipeIdBySlotId.values())) {
+            throw new AppException(ErrorCode.RECIPE_NOT_FOUND);
+        }
 
-            if (recipe.getCalories() != null) {
-                totalCalories = totalCalories.add(recipe.getCalories());
+        // Bring every touched day up to date before any slot moves, so the sums see the old recipes
+        for (MealSlot slot : slotsById.values()) {
+            MealDay mealDay = slot.getMealDay();
+            if (mealDay.getTotalCalories() == null) {
+                initDayTotals(mealDay);
             }
+        }
 
-            Map<String, BigDecimal> nutrition = calculateRecipeNutrition(recipe);
-            totalProtein = totalProtein.add(nutrition.getOrDefault("protein", BigDecimal.ZERO));
-            totalCarbs = totalCarbs.add(nutrition.getOrDefault("carbs", BigDecimal.ZERO));
-            totalFat = totalFat.add(nutrition.getOrDefault("fat", BigDecimal.ZERO));
+        for (Map.Entry<Long, Long> change : recipeIdBySlotId.entrySet()) {
+            MealSlot slot = slotsById.get(change.getKey());
+            Recipe newRecipe = recipesById.get(change.getValue());
+            adjustDayTotals(slot.getMealDay(), slot.getRecipe(), newRecipe);
+            slot.setRecipe(newRecipe);
         }
 
-        return NutritionSummaryResponse.builder()
-                .totalCalories(totalCalories)
-                .protein(totalProtein)
-                .carbs(totalCarbs)
-                .fat(totalFat)
-                .build();
+        List<UpdatedMealSlotResponse> responses = new ArrayList<>();
+        for (Long mealSlotId : recipeIdBySlotId.keySet()) {
+            MealSlot slot = slotsById.get(mealSlotId);
+            MealDay mealDay = slot.getMealDay();
+            Recipe recipe = slot.getRecipe();
+            Map<String, BigDecimal> recipeNutrition = CalculateCalories.getStoredMacros(recipe);
+
+            responses.add(UpdatedMealSlotResponse.builder()
+                    .mealSlotId(slot.getId())
+                    .date(mealDay.getDate().toString())
+                    .mealType(slot.getType())
+                    .recipe(UpdatedMealSlotResponse.RecipeDetailResponse.builder()
+                            .recipeId(recipe.getRecipeId())
+                            .title(recipe.getTitle())
+                            .imageUrl(recipe.getImageUrl())
+                            .calories(recipe.getCalories())
+                            .nutrition(NutritionSummaryResponse.builder()
+                                    .protein(recipeNutrition.getOrDefault("protein", BigDecimal.ZERO))
+                                    .carbs(recipeNutrition.getOrDefault("carbs", BigDecimal.ZERO))
+                                    .fat(recipeNutrition.getOrDefault("fat", BigDecimal.ZERO))
+                                    .totalCalories(orZero(recipe.getCalories()))
+                                    .build())
+                            .build())
+                    .nutritionSummaryOfDay(NutritionSummaryResponse.builder()
+                            .totalCalories(mealDay.getTotalCalories())
+                            .protein(mealDay.getTotalProtein())
+                            .carbs(mealDay.getTotalCarbs())
+                            .fat(mealDay.getTotalFat())
+                            .build())
+                    .build());
+        }
+        return responses;
+    }
+
+    private void initDayTotals(MealDay mealDay) {
+        Object[] sums = mealSlotRepository.sumStoredNutritionByMealDayId(mealDay.getId()).get(0);
+        mealDay.setTotalCalories(orZero((BigDecimal) sums[0]));
+        mealDay.setTotalProtein(orZero((BigDecimal) sums[1]));
+        mealDay.setTotalCarbs(orZero((BigDecimal) sums[2]));
+        mealDay.setTotalFat(orZero((BigDecimal) sums[3]));
+    }
+
+    private static void adjustDayTotals(MealDay mealDay, Recipe oldRecipe, Recipe newRecipe) {
+        mealDay.setTotalCalories(mealDay.getTotalCalories()
+                .subtract(orZero(oldRecipe.getCalories())).add(orZero(newRecipe.getCalories())));
+        mealDay.setTotalProtein(mealDay.getTotalProtein()
+                .subtract(orZero(oldRecipe.getProtein())).add(orZero(newRecipe.getProtein())));
+        mealDay.setTotalCarbs(mealDay.getTotalCarbs()
+                .subtract(orZero(oldRecipe.getCarbs())).add(orZero(newRecipe.getCarbs())));
+        mealDay.setTotalFat(mealDay.getTotalFat()
+                .subtract(orZero(oldRecipe.getFat())).add(orZero(newRecipe.getFat())));
     }
 }
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.project.mealplan.common.enums.ActivityLevel;
 import com.project.mealplan.common.enums.ErrorCode;
 import com.project.mealplan.common.exception.AppException;
+import com.project.mealplan.common.util.CalculateCalories;
 import com.project.mealplan.common.util.NutritionCalculator;
 import com.project.mealplan.dtos.nutrition.request.LogFoodRequest;
 import com.project.mealplan.dtos.nutrition.request.SetNutritionGoalRequest;
@@ -26,13 +28,10 @@ import com.project.mealplan.dtos.nutrition.response.NutritionGoalResponse;
 import com.project.mealplan.dtos.nutrition.response.WeeklyNutritionSummaryResponse;
 import com.project.mealplan.entity.DailyNutritionLog;
 import com.project.mealplan.entity.FoodLog;
-import com.project.mealplan.entity.Ingredient;
-import com.project.mealplan.entity.IngredientNutrition;
 import com.project.mealplan.entity.MealDay;
 import com.project.mealplan.entity.MealSlot;
 import com.project.mealplan.entity.NutritionGoal;
 import com.project.mealplan.entity.Recipe;
-import com.project.mealplan.entity.RecipeIngredient;
 import com.project.mealplan.entity.User;
 import com.project.mealplan.dtos.nutrition.response.MealConsumedResponse;
 import com.project.mealplan.repository.DailyNutritionLogRepository;
@@ -60,6 +59,8 @@ public class NutritionTrackingServiceImpl implements NutritionTrackingService {
         private final FoodLogRepository foodLogRepository;
         private final RecipeRepository recipeRepository;
 
+        private static final int MAX_SUMMARY_DAYS = 366;
+
         @Override
         @Transactional
         public NutritionGoalResponse setNutritionGoal(Long userId, SetNutritionGoalRequest request) {
@@ -132,46 +133,24 @@ public class NutritionTrackingServiceImpl implements NutritionTrackingService {
                 // Get or calculate daily nutrition
                 Map<String, BigDecimal> consumed = calculateDailyConsumed(userId, date);
 
-                // Get goals (or use defaults)
-                NutritionGoalResponse goals = getNutritionGoal(userId);
-                if (goals == null) {
-                        try {
-                                goals = calculateDefaultGoal(userId);
-                        } catch (AppException e) {
-                                // Profile incomplete, use zero goals
-                                goals = NutritionGoalResponse.builder()
-                                                .dailyCalories(BigDecimal.ZERO)
-                                                .dailyProtein(BigDecimal.ZERO)
-                                                .dailyCarbs(BigDecimal.ZERO)
-                                                .dailyFat(BigDecimal.ZERO)
-                                                .build();
-                        }
-                }
-
-                return DailyNutritionResponse.builder()
-                                .date(date)
-                                .consumedCalories(consumed.get("calories"))
-                                .consumedProtein(consumed.get("protein"))
-                                .consumedCarbs(consumed.get("carbs"))
-                                .consumedFat(consumed.get("fat"))
-                                .goalCalories(goals.getDailyCalories())
-                                .goalProtein(goals.getDailyProtein())
-                                .goalCarbs(goals.getDailyCarbs())
-                                .goalFat(goals.getDailyFat())
-                                .caloriesProgress(NutritionCalculator.calculateProgress(
-                                                consumed.get("calories"), goals.getDailyCalories()))
-                                .proteinProgress(NutritionCalculator.calculateProgress(
-                                                consumed.get("protein"), goals.getDailyProtein()))
-                                .carbsProgress(NutritionCalculator.calculateProgress(
-                                                consumed.get("carbs"), goals.getDailyCarbs()))
-                                .fatProgress(NutritionCalculator.calculateProgress(
-                                                consumed.get("fat"), goals.getDailyFat()))
-                                .build();
+                return mapToDailyNutritionResponse(date, consumed, resolveGoals(userId));
         }
 
         @Override
         public WeeklyNutritionSummaryResponse getWeeklyNutritionSummary(Long userId, LocalDate startDate) {
-                LocalDate endDate = startDate.plusDays(6);
+                return getNutritionSummary(userId, startDate, startDate.plusDays(6));
+        }
+
+        @Override
+        public WeeklyNutritionSummaryResponse getNutritionSummary(Long userId, LocalDate startDate, LocalDate endDate) {
+                if (endDate.isBefore(startDate) || ChronoUnit.DAYS.between(startDate, endDate) >= MAX_SUMMARY_DAYS) {
+                        throw new AppException(ErrorCode.INVALID_DATE_RANGE,
+                                        "End date must be on or after start date and within " + MAX_SUMMARY_DAYS + " days");
+                }
+
+                Map<LocalDate, Map<String, BigDecimal>> consumedByDate = calculateConsumedRange(userId, startDate,
+                                endDate);
+                NutritionGoalResponse goals = resolveGoals(userId);
 
                 List<DailyNutritionResponse> dailyData = new ArrayList<>();
                 BigDecimal totalCalories = BigDecimal.ZERO;
@@ -181,11 +160,11 @@ public class NutritionTrackingServiceImpl implements NutritionTrackingService {
                 int daysWithData = 0;
 
                 for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-                        DailyNutritionResponse dailyNutrition = getDailyNutrition(userId, date);
+                        Map<String, BigDecimal> consumed = consumedByDate.getOrDefault(date, zeroNutrition());
+                        DailyNutritionResponse dailyNutrition = mapToDailyNutritionResponse(date, consumed, goals);
                         dailyData.add(dailyNutrition);
 
-                        if (dailyNutrition.getConsumedCalories() != null &&
-                                        dailyNutrition.getConsumedCalories().compareTo(BigDecimal.ZERO) > 0) {
+                        if (dailyNutrition.getConsumedCalories().compareTo(BigDecimal.ZERO) > 0) {
                                 totalCalories = totalCalories.add(dailyNutrition.getConsumedCalories());
                                 totalProtein = totalProtein.add(dailyNutrition.getConsumedProtein());
                                 totalCarbs = totalCarbs.add(dailyNutrition.getConsumedCarbs());
@@ -201,21 +180,6 @@ public class NutritionTrackingServiceImpl implements NutritionTrackingService {
                 BigDecimal avgCarbs = totalCarbs.divide(divisor, 2, RoundingMode.HALF_UP);
                 BigDecimal avgFat = totalFat.divide(divisor, 2, RoundingMode.HALF_UP);
 
-                // Get goals for reference
-                NutritionGoalResponse goals = getNutritionGoal(userId);
-                if (goals == null) {
-                        try {
-                                goals = calculateDefaultGoal(userId);
-                        } catch (AppException e) {
-                                goals = NutritionGoalResponse.builder()
-                                                .dailyCalories(BigDecimal.ZERO)
-                                                .dailyProtein(BigDecimal.ZERO)
-                                                .dailyCarbs(BigDecimal.ZERO)
-                                                .dailyFat(BigDecimal.ZERO)
-                                                .build();
-                        }
-                }
-
                 return WeeklyNutritionSummaryResponse.builder()
                                 .startDate(startDate)
                                 .endDate(endDate)
@@ -242,112 +206,124 @@ public class NutritionTrackingServiceImpl implements NutritionTrackingService {
         // ==================== Private Helper Methods ====================
 
         private Map<String, BigDecimal> calculateDailyConsumed(Long userId, LocalDate date) {
-                Map<String, BigDecimal> result = new HashMap<>();
-                result.put("calories", BigDecimal.ZERO);
-                result.put("protein", BigDecimal.ZERO);
-                result.put("carbs", BigDecimal.ZERO);
-                result.put("fat", BigDecimal.ZERO);
-
-                // Check if we have cached data
-                Optional<DailyNutritionLog> cachedLog = dailyNutritionLogRepository
+                // Totals are maintained incrementally by the food log writes
+                Optional<DailyNutritionLog> dayLog = dailyNutritionLogRepository
                                 .findByUser_UserIdAndDate(userId, date);
 
-                if (cachedLog.isPresent()) {
-                        DailyNutritionLog log = cachedLog.get();
-                        result.put("calories",
-                                        log.getTotalCalories() != null ? log.getTotalCalories() : BigDecimal.ZERO);
-                        result.put("protein", log.getTotalProtein() != null ? log.getTotalProtein() : BigDecimal.ZERO);
-                        result.put("carbs", log.getTotalCarbs() != null ? log.getTotalCarbs() : BigDecimal.ZERO);
-                        result.put("fat", log.getTotalFat() != null ? log.getTotalFat() : BigDecimal.ZERO);
-                        return result;
+                if (dayLog.isEmpty()) {
+                        // Day not written since totals became incremental: build it once from the food logs
+                        dailyNutritionLogRepository.initializeFromFoodLogs(userId, date,
+                                        date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+                        dayLog = dailyNutritionLogRepository.findByUser_UserIdAndDate(userId, date);
                 }
 
-                // Calculate from Food Logs only (includes both ad-hoc and consumed meal plan
-                // entries)
-                // Note: Consumed meals from meal plan now create FoodLog entries automatically
-                BigDecimal totalCalories = BigDecimal.ZERO;
-                BigDecimal totalProtein = BigDecimal.ZERO;
-                BigDecimal totalCarbs = BigDecimal.ZERO;
-                BigDecimal totalFat = BigDecimal.ZERO;
+                return dayLog
+                                .map(d -> nutritionMap(d.getTotalCalories(), d.getTotalProtein(), d.getTotalCarbs(),
+                                                d.getTotalFat()))
+                                .orElseGet(NutritionTrackingServiceImpl::zeroNutrition);
+        }
 
-                LocalDateTime startOfDay = date.atStartOfDay();
-                LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-                // Use exclusive end query to avoid boundary issues (>= startOfDay AND <
-                // endOfDay)
-                List<FoodLog> foodLogs = foodLogRepository
-                                .findByUser_UserIdAndConsumeDateGreaterThanEqualAndConsumeDateLessThanOrderByConsumeDateAsc(
-                                                userId,
-                                                startOfDay, endOfDay);
+        /**
+         * Make sure the day row exists before one of its food logs is added or removed,
+         * so the following delta applies on top of the correct totals.
+         */
+        private void prepareDailyTotals(Long userId, LocalDate date) {
+                dailyNutritionLogRepository.initializeFromFoodLogs(userId, date,
+                                date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        }
 
-                for (FoodLog foodLog : foodLogs) {
-                        Recipe recipe = foodLog.getRecipe();
-                        BigDecimal quantity = foodLog.getQuantity() != null ? foodLog.getQuantity() : BigDecimal.ONE;
+        // Add (positive quantity) or remove (negative quantity) a food log's nutrition from the day row
+        private void applyDailyTotalsDelta(Long userId, LocalDate date, Recipe recipe, BigDecimal quantity) {
+                Map<String, BigDecimal> nutrition = CalculateCalories.getStoredMacros(recipe);
+                BigDecimal calories = recipe.getCalories() != null ? recipe.getCalories() : BigDecimal.ZERO;
 
-                        if (recipe.getCalories() != null) {
-                                totalCalories = totalCalories.add(recipe.getCalories().multiply(quantity));
-                        }
+                dailyNutritionLogRepository.applyDelta(userId, date,
+                                calories.multiply(quantity),
+                                nutrition.get("protein").multiply(quantity),
+                                nutrition.get("carbs").multiply(quantity),
+                                nutrition.get("fat").multiply(quantity));
+        }
 
-                        Map<String, BigDecimal> nutrition = calculateRecipeNutrition(recipe);
-                        totalProtein = totalProtein
-                                        .add(nutrition.getOrDefault("protein", BigDecimal.ZERO).multiply(quantity));
-                        totalCarbs = totalCarbs
-                                        .add(nutrition.getOrDefault("carbs", BigDecimal.ZERO).multiply(quantity));
-                        totalFat = totalFat.add(nutrition.getOrDefault("fat", BigDecimal.ZERO).multiply(quantity));
+        /**
+         * Consumed nutrition for every day of the range with data: stored day rows first,
+         * then one grouped food log query for the days without a row. Nothing is written.
+         */
+        private Map<LocalDate, Map<String, BigDecimal>> calculateConsumedRange(Long userId, LocalDate startDate,
+                        LocalDate endDate) {
+                Map<LocalDate, Map<String, BigDecimal>> result = new HashMap<>();
+                for (DailyNutritionLog dayLog : dailyNutritionLogRepository
+                                .findByUser_UserIdAndDateBetweenOrderByDateAsc(userId, startDate, endDate)) {
+                        result.put(dayLog.getDate(), nutritionMap(dayLog.getTotalCalories(), dayLog.getTotalProtein(),
+                                        dayLog.getTotalCarbs(), dayLog.getTotalFat()));
                 }
 
-                // Cache the result
-                User user = userRepository.findById(userId).orElse(null);
-                if (user != null) {
-                        DailyNutritionLog logEntry = DailyNutritionLog.builder()
-                                        .user(user)
-                                        .date(date)
-                                        .totalCalories(totalCalories)
-                                        .totalProtein(totalProtein)
-                                        .totalCarbs(totalCarbs)
-                                        .totalFat(totalFat)
-                                        .build();
-                        dailyNutritionLogRepository.save(logEntry);
+                long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+                if (result.size() < days) {
+                        for (Object[] row : foodLogRepository.sumNutritionByDay(userId,
+                                        startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay())) {
+                                LocalDate date = row[0] instanceof java.sql.Date sqlDate
+                                                ? sqlDate.toLocalDate()
+                                                : (LocalDate) row[0];
+                                result.putIfAbsent(date, nutritionMap((BigDecimal) row[1], (BigDecimal) row[2],
+                                                (BigDecimal) row[3], (BigDecimal) row[4]));
+                        }
                 }
-
-                result.put("calories", totalCalories);
-                result.put("protein", totalProtein);
-                result.put("carbs", totalCarbs);
-                result.put("fat", totalFat);
-
                 return result;
         }
 
-        private Map<String, BigDecimal> calculateRecipeNutrition(Recipe recipe) {
-                Map<String, BigDecimal> nutrition = new HashMap<>();
-                BigDecimal protein = BigDecimal.ZERO;
-                BigDecimal carbs = BigDecimal.ZERO;
-                BigDecimal fat = BigDecimal.ZERO;
-
-                for (RecipeIngredient ri : recipe.getIngredients()) {
-                        Ingredient ingredient = ri.getIngredient();
-                        Double quantity = ri.getQuantity() != null ? ri.getQuantity() : 100.0;
-
-                        for (IngredientNutrition in : ingredient.getNutritions()) {
-                                String nutritionName = in.getNutritionType().getName().toLowerCase();
-                                BigDecimal amount = in.getAmountPer100g()
-                                                .multiply(BigDecimal.valueOf(quantity))
-                                                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-
-                                if (nutritionName.contains("protein")) {
-                                        protein = protein.add(amount);
-                                } else if (nutritionName.contains("carb")) {
-                                        carbs = carbs.add(amount);
-                                } else if (nutritionName.contains("fat")) {
-                                        fat = fat.add(amount);
-                                }
-                        }
+        // User's goals, falling back to profile based defaults, or zeros when the profile is incomplete
+        private NutritionGoalResponse resolveGoals(Long userId) {
+                NutritionGoalResponse goals = getNutritionGoal(userId);
+                if (goals != null) {
+                        return goals;
+                }
+                try {
+                        return calculateDefaultGoal(userId);
+                } catch (AppException e) {
+                        return NutritionGoalResponse.builder()
+                                        .dailyCalories(BigDecimal.ZERO)
+                                        .dailyProtein(BigDecimal.ZERO)
+                                        .dailyCarbs(BigDecimal.ZERO)
+                                        .dailyFat(BigDecimal.ZERO)
+                                        .build();
                 }
+        }
 
-                nutrition.put("protein", protein);
-                nutrition.put("carbs", carbs);
-                nutrition.put("fat", fat);
+        private static Map<String, BigDecimal> nutritionMap(BigDecimal calories, BigDecimal protein,
+                        BigDecimal carbs, BigDecimal fat) {
+                Map<String, BigDecimal> result = new HashMap<>();
+                result.put("calories", calories != null ? calories : BigDecimal.ZERO);
+                result.put("protein", protein != null ? protein : BigDecimal.ZERO);
+                result.put("carbs", carbs != null ? carbs : BigDecimal.ZERO);
+                result.put("fat", fat != null ? fat : BigDecimal.ZERO);
+                return result;
+        }
 
-                return nutrition;
+        private static Map<String, BigDecimal> zeroNutrition() {
+                return nutritionMap(null, null, null, null);
+        }
+
+        private DailyNutritionResponse mapToDailyNutritionResponse(LocalDate date, Map<String, BigDecimal> consumed,
+                        NutritionGoalResponse goals) {
+                return DailyNutritionResponse.builder()
+                                .date(date)
+                                .consumedCalories(consumed.get("calories"))
+                                .consumedProtein(consumed.get("protein"))
+                                .consumedCarbs(consumed.get("carbs"))
+                                .consumedFat(consumed.get("fat"))
+                                .goalCalories(goals.getDailyCalories())
+                                .goalProtein(goals.getDailyProtein())
+                                .goalCarbs(goals.getDailyCarbs())
+                                .goalFat(goals.getDailyFat())
+                                .caloriesProgress(NutritionCalculator.calculateProgress(
+                                                consumed.get("calories"), goals.getDailyCalories()))
+                                .proteinProgress(NutritionCalculator.calculateProgress(
+                                                consumed.get("protein"), goals.getDailyProtein()))
+                                .carbsProgress(NutritionCalculator.calculateProgress(
+                                                consumed.get("carbs"), goals.getDailyCarbs()))
+                                .fatProgress(NutritionCalculator.calculateProgress(
+                                                consumed.get("fat"), goals.getDailyFat()))
+                                .build();
         }
 
         private NutritionGoalResponse mapToNutritionGoalResponse(NutritionGoal goal) {
@@ -397,6 +373,7 @@ public class NutritionTrackingServiceImpl implements NutritionTrackingService {
                 LocalDate date = mealDate;
 
                 if (isNowConsumed && !wasConsumed) {
+                        prepareDailyTotals(userId, date);
                         FoodLog foodLog = FoodLog.builder()
                                         .user(user)
                                         .recipe(recipe)
@@ -406,20 +383,21 @@ public class NutritionTrackingServiceImpl implements NutritionTrackingService {
                                         .mealSlotId(mealSlotId)
                                         .build();
                         foodLogRepository.save(foodLog);
+                        applyDailyTotalsDelta(userId, date, recipe, foodLog.getQuantity());
                         log.info("Created FoodLog for meal slot {} (recipe: {})", mealSlotId, recipe.getTitle());
                 } else if (!isNowConsumed && wasConsumed) {
                         // Delete FoodLog entry when un-marking
                         foodLogRepository.findByMealSlotIdAndUser_UserId(mealSlotId, userId)
                                         .ifPresent(foodLog -> {
+                                                LocalDate logDate = foodLog.getConsumeDate().toLocalDate();
+                                                prepareDailyTotals(userId, logDate);
                                                 foodLogRepository.delete(foodLog);
+                                                applyDailyTotalsDelta(userId, logDate, foodLog.getRecipe(),
+                                                                quantityOf(foodLog).negate());
                                                 log.info("Deleted FoodLog for meal slot {}", mealSlotId);
                                         });
                 }
 
-                // Invalidate cached nutrition log for this date
-                dailyNutritionLogRepository.findByUser_UserIdAndDate(userId, date)
-                                .ifPresent(dailyNutritionLogRepository::delete);
-
                 log.info("User {} marked meal slot {} as consumed={}", userId, mealSlotId, isNowConsumed);
 
                 return MealConsumedResponse.builder()
@@ -444,6 +422,9 @@ public class NutritionTrackingServiceImpl implements NutritionTrackingService {
                 Recipe recipe = recipeRepository.findById(request.getRecipeId())
                                 .orElseThrow(() -> new AppException(ErrorCode.RECIPE_NOT_FOUND));
 
+                LocalDate date = request.getConsumeDate().toLocalDate();
+                prepareDailyTotals(userId, date);
+
                 FoodLog foodLog = FoodLog.builder()
                                 .user(user)
                                 .recipe(recipe)
@@ -452,11 +433,7 @@ public class NutritionTrackingServiceImpl implements NutritionTrackingService {
                                 .build();
 
                 FoodLog saved = foodLogRepository.save(foodLog);
-
-                // Invalidate cached nutrition log for this date
-                LocalDate date = request.getConsumeDate().toLocalDate();
-                dailyNutritionLogRepository.findByUser_UserIdAndDate(userId, date)
-                                .ifPresent(dailyNutritionLogRepository::delete);
+                applyDailyTotalsDelta(userId, date, recipe, saved.getQuantity());
 
                 log.info("User {} logged food: recipe={}, date={}, quantity={}",
                                 userId, recipe.getTitle(), request.getConsumeDate(), saved.getQuantity());
@@ -529,23 +506,29 @@ public class NutritionTrackingServiceImpl implements NutritionTrackingService {
                                         });
                 }
 
+                if (foodLog != null) {
+                        prepareDailyTotals(userId, logDate);
+                }
+
                 foodLogRepository.deleteById(foodLogId);
 
-                // Invalidate cached nutrition log for this date
-                if (logDate != null) {
-                        dailyNutritionLogRepository.findByUser_UserIdAndDate(userId, logDate)
-                                        .ifPresent(dailyNutritionLogRepository::delete);
+                if (foodLog != null) {
+                        applyDailyTotalsDelta(userId, logDate, foodLog.getRecipe(), quantityOf(foodLog).negate());
                 }
 
                 log.info("User {} deleted food log {}", userId, foodLogId);
         }
 
+        private static BigDecimal quantityOf(FoodLog foodLog) {
+                return foodLog.getQuantity() != null ? foodLog.getQuantity() : BigDecimal.ONE;
+        }
+
         private FoodLogResponse mapToFoodLogResponse(FoodLog foodLog) {
                 Recipe recipe = foodLog.getRecipe();
-                BigDecimal quantity = foodLog.getQuantity() != null ? foodLog.getQuantity() : BigDecimal.ONE;
+                BigDecimal quantity = quantityOf(foodLog);
 
                 // Calculate nutrition based on quantity
-                Map<String, BigDecimal> nutrition = calculateRecipeNutrition(recipe);
+                Map<String, BigDecimal> nutrition = CalculateCalories.getStoredMacros(recipe);
                 BigDecimal calories = recipe.getCalories() != null
                                 ? recipe.getCalories().multiply(quantity)
                                 : BigDecimal.ZERO;
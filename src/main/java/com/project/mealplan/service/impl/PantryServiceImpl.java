@@ -1,17 +1,27 @@
 package com.project.mealplan.service.impl;
 
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.project.mealplan.common.enums.ErrorCode;
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.common.enums.RecipeStatus;
 import com.project.mealplan.common.exception.AppException;
+import com.project.mealplan.dtos.ingredient.response.IngredientListItemResponse;
 import com.project.mealplan.dtos.pantry.request.PantryItemRequest;
 import com.project.mealplan.dtos.pantry.response.PantryItemResponse;
+import com.project.mealplan.dtos.pantry.response.PantryRecipeMatchResponse;
+import com.project.mealplan.dtos.recipe.response.RecipeShortResponse;
 import com.project.mealplan.entity.Ingredient;
 import com.project.mealplan.entity.Pantry;
 import com.project.mealplan.entity.PantryItem;
@@ -21,6 +31,9 @@ import com.project.mealplan.repository.PantryItemRepository;
 import com.project.mealplan.repository.PantryRepository;
 import com.project.mealplan.repository.UserRepository;
 import com.project.mealplan.service.PantryService;
+import com.project.mealplan.service.catalog.RecipeIngredientIndex;
+import com.project.mealplan.service.catalog.RecipeSnapshot;
+import com.project.mealplan.service.catalog.RecipeSuggestionCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,6 +45,10 @@ public class PantryServiceImpl implements PantryService {
     private final PantryItemRepository pantryItemRepository;
     private final UserRepository userRepository;
     private final IngredientRepository ingredientRepository;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final RecipeSuggestionCache recipeSuggestionCache;
+
+    private static final int MAX_COOKABLE_RESULTS = 100;
 
     @Transactional
     public List<PantryItemResponse> getPantryItemsByUserId(Long userId) {
@@ -70,6 +87,7 @@ public class PantryServiceImpl implements PantryService {
         }
 
         PantryItem savedItem = pantryItemRepository.save(item);
+        recipeSuggestionCache.invalidate(userId);
         return mapToResponse(savedItem);
     }
 
@@ -86,6 +104,7 @@ public class PantryServiceImpl implements PantryService {
         if (request.getQuantity() <= 0) {
             pantry.getItems().remove(item);
             pantryItemRepository.delete(item);
+            recipeSuggestionCache.invalidate(userId);
             return null;
         }
 
@@ -95,6 +114,7 @@ public class PantryServiceImpl implements PantryService {
         }
 
         PantryItem savedItem = pantryItemRepository.save(item);
+        recipeSuggestionCache.invalidate(userId);
         return mapToResponse(savedItem);
     }
 
@@ -110,6 +130,60 @@ public class PantryServiceImpl implements PantryService {
 
         pantry.getItems().remove(item);
         pantryItemRepository.delete(item);
+        recipeSuggestionCache.invalidate(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PantryRecipeMatchResponse> findCookableRecipes(Long userId, double minCoverage, MealType mealType,
+            int limit) {
+        if (minCoverage < 0 || minCoverage > 1) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "minCoverage must be between 0 and 1");
+        }
+        int pageSize = Math.min(limit <= 0 ? 20 : limit, MAX_COOKABLE_RESULTS);
+
+        Set<Long> owned = new HashSet<>(pantryItemRepository.findStockedIngredientIdsByUserId(userId));
+        if (owned.isEmpty()) {
+            return List.of();
+        }
+
+        List<RecipeIngredientIndex.Match> matches = recipeIngredientIndex.match(owned, minCoverage, mealType);
+        matches = matches.subList(0, Math.min(pageSize, matches.size()));
+
+        Map<RecipeIngredientIndex.Match, List<Long>> missingByMatch = new LinkedHashMap<>();
+        Set<Long> missingIds = new HashSet<>();
+        for (RecipeIngredientIndex.Match match : matches) {
+            List<Long> missing = RecipeIngredientIndex.missing(
+                    recipeIngredientIndex.ingredientsOf(match.recipe().recipeId()), owned);
+            missingByMatch.put(match, missing);
+            missingIds.addAll(missing);
+        }
+
+        // One lookup for the names of every missing ingredient on the page
+        Map<Long, IngredientListItemResponse> ingredients = ingredientRepository.findAllById(missingIds).stream()
+                .collect(Collectors.toMap(Ingredient::getId, i -> new IngredientListItemResponse(
+                        i.getId(),
+                        i.getName(),
+                        i.getType() != null ? i.getType().toString() : null)));
+
+        return missingByMatch.entrySet().stream()
+                .map(e -> {
+                    RecipeIngredientIndex.Match match = e.getKey();
+                    RecipeSnapshot recipe = match.recipe();
+                    return new PantryRecipeMatchResponse(
+                            new RecipeShortResponse(
+                                    recipe.recipeId(),
+                                    recipe.title(),
+                                    recipe.imageUrl(),
+                                    RecipeStatus.PUBLISHED,
+                                    recipe.categories(),
+                                    recipe.cookingTimeMinutes(),
+                                    recipe.calories()),
+                            match.matched(),
+                            match.total(),
+                            match.coverage(),
+                            e.getValue().stream().map(ingredients::get).filter(Objects::nonNull).toList());
+                })
+                .toList();
     }
 
     private Pantry getOrCreatePantry(Long userId) {
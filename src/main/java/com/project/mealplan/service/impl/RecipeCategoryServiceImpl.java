@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 
 import com.project.mealplan.common.enums.ErrorCode;
+import com.project.mealplan.common.enums.RecipeStatus;
 import com.project.mealplan.common.exception.AppException;
 import com.project.mealplan.dtos.recipeCategory.request.createCategoryRequest;
 import com.project.mealplan.dtos.recipeCategory.request.updateCategoryRequest;
@@ -12,7 +13,10 @@ import com.project.mealplan.dtos.recipeCategory.response.RecipeCategoryDto;
 import com.project.mealplan.dtos.recipeCategory.response.RecipeCategoryDtoConverter;
 import com.project.mealplan.entity.RecipeCategory;
 import com.project.mealplan.repository.RecipeCategoryRepository;
+import com.project.mealplan.repository.RecipeRepository;
 import com.project.mealplan.service.RecipeCategoryService;
+import com.project.mealplan.service.catalog.RecipeCatalog;
+import com.project.mealplan.service.catalog.RecipeDetailCache;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +26,10 @@ import lombok.RequiredArgsConstructor;
 public class RecipeCategoryServiceImpl implements RecipeCategoryService {
 	private final RecipeCategoryRepository recipeCategoryRepository;
     private final RecipeCategoryDtoConverter converter;
+    private final RecipeSearchIndexer recipeSearchIndexer;
+    private final RecipeDetailCache recipeDetailCache;
+    private final RecipeRepository recipeRepository;
+    private final RecipeCatalog recipeCatalog;
 
     @Override
     public List<RecipeCategoryDto> getAllCategories(){
@@ -62,6 +70,11 @@ public class RecipeCategoryServiceImpl implements RecipeCategoryService {
 
         category.setName(newName);
         RecipeCategory updatedCategory = recipeCategoryRepository.save(category);
+        recipeSearchIndexer.onCategoryRenamed(updatedCategory.getId());
+        recipeDetailCache.invalidateAll();
+        // Catalog snapshots (and the facet index built from them) carry category names
+        recipeRepository.findByStatusAndCategoryId(RecipeStatus.PUBLISHED, updatedCategory.getId())
+                .forEach(recipeCatalog::onRecipeSaved);
         return converter.convert(updatedCategory);
     }
 
@@ -0,0 +1,69 @@
+package com.project.mealplan.service.impl;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-off copy of recipes.description/instructions into recipe_contents for databases created
+ * before the split. Only the copy runs here: it is idempotent and safe under live traffic, and
+ * the old columns stay in place so an older build can still be rolled back to. Drop them by hand
+ * with docs/sql/drop_recipe_inline_content.sql once the copy is verified. On a migrated or fresh
+ * database this is a no-op.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeContentMigration {
+
+    private static final String INLINE_COLUMNS = """
+            SELECT column_name FROM information_schema.columns
+            WHERE table_schema = current_schema() AND table_name = 'recipes'
+              AND column_name IN ('description', 'instructions')
+            """;
+
+    // %1$s / %2$s: the inline column, or NULL when it was already dropped
+    private static final String MOVE_CONTENT = """
+            WITH src AS (
+                SELECT recipe_id, %1$s AS description, %2$s AS instructions,
+                       nextval(pg_get_serial_sequence('recipe_contents', 'id')) AS content_id
+                FROM recipes
+                WHERE content_id IS NULL AND (%1$s IS NOT NULL OR %2$s IS NOT NULL)
+            ), moved AS (
+                INSERT INTO recipe_contents (id, description, instructions)
+                SELECT content_id, description, instructions FROM src
+            )
+            UPDATE recipes r SET content_id = src.content_id
+            FROM src
+            WHERE r.recipe_id = src.recipe_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Before RecipeSearchIndexer, whose search document reads the description from recipe_contents
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void migrate() {
+        List<String> inlineColumns = jdbcTemplate.queryForList(INLINE_COLUMNS, String.class);
+        if (inlineColumns.isEmpty()) {
+            return;
+        }
+        String description = inlineColumns.contains("description") ? "description" : "NULL";
+        String instructions = inlineColumns.contains("instructions") ? "instructions" : "NULL";
+        int moved = jdbcTemplate.update(MOVE_CONTENT.formatted(description, instructions));
+        if (moved > 0) {
+            log.info("Copied {} of {} recipes to recipe_contents; drop the inline columns once verified",
+                    inlineColumns, moved);
+        }
+    }
+}
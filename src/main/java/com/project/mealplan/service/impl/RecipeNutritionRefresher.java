@@ -0,0 +1,90 @@
+package com.project.mealplan.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.project.mealplan.common.util.CalculateCalories;
+import com.project.mealplan.entity.Recipe;
+import com.project.mealplan.repository.DailyNutritionLogRepository;
+import com.project.mealplan.repository.MealDayRepository;
+import com.project.mealplan.repository.RecipeRepository;
+import com.project.mealplan.service.catalog.RecipeCatalog;
+import com.project.mealplan.service.catalog.RecipeDetailCache;
+import com.project.mealplan.service.event.IngredientNutritionChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the calories/protein/carbs/fat stored on recipes in sync with ingredient nutrition data.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeNutritionRefresher {
+
+    private final RecipeRepository recipeRepository;
+    private final MealDayRepository mealDayRepository;
+    private final DailyNutritionLogRepository dailyNutritionLogRepository;
+    private final RecipeCatalog recipeCatalog;
+    private final RecipeDetailCache recipeDetailCache;
+
+    /**
+     * Recompute recipes using an ingredient once the ingredient update has committed.
+     * Runs in the background so the admin request does not wait for it.
+     */
+    @Async
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onIngredientNutritionChanged(IngredientNutritionChangedEvent event) {
+        List<Long> recipeIds = recipeRepository.findIdsByIngredientId(event.ingredientId());
+        List<Long> changed = recompute(recipeIds);
+        log.info("Recomputed nutrition of {} recipes after ingredient {} changed, {} of them moved",
+                recipeIds.size(), event.ingredientId(), changed.size());
+    }
+
+    /**
+     * Fill macros for recipes stored before they were persisted (or seeded without a session).
+     * Runs before the recipe catalog is loaded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfillMissingMacros() {
+        List<Long> recipeIds = recipeRepository.findIdsWithoutStoredMacros();
+        if (!recipeIds.isEmpty()) {
+            recompute(recipeIds);
+            log.info("Backfilled stored nutrition of {} recipes", recipeIds.size());
+        }
+    }
+
+    /**
+     * @return ids of the recipes whose stored calories or macros changed
+     */
+    private List<Long> recompute(List<Long> recipeIds) {
+        List<Long> changed = new ArrayList<>();
+        for (Recipe recipe : recipeRepository.findAllById(recipeIds)) {
+            if (CalculateCalories.applyRecipeNutrition(recipe)) {
+                changed.add(recipe.getRecipeId());
+                recipeCatalog.onRecipeSaved(recipe);
+            }
+        }
+        // Day totals and details only depend on the stored values: leave untouched recipes alone
+        if (!changed.isEmpty()) {
+            mealDayRepository.clearNutritionTotalsByRecipeIds(changed);
+            dailyNutritionLogRepository.deleteByFoodLogRecipeIds(changed);
+            recipeDetailCache.invalidate(changed);
+        }
+        return changed;
+    }
+}
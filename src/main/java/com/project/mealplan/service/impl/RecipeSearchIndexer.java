@@ -0,0 +1,59 @@
+package com.project.mealplan.service.impl;
+
+import java.util.Collection;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.mealplan.repository.RecipeRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps recipes.search_vector (title, description, ingredient and category names) current.
+ * Refreshes run inside the caller's transaction after flushing it, so they see its changes
+ * and roll back with it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeSearchIndexer {
+
+    private static final String CREATE_INDEX = "CREATE INDEX IF NOT EXISTS idx_recipes_search_vector "
+            + "ON recipes USING GIN (search_vector)";
+
+    private final RecipeRepository recipeRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Create the GIN index (not expressible through JPA mappings) and index recipes stored
+     * before the search document existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        jdbcTemplate.execute(CREATE_INDEX);
+        int indexed = recipeRepository.refreshMissingSearchVectors();
+        if (indexed > 0) {
+            log.info("Built search documents for {} recipes", indexed);
+        }
+    }
+
+    public void onRecipesSaved(Collection<Long> recipeIds) {
+        if (!recipeIds.isEmpty()) {
+            recipeRepository.refreshSearchVectors(recipeIds);
+        }
+    }
+
+    public void onIngredientRenamed(Long ingredientId) {
+        recipeRepository.refreshSearchVectorsByIngredientId(ingredientId);
+    }
+
+    public void onCategoryRenamed(Long categoryId) {
+        recipeRepository.refreshSearchVectorsByCategoryId(categoryId);
+    }
+}
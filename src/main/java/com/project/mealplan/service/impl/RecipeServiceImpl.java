@@ -2,30 +2,48 @@ package com.project.mealplan.service.impl;
 
 import com.project.mealplan.common.enums.ErrorCode;
 import com.project.mealplan.common.enums.IngredientUnit;
+import com.project.mealplan.common.enums.MealType;
 import com.project.mealplan.common.enums.RecipeStatus;
 import com.project.mealplan.common.exception.AppException;
+import com.project.mealplan.common.response.ApiResponse;
+import com.project.mealplan.common.response.CursorPayLoad;
+import com.project.mealplan.common.response.PagePayLoad;
+import com.project.mealplan.common.util.KeysetCursor;
 import com.project.mealplan.dtos.recipe.request.RecipeCreateRequest;
 import com.project.mealplan.dtos.recipe.request.RecipeIngredientRequest;
 import com.project.mealplan.dtos.recipe.request.UpdateRecipeDto;
 import com.project.mealplan.dtos.recipe.request.UpdateRecipeStatus;
+import com.project.mealplan.dtos.recipe.response.RecipeBrowseResponse;
 import com.project.mealplan.dtos.recipe.response.RecipeResponseDto;
 import com.project.mealplan.dtos.recipe.response.RecipeShortResponse;
 import com.project.mealplan.dtos.recipe.DeleteRecipesDto;
 import com.project.mealplan.dtos.mealplan.response.NutritionDetailResponse;
 import com.project.mealplan.entity.Ingredient;
-import com.project.mealplan.entity.IngredientNutrition;
 import com.project.mealplan.entity.Recipe;
 import com.project.mealplan.entity.RecipeCategory;
 import com.project.mealplan.entity.RecipeIngredient;
 import com.project.mealplan.entity.User;
+import com.project.mealplan.repository.DailyNutritionLogRepository;
 import com.project.mealplan.repository.IngredientRepository;
-import com.project.mealplan.repository.PantryRepository;
+import com.project.mealplan.repository.MealDayRepository;
+import com.project.mealplan.repository.PantryItemRepository;
+import com.project.mealplan.repository.RecipeCard;
 import com.project.mealplan.repository.RecipeCategoryRepository;
 import com.project.mealplan.repository.RecipeRepository;
 import com.project.mealplan.repository.UserRepository;
+import com.project.mealplan.repository.spec.KeysetSpecifications;
 import com.project.mealplan.repository.spec.RecipeSpecifications;
 import com.project.mealplan.security.CurrentUser;
 import com.project.mealplan.service.RecipeService;
+import com.project.mealplan.service.catalog.RecipeCatalog;
+import com.project.mealplan.service.catalog.RecipeDetailCache;
+import com.project.mealplan.service.catalog.RecipeFacetIndex;
+import com.project.mealplan.service.catalog.RecipeScoringTable;
+import com.project.mealplan.service.catalog.RecipeSuggestionCache;
+import com.project.mealplan.service.catalog.RecipeSnapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -38,21 +56,32 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 import com.project.mealplan.common.util.CalculateCalories;
-import com.project.mealplan.common.util.CalculateRecipeScore;
 import com.project.mealplan.common.util.CalculateDailyCalories;
-import com.project.mealplan.common.util.UnitConverter;
 
 @Service
 @RequiredArgsConstructor
 public class RecipeServiceImpl implements RecipeService {
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("title", "createdAt", "recipeId");
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final RecipeRepository recipeRepository;
+    private final MealDayRepository mealDayRepository;
+    private final DailyNutritionLogRepository dailyNutritionLogRepository;
     private final IngredientRepository ingredientRepository;
     private final RecipeCategoryRepository categoryRepository;
     private final UserRepository userRepository;
-    private final PantryRepository pantryRepository;
+    private final PantryItemRepository pantryItemRepository;
+    private final RecipeCatalog recipeCatalog;
+    private final RecipeSearchIndexer recipeSearchIndexer;
+    private final RecipeDetailCache recipeDetailCache;
+    private final RecipeFacetIndex recipeFacetIndex;
+    private final RecipeSuggestionCache recipeSuggestionCache;
+    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional
@@ -114,9 +143,11 @@ public class RecipeServiceImpl implements RecipeService {
             }
         }
 
-        // calculate calories before saving
-        recipe.setCalories(CalculateCalories.computeRecipeCalories(recipe));
+        // calculate calories and macros before saving
+        CalculateCalories.applyRecipeNutrition(recipe);
         Recipe saved = recipeRepository.save(recipe);
+        recipeCatalog.onRecipeSaved(saved);
+        recipeSearchIndexer.onRecipesSaved(List.of(saved.getRecipeId()));
         return convertToDto(saved);
     }
 
@@ -271,9 +302,18 @@ public class RecipeServiceImpl implements RecipeService {
             throw new AppException(ErrorCode.VALIDATION_ERROR, "Không có thay đổi nào để lưu.");
         }
 
-        // Recalculate calories after potential ingredient/status changes
-        recipe.setCalories(CalculateCalories.computeRecipeCalories(recipe));
+        // Recalculate calories and macros after potential ingredient/status changes
+        boolean nutritionChanged = CalculateCalories.applyRecipeNutrition(recipe);
         Recipe saved = recipeRepository.save(recipe);
+        recipeCatalog.onRecipeSaved(saved);
+        recipeSearchIndexer.onRecipesSaved(List.of(saved.getRecipeId()));
+        recipeDetailCache.invalidate(List.of(saved.getRecipeId()));
+        // Maintained day totals were built from the old macros; title, image, category or status
+        // edits leave them valid
+        if (nutritionChanged) {
+            mealDayRepository.clearNutritionTotalsByRecipeIds(List.of(saved.getRecipeId()));
+            dailyNutritionLogRepository.deleteByFoodLogRecipeIds(List.of(saved.getRecipeId()));
+        }
 
         return convertToDto(saved);
     }
@@ -316,59 +356,12 @@ public class RecipeServiceImpl implements RecipeService {
     }
 
     private NutritionDetailResponse calculateNutrition(Recipe recipe) {
-        if (recipe == null || recipe.getIngredients() == null || recipe.getIngredients().isEmpty()) {
-            return NutritionDetailResponse.builder()
-                    .protein(BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP))
-                    .carbs(BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP))
-                    .fat(BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP))
-                    .build();
-        }
-
-        BigDecimal totalProtein = BigDecimal.ZERO;
-        BigDecimal totalCarbs = BigDecimal.ZERO;
-        BigDecimal totalFat = BigDecimal.ZERO;
-
-        for (RecipeIngredient ri : recipe.getIngredients()) {
-            if (ri == null || ri.getIngredient() == null || ri.getQuantity() == null)
-                continue;
-
-            Ingredient ing = ri.getIngredient();
-            BigDecimal quantityInGrams = UnitConverter.toGram(
-                    BigDecimal.valueOf(ri.getQuantity()),
-                    ri.getUnit(),
-                    ing.getDensity());
-
-            // Calculate nutrition for each type
-            for (IngredientNutrition nutrition : ing.getNutritions()) {
-                if (nutrition.getNutritionType() == null || nutrition.getAmountPer100g() == null)
-                    continue;
-
-                String nutritionName = nutrition.getNutritionType().getName().toLowerCase();
-                BigDecimal amountPer100g = nutrition.getAmountPer100g();
-                BigDecimal perGram = amountPer100g.multiply(new BigDecimal("0.01"));
-                BigDecimal amount = quantityInGrams.multiply(perGram);
-
-                switch (nutritionName) {
-                    case "protein":
-                        totalProtein = totalProtein.add(amount);
-                        break;
-                    case "carbohydrate": // Match DB value (singular)
-                    case "carbohydrates":
-                    case "carbs":
-                        totalCarbs = totalCarbs.add(amount);
-                        break;
-                    case "fat":
-                    case "fats":
-                        totalFat = totalFat.add(amount);
-                        break;
-                }
-            }
-        }
-
+        // Macros are stored on the recipe when it is created/updated, see CalculateCalories
+        Map<String, BigDecimal> macros = CalculateCalories.getStoredMacros(recipe);
         return NutritionDetailResponse.builder()
-                .protein(totalProtein.setScale(2, RoundingMode.HALF_UP))
-                .carbs(totalCarbs.setScale(2, RoundingMode.HALF_UP))
-                .fat(totalFat.setScale(2, RoundingMode.HALF_UP))
+                .protein(macros.get("protein").setScale(2, RoundingMode.HALF_UP))
+                .carbs(macros.get("carbs").setScale(2, RoundingMode.HALF_UP))
+                .fat(macros.get("fat").setScale(2, RoundingMode.HALF_UP))
                 .build();
     }
 
@@ -377,19 +370,51 @@ public class RecipeServiceImpl implements RecipeService {
         Recipe recipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.RECIPE_NOT_FOUND));
 
+        checkCanView(recipe.getStatus(), ownerIdOf(recipe), currentUser);
+        return convertToDto(recipe);
+    }
+
+    @Override
+    public RecipeDetailCache.Entry getRecipeDetailResponse(Long id, CurrentUser currentUser) {
+        RecipeDetailCache.Entry detail = recipeDetailCache.get(id, () -> {
+            Recipe recipe = recipeRepository.findById(id)
+                    .orElseThrow(() -> new AppException(ErrorCode.RECIPE_NOT_FOUND));
+
+            ApiResponse<RecipeResponseDto> body = ApiResponse.<RecipeResponseDto>builder()
+                    .status(200)
+                    .message("Recipe retrieved successfully")
+                    .data(convertToDto(recipe))
+                    .build();
+            try {
+                return new RecipeDetailCache.Loaded(recipe.getStatus(), ownerIdOf(recipe),
+                        objectMapper.writeValueAsBytes(body));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize recipe " + id, e);
+            }
+        });
+
+        checkCanView(detail.status(), detail.ownerId(), currentUser);
+        return detail;
+    }
+
+    private static Long ownerIdOf(Recipe recipe) {
+        return recipe.getCreatedBy() != null ? recipe.getCreatedBy().getUserId() : null;
+    }
+
+    private static void checkCanView(RecipeStatus status, Long ownerId, CurrentUser currentUser) {
         // ADMIN được xem mọi recipe
         if (currentUser.isAdmin()) {
-            return convertToDto(recipe);
+            return;
         }
 
         // USER: Được xem nếu recipe là PUBLISHED
-        if (recipe.getStatus() == RecipeStatus.PUBLISHED) {
-            return convertToDto(recipe);
+        if (status == RecipeStatus.PUBLISHED) {
+            return;
         }
 
         // USER: Được xem nếu là recipe của mình (kể cả DRAFT)
-        if (recipe.getCreatedBy() != null && recipe.getCreatedBy().getUserId().equals(currentUser.getId())) {
-            return convertToDto(recipe);
+        if (ownerId != null && ownerId.equals(currentUser.getId())) {
+            return;
         }
 
         // Nếu không rơi vào các trường hợp trên -> FORBIDDEN
@@ -409,6 +434,8 @@ public class RecipeServiceImpl implements RecipeService {
             throw new AppException(ErrorCode.FORBIDDEN, "Bạn không có quyền xóa công thức này");
         }
         recipeRepository.delete(recipe);
+        recipeCatalog.onRecipesDeleted(List.of(id));
+        recipeDetailCache.invalidate(List.of(id));
     }
 
     @Override
@@ -435,6 +462,9 @@ public class RecipeServiceImpl implements RecipeService {
 
         // delete all found recipes in a single transaction to ensure integrity
         recipeRepository.deleteAll(existing);
+        List<Long> deletedIds = existing.stream().map(Recipe::getRecipeId).toList();
+        recipeCatalog.onRecipesDeleted(deletedIds);
+        recipeDetailCache.invalidate(deletedIds);
 
         return existing.size();
     }
@@ -445,69 +475,163 @@ public class RecipeServiceImpl implements RecipeService {
             BigDecimal minCalories, BigDecimal maxCalories,
             Integer page, Integer size, String sortBy, String sortDir, String keyword) {
 
-        List<Long> ingredientIds = Collections.emptyList();
+        String searchQuery = RecipeSpecifications.toSearchQuery(keyword);
 
+        // With a keyword the default order is relevance, applied by the search specification
+        boolean sortByRelevance = searchQuery != null
+                && (sortBy == null || sortBy.isBlank() || "relevance".equalsIgnoreCase(sortBy.trim()));
         String sortField = (sortBy == null || sortBy.isBlank()) ? "title" : sortBy.trim();
 
         Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
         int pageSize = (size == null || size <= 0) ? 10 : size;
         int pageIndex = (page == null || page < 1) ? 0 : page - 1;
 
-        PageRequest pageable = PageRequest.of(pageIndex, pageSize, Sort.by(direction, sortField));
+        PageRequest pageable = sortByRelevance
+                ? PageRequest.of(pageIndex, pageSize)
+                : PageRequest.of(pageIndex, pageSize, Sort.by(direction, sortField));
 
-        // ===== Base filters =====
-        Specification<Recipe> spec = RecipeSpecifications.isPublicOnlyForUser(currentUser)
-                .and(RecipeSpecifications.hasStatus(status))
-                .and(RecipeSpecifications.hasCategory(category))
-                .and(RecipeSpecifications.hasMealType(mealType))
-                .and(RecipeSpecifications.cookingTimeBetween(minCookingTimeMinutes, maxCookingTimeMinutes))
-                .and(RecipeSpecifications.caloriesBetween(minCalories, maxCalories));
+        Specification<Recipe> spec = listSpecification(currentUser, status, category, mealType,
+                minCookingTimeMinutes, maxCookingTimeMinutes, minCalories, maxCalories);
+
+        // ===== Keyword search (title/description/ingredient/category names) =====
+        if (searchQuery != null) {
+            spec = spec.and(RecipeSpecifications.matchesSearch(searchQuery, sortByRelevance));
+        }
+
+        return recipeRepository.findCards(spec, pageable).map(RecipeCard::toShortResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPayLoad<RecipeShortResponse> getRecipesByCursor(CurrentUser currentUser, RecipeStatus status,
+            String category, String mealType, Integer minCookingTimeMinutes, Integer maxCookingTimeMinutes,
+            BigDecimal minCalories, BigDecimal maxCalories,
+            Integer size, String sortBy, String sortDir, String keyword, String cursor) {
+
+        String sortField = (sortBy == null || sortBy.isBlank()) ? "title" : sortBy.trim();
+        if (!CURSOR_SORT_FIELDS.contains(sortField)) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "Cursor listing cannot be sorted by " + sortField);
+        }
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        int pageSize = (size == null || size <= 0) ? 10 : Math.min(size, MAX_CURSOR_PAGE_SIZE);
 
-        // ===== Keyword search (title/description) =====
-        Specification<Recipe> keywordTextSpec = RecipeSpecifications.keywordLike(keyword);
+        Specification<Recipe> spec = listSpecification(currentUser, status, category, mealType,
+                minCookingTimeMinutes, maxCookingTimeMinutes, minCalories, maxCalories);
 
-        // ===== Keyword search (ingredient name → ingredientIds → recipe.ingredients)
-        // =====
-        Specification<Recipe> ingredientSpec = null;
+        String searchQuery = RecipeSpecifications.toSearchQuery(keyword);
+        if (searchQuery != null) {
+            spec = spec.and(RecipeSpecifications.matchesSearch(searchQuery, false));
+        }
 
-        if (keyword != null && !keyword.isBlank()) {
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor, sortField, direction);
+            spec = spec.and(switch (sortField) {
+                case "title" -> KeysetSpecifications.<Recipe, String>after("title", position.value(),
+                        "recipeId", position.id(), direction);
+                case "createdAt" -> KeysetSpecifications.<Recipe, LocalDateTime>after("createdAt",
+                        parseCursorTimestamp(position.value()), "recipeId", position.id(), direction);
+                default -> KeysetSpecifications.<Recipe, Long>after("recipeId", position.id(),
+                        "recipeId", position.id(), direction);
+            });
+        }
 
-            List<Ingredient> ingredients = ingredientRepository.findTop20ByNameContainingIgnoreCase(keyword.trim());
+        // One extra row tells whether another slice exists, without a count query
+        List<RecipeCard> rows = recipeRepository.findCards(spec,
+                KeysetSpecifications.sort(sortField, "recipeId", direction), pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<RecipeCard> slice = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            RecipeCard last = slice.get(slice.size() - 1);
+            String value = switch (sortField) {
+                case "title" -> last.title();
+                case "createdAt" -> last.createdAt().toString();
+                default -> last.recipeId().toString();
+            };
+            nextCursor = new KeysetCursor(sortField, direction, value, last.recipeId()).encode();
+        }
 
-            ingredientIds = ingredients.stream()
-                    .map(Ingredient::getId)
-                    .toList();
+        return new CursorPayLoad<>(slice.stream().map(RecipeCard::toShortResponse).toList(),
+                slice.size(), nextCursor, hasNext);
+    }
 
-            if (!ingredientIds.isEmpty()) {
-                ingredientSpec = RecipeSpecifications.hasAnyIngredientIds(ingredientIds);
+    @Override
+    public RecipeBrowseResponse browseRecipes(RecipeStatus status, String category, String mealType,
+            Integer minCookingTimeMinutes, Integer maxCookingTimeMinutes, BigDecimal minCalories,
+            BigDecimal maxCalories, Integer page, Integer size, String sortBy, String sortDir) {
+
+        RecipeFacetIndex.SortField sortField = switch ((sortBy == null || sortBy.isBlank()) ? "title" : sortBy.trim()) {
+            case "title" -> RecipeFacetIndex.SortField.TITLE;
+            case "cookingTimeMinutes" -> RecipeFacetIndex.SortField.COOKING_TIME;
+            case "calories" -> RecipeFacetIndex.SortField.CALORIES;
+            case "recipeId" -> RecipeFacetIndex.SortField.RECIPE_ID;
+            default -> throw new AppException(ErrorCode.INVALID_REQUEST, "Browse cannot be sorted by " + sortBy);
+        };
+        boolean ascending = !"desc".equalsIgnoreCase(sortDir);
+        int pageSize = (size == null || size <= 0) ? 10 : size;
+        int pageIndex = (page == null || page < 1) ? 0 : page - 1;
+
+        MealType mealTypeFilter = null;
+        if (mealType != null && !mealType.isBlank()) {
+            try {
+                mealTypeFilter = MealType.valueOf(mealType.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // same as the SQL listing: an unknown meal type does not filter
             }
         }
 
-        // ===== Merge search spec =====
-        if (keywordTextSpec != null && ingredientSpec != null) {
-            spec = spec.and(keywordTextSpec.or(ingredientSpec));
-        } else if (keywordTextSpec != null) {
-            spec = spec.and(keywordTextSpec);
-        } else if (ingredientSpec != null) {
-            spec = spec.and(ingredientSpec);
-        }
-
-        Page<Recipe> result = recipeRepository.findAll(spec, pageable);
-
-        // map đúng kiểu Page
-        return result.map(r -> new RecipeShortResponse(
-                r.getRecipeId(),
-                r.getTitle(),
-                r.getImageUrl(),
-                r.getStatus(),
-                r.getCategories().stream()
-                        .map(RecipeCategory::getName)
-                        .collect(Collectors.toSet()),
-                r.getCookingTimeMinutes(),
-                r.getCalories()));
+        RecipeFacetIndex.Result result;
+        if (status != null && status != RecipeStatus.PUBLISHED) {
+            // The index only holds the published catalog
+            result = new RecipeFacetIndex.Result(List.of(), 0, Map.of());
+        } else {
+            RecipeFacetIndex.Filter filter = new RecipeFacetIndex.Filter(mealTypeFilter, category,
+                    minCookingTimeMinutes, maxCookingTimeMinutes, minCalories, maxCalories);
+            result = recipeFacetIndex.search(filter, sortField, ascending, pageIndex * pageSize, pageSize);
+        }
+
+        int totalPages = (result.total() + pageSize - 1) / pageSize;
+        PagePayLoad<RecipeShortResponse> pagePayload = new PagePayLoad<>(
+                result.content().stream().map(this::convertToShortResponse).toList(),
+                pageIndex,
+                pageSize,
+                result.total(),
+                totalPages,
+                pageIndex == 0,
+                pageIndex + 1 >= totalPages);
+
+        return new RecipeBrowseResponse(pagePayload, result.facets());
+    }
+
+    @Override
+    public int rebuildBrowseIndex() {
+        recipeCatalog.rebuild();
+        return recipeFacetIndex.size();
+    }
+
+    private Specification<Recipe> listSpecification(CurrentUser currentUser, RecipeStatus status, String category,
+            String mealType, Integer minCookingTimeMinutes, Integer maxCookingTimeMinutes,
+            BigDecimal minCalories, BigDecimal maxCalories) {
+        return RecipeSpecifications.isPublicOnlyForUser(currentUser)
+                .and(RecipeSpecifications.hasStatus(status))
+                .and(RecipeSpecifications.hasCategory(category))
+                .and(RecipeSpecifications.hasMealType(mealType))
+                .and(RecipeSpecifications.cookingTimeBetween(minCookingTimeMinutes, maxCookingTimeMinutes))
+                .and(RecipeSpecifications.caloriesBetween(minCalories, maxCalories));
+    }
+
+    private static LocalDateTime parseCursorTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "Invalid cursor");
+        }
     }
 
     @Override
+    @Transactional
     public RecipeResponseDto updateRecipeStatus(Long id, UpdateRecipeStatus status, CurrentUser currentUser) {
         Recipe recipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.RECIPE_NOT_FOUND));
@@ -555,13 +679,19 @@ public class RecipeServiceImpl implements RecipeService {
 
         recipe.setStatus(targetStatus);
         recipe = recipeRepository.save(recipe);
+        recipeCatalog.onRecipeSaved(recipe);
+        recipeDetailCache.invalidate(List.of(recipe.getRecipeId()));
 
         return convertToDto(recipe);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<RecipeShortResponse> getSuggestionRecipes(Long userId) {
+        // A warm hit is answered from memory without a transaction or query
+        return recipeSuggestionCache.get(userId, () -> computeSuggestionRecipes(userId));
+    }
+
+    private List<RecipeShortResponse> computeSuggestionRecipes(Long userId) {
         // 1. Get user and validate
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
@@ -572,36 +702,23 @@ public class RecipeServiceImpl implements RecipeService {
         BigDecimal targetCaloriesPerMeal = dailyCalorieTarget.divide(BigDecimal.valueOf(3), RoundingMode.HALF_UP);
 
         // 3. Get user's pantry ingredients
-        Set<Long> pantryIngredientIds = getUserPantryIngredientIds(userId);
+        Set<Long> pantryIngredientIds = new HashSet<>(pantryItemRepository.findStockedIngredientIdsByUserId(userId));
 
         // 4. Get user's favorite recipe IDs
-        Set<Long> favoriteRecipeIds = user.getFavorites().stream()
-                .map(Recipe::getRecipeId)
-                .collect(Collectors.toSet());
+        Set<Long> favoriteRecipeIds = userRepository.findFavoriteRecipeIds(userId);
 
-        // 5. Get all published recipes
-        List<Recipe> publishedRecipes = recipeRepository.findAll().stream()
-                .filter(r -> r.getStatus() == RecipeStatus.PUBLISHED)
-                .collect(Collectors.toList());
+        // 5. Columnar copy of the published catalog
+        RecipeScoringTable scoringTable = recipeCatalog.getScoringTable();
 
-        if (publishedRecipes.isEmpty()) {
+        if (scoringTable.size() == 0) {
             return Collections.emptyList();
         }
 
-        // 6. Score and sort recipes
-        List<Recipe> sortedRecipes = publishedRecipes.stream()
-                .map(recipe -> {
-                    double score = CalculateRecipeScore.calculateRecipeScore(
-                            recipe,
-                            targetCaloriesPerMeal,
-                            pantryIngredientIds,
-                            favoriteRecipeIds);
-                    return new ScoredRecipe(recipe, score);
-                })
-                .sorted(Comparator.comparingDouble(ScoredRecipe::score).reversed())
-                .map(ScoredRecipe::recipe)
-                .limit(10) // Return top 10 suggestions
-                .collect(Collectors.toList());
+        // 6. Score every recipe in one pass and keep the top 10 suggestions
+        double[] scores = scoringTable.score(targetCaloriesPerMeal, pantryIngredientIds, favoriteRecipeIds);
+        List<RecipeSnapshot> sortedRecipes = Arrays.stream(scoringTable.top(scores, 10))
+                .mapToObj(scoringTable::recipe)
+                .toList();
 
         // 7. Convert to response DTOs
         return sortedRecipes.stream()
@@ -610,37 +727,16 @@ public class RecipeServiceImpl implements RecipeService {
     }
 
     /**
-     * Get ingredient IDs from user's pantry
-     */
-    private Set<Long> getUserPantryIngredientIds(Long userId) {
-        return pantryRepository.findByUser_UserId(userId)
-                .map(pantry -> pantry.getItems().stream()
-                        .map(item -> item.getIngredient().getId())
-                        .collect(Collectors.toSet()))
-                .orElse(Collections.emptySet());
-    }
-
-    /**
-     * Convert Recipe to RecipeShortResponse
+     * Convert a catalog snapshot to RecipeShortResponse
      */
-    private RecipeShortResponse convertToShortResponse(Recipe recipe) {
-        Set<String> categories = recipe.getCategories().stream()
-                .map(RecipeCategory::getName)
-                .collect(Collectors.toSet());
-
+    private RecipeShortResponse convertToShortResponse(RecipeSnapshot recipe) {
         return new RecipeShortResponse(
-                recipe.getRecipeId(),
-                recipe.getTitle(),
-                recipe.getImageUrl(),
-                recipe.getStatus(),
-                categories,
-                recipe.getCookingTimeMinutes(),
-                recipe.getCalories());
-    }
-
-    /**
-     * Helper record to hold recipe and its score
-     */
-    private record ScoredRecipe(Recipe recipe, double score) {
+                recipe.recipeId(),
+                recipe.title(),
+                recipe.imageUrl(),
+                RecipeStatus.PUBLISHED,
+                new HashSet<>(recipe.categories()),
+                recipe.cookingTimeMinutes(),
+                recipe.calories());
     }
 }
\ No newline at end of file
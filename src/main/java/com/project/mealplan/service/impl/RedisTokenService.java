@@ -1,29 +1,103 @@
 package com.project.mealplan.service.impl;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.project.mealplan.security.jwt.JwtUtil;
+
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RedisTokenService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TokenBlacklistCache tokenBlacklistCache;
+    private final JwtUtil jwtUtil;
 
     private static final String BLACKLIST_PREFIX = "blacklist:access:";
     private static final String REFRESH_PREFIX = "refresh:";
+    public static final String BLACKLIST_CHANNEL = "events:blacklist:access";
+
+    // add access token (by jti) into blacklist and tell every instance about it
+    public void blacklistToken(String jti, Duration duration) {
+        redisTemplate.opsForValue().set(BLACKLIST_PREFIX + jti, true, duration);
+        tokenBlacklistCache.add(jti);
+        stringRedisTemplate.convertAndSend(BLACKLIST_CHANNEL, jti);
+    }
+
+    // check if access token (by jti) in blacklist, the local cache answers most "no"s
+    public boolean isTokenBlacklisted(String jti) {
+        if (!tokenBlacklistCache.mightBeBlacklisted(jti)) {
+            return false;
+        }
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().get(BLACKLIST_PREFIX + jti));
+    }
+
+    // blacklist event published by any instance (including this one)
+    public void onBlacklistMessage(Message message) {
+        tokenBlacklistCache.add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
 
-    // add access token into blacklist
-    public void blacklistToken(String token, Duration duration) {
-        redisTemplate.opsForValue().set(BLACKLIST_PREFIX + token, true, duration);
+    /**
+     * Reload the local blacklist cache from Redis on startup and periodically after that,
+     * which also drops expired JTIs and recovers from missed pub/sub messages.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.jwt.blacklist-rebuild-interval:PT1H}",
+            fixedDelayString = "${app.jwt.blacklist-rebuild-interval:PT1H}")
+    public void rebuildBlacklistCache() {
+        tokenBlacklistCache.beginRebuild();
+        List<String> jtis = new ArrayList<>();
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(BLACKLIST_PREFIX + "*").count(1000).build())) {
+            keys.forEachRemaining(key -> {
+                String value = key.substring(BLACKLIST_PREFIX.length());
+                String jti = value.contains(".") ? migrateLegacyKey(key, value) : value;
+                if (jti != null) {
+                    jtis.add(jti);
+                }
+            });
+        } catch (RuntimeException e) {
+            tokenBlacklistCache.abortRebuild();
+            log.warn("Could not rebuild token blacklist cache from Redis, keeping previous state", e);
+            return;
+        }
+        tokenBlacklistCache.completeRebuild(jtis);
+        log.info("Token blacklist cache loaded with {} entries", jtis.size());
     }
 
-    // check if access token in blacklist
-    public boolean isTokenBlacklisted(String token) {
-        return Boolean.TRUE.equals(redisTemplate.opsForValue().get(BLACKLIST_PREFIX + token));
+    // entries written before blacklisting by jti are keyed by the raw token
+    private String migrateLegacyKey(String key, String token) {
+        Long ttlSeconds = redisTemplate.getExpire(key);
+        try {
+            String jti = jwtUtil.extractJti(token);
+            if (ttlSeconds != null && ttlSeconds > 0) {
+                redisTemplate.opsForValue().set(BLACKLIST_PREFIX + jti, true, Duration.ofSeconds(ttlSeconds));
+            }
+            redisTemplate.delete(key);
+            return jti;
+        } catch (JwtException e) {
+            // expired or invalid, it can no longer authenticate anyway
+            redisTemplate.delete(key);
+            return null;
+        }
     }
 
     // store refresh token with email + jti as key
@@ -50,4 +124,4 @@ public class RedisTokenService {
         String pattern = REFRESH_PREFIX + email + ":*";
         redisTemplate.keys(pattern).forEach(redisTemplate::delete);
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +22,8 @@ import com.project.mealplan.dtos.shoppinglist.response.ShoppingListResponseConve
 import com.project.mealplan.entity.*;
 import com.project.mealplan.repository.*;
 import com.project.mealplan.service.ShoppingListService;
+import com.project.mealplan.service.catalog.RecipeSuggestionCache;
+import com.project.mealplan.service.shoppinglist.ShoppingListItemBatchWriter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,10 +38,13 @@ public class ShoppingListServiceImpl implements ShoppingListService {
     private final MealPlanRepository mealPlanRepository;
     private final PantryRepository pantryRepository;
     private final PantryItemRepository pantryItemRepository;
+    private final MealSlotRepository mealSlotRepository;
     private final UserRepository userRepository;
     private final IngredientRepository ingredientRepository;
     private final ShoppingListResponseConveter shoppingListResponseConveter;
     private final ShoppingListItemResponseConverter shoppingListItemResponseConverter;
+    private final ShoppingListItemBatchWriter shoppingListItemBatchWriter;
+    private final RecipeSuggestionCache recipeSuggestionCache;
 
     @Override
     @Transactional
@@ -61,22 +67,27 @@ public class ShoppingListServiceImpl implements ShoppingListService {
             throw new AppException(ErrorCode.MEAL_PLAN_EXPIRED);
         }
 
-        // 3. Get or create user's shopping list
-        ShoppingList shoppingList = getOrCreateShoppingList(user);
+        // 3. Get or create user's shopping list, with its items and their ingredients
+        ShoppingList shoppingList = shoppingListRepository.findWithItemsByUserId(userId)
+                .orElseGet(() -> createShoppingList(user));
 
         // 4. Aggregate all ingredients from meal plan recipes
-        Map<Long, IngredientRequirement> requiredIngredients = aggregateMealPlanIngredients(mealPlan);
+        Map<Long, IngredientRequirement> requiredIngredients = aggregateMealPlanIngredients(mealPlan.getId());
 
         // 5. Get pantry items and subtract from requirements
         subtractPantryItems(userId, requiredIngredients);
 
-        // 6. Merge new items into existing shopping list
-        mergeItemsIntoShoppingList(shoppingList, requiredIngredients);
+        // 6. Merge new items into existing shopping list, existing items are flushed on commit
+        List<ShoppingListItem> newItems = mergeItemsIntoShoppingList(shoppingList, requiredIngredients);
+        shoppingListItemBatchWriter.insert(shoppingList.getId(), newItems);
 
-        ShoppingList savedList = shoppingListRepository.save(shoppingList);
-        log.info("Shopping list updated with id: {} and {} items", savedList.getId(), savedList.getItems().size());
+        ShoppingListResponse response = shoppingListResponseConveter.convert(shoppingList);
+        response.setItems(Stream.concat(response.getItems().stream(), newItems.stream()
+                .map(shoppingListItemResponseConverter::convert))
+                .toList());
+        log.info("Shopping list updated with id: {} and {} items", response.getId(), response.getItems().size());
 
-        return shoppingListResponseConveter.convert(savedList);
+        return response;
     }
 
     @Override
@@ -131,7 +142,7 @@ public class ShoppingListServiceImpl implements ShoppingListService {
         // Handle isChecked update - add to pantry if checked
         if (request.getIsChecked() != null && request.getIsChecked() && !item.getIsChecked()) {
             // Item is being marked as checked (bought) - add to pantry
-            addToPantry(userId, item);
+            addToPantry(userId, List.of(item));
 
             // Remove item from shopping list after adding to pantry
             shoppingListItemRepository.delete(item);
@@ -160,26 +171,31 @@ public class ShoppingListServiceImpl implements ShoppingListService {
     @Transactional
     public void bulkCheckItems(Long userId, List<Long> itemIds) {
         log.info("Bulk checking {} items for user {}", itemIds.size(), userId);
-        for (Long itemId : itemIds) {
-            ShoppingListItem item = shoppingListItemRepository.findByIdAndShoppingList_User_UserId(itemId, userId)
-                    .orElse(null);
-            if (item != null) {
-                addToPantry(userId, item);
-                shoppingListItemRepository.delete(item);
-            }
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        // Ids that are unknown or owned by someone else are skipped
+        List<ShoppingListItem> items = shoppingListItemRepository.findByIdInAndShoppingList_User_UserId(itemIds, userId);
+        if (items.isEmpty()) {
+            return;
         }
-        log.info("Bulk check completed for {} items", itemIds.size());
+
+        addToPantry(userId, items);
+        shoppingListItemRepository.deleteByIdInAndUserId(items.stream().map(ShoppingListItem::getId).toList(), userId);
+        log.info("Bulk check completed for {} items", items.size());
     }
 
     @Override
     @Transactional
     public void bulkDeleteItems(Long userId, List<Long> itemIds) {
         log.info("Bulk deleting {} items for user {}", itemIds.size(), userId);
-        for (Long itemId : itemIds) {
-            shoppingListItemRepository.findByIdAndShoppingList_User_UserId(itemId, userId)
-                    .ifPresent(shoppingListItemRepository::delete);
+        if (itemIds.isEmpty()) {
+            return;
         }
-        log.info("Bulk delete completed for {} items", itemIds.size());
+
+        int deleted = shoppingListItemRepository.deleteByIdInAndUserId(itemIds, userId);
+        log.info("Bulk delete completed for {} items", deleted);
     }
 
     @Override
@@ -231,24 +247,30 @@ public class ShoppingListServiceImpl implements ShoppingListService {
      */
     private ShoppingList getOrCreateShoppingList(User user) {
         return shoppingListRepository.findByUser_UserId(user.getUserId())
-                .orElseGet(() -> {
-                    ShoppingList newList = new ShoppingList();
-                    newList.setUser(user);
-                    return shoppingListRepository.save(newList);
-                });
+                .orElseGet(() -> createShoppingList(user));
+    }
+
+    private ShoppingList createShoppingList(User user) {
+        ShoppingList newList = new ShoppingList();
+        newList.setUser(user);
+        return shoppingListRepository.save(newList);
     }
 
     /**
-     * Merge new ingredient requirements into existing shopping list
+     * Merge new ingredient requirements into existing shopping list.
+     * Existing items are updated in place; items for ingredients not on the list yet are
+     * returned unsaved so they can be inserted in one batch.
      */
-    private void mergeItemsIntoShoppingList(ShoppingList shoppingList, Map<Long, IngredientRequirement> requirements) {
+    private List<ShoppingListItem> mergeItemsIntoShoppingList(ShoppingList shoppingList,
+            Map<Long, IngredientRequirement> requirements) {
         // Create a map of existing items by ingredient ID for quick lookup
         Map<Long, ShoppingListItem> existingItems = new HashMap<>();
         for (ShoppingListItem item : shoppingList.getItems()) {
             existingItems.put(item.getIngredient().getId(), item);
         }
 
-        // Add or update items
+        // Update existing items, collect the rest
+        List<IngredientRequirement> missing = new ArrayList<>();
         for (IngredientRequirement req : requirements.values()) {
             if (req.quantityInGrams.compareTo(BigDecimal.ZERO) > 0) {
                 ShoppingListItem existingItem = existingItems.get(req.ingredientId);
@@ -258,26 +280,43 @@ public class ShoppingListServiceImpl implements ShoppingListService {
                     double newQuantity = existingItem.getQuantity() + req.quantityInGrams.doubleValue();
                     existingItem.setQuantity(Math.round(newQuantity * 100.0) / 100.0);
                 } else {
-                    // Create new item
-                    Ingredient ingredient = ingredientRepository.findById(req.ingredientId)
-                            .orElseThrow(() -> new AppException(ErrorCode.INGREDIENT_NOT_FOUND));
-
-                    ShoppingListItem newItem = new ShoppingListItem();
-                    newItem.setIngredient(ingredient);
-                    newItem.setQuantity(req.quantityInGrams.setScale(2, RoundingMode.HALF_UP).doubleValue());
-                    newItem.setUnit(IngredientUnit.G);
-                    newItem.setIsChecked(false);
-                    shoppingList.addItem(newItem);
+                    missing.add(req);
                 }
             }
         }
+        if (missing.isEmpty()) {
+            return List.of();
+        }
+
+        // Resolve all new ingredients at once
+        Map<Long, Ingredient> ingredients = new HashMap<>();
+        ingredientRepository.findAllById(missing.stream().map(req -> req.ingredientId).toList())
+                .forEach(ingredient -> ingredients.put(ingredient.getId(), ingredient));
+
+        List<ShoppingListItem> newItems = new ArrayList<>(missing.size());
+        for (IngredientRequirement req : missing) {
+            Ingredient ingredient = ingredients.get(req.ingredientId);
+            if (ingredient == null) {
+                throw new AppException(ErrorCode.INGREDIENT_NOT_FOUND);
+            }
+
+            ShoppingListItem newItem = new ShoppingListItem();
+            newItem.setShoppingList(shoppingList);
+            newItem.setIngredient(ingredient);
+            newItem.setQuantity(req.quantityInGrams.setScale(2, RoundingMode.HALF_UP).doubleValue());
+            newItem.setUnit(IngredientUnit.G);
+            newItem.setIsChecked(false);
+            newItems.add(newItem);
+        }
+        return newItems;
     }
 
     /**
-     * Add shopping list item to pantry when checked as bought
+     * Add shopping list items to pantry when checked as bought.
+     * Items are merged into existing pantry items with the same ingredient and unit.
      */
-    private void addToPantry(Long userId, ShoppingListItem shoppingItem) {
-        Pantry pantry = pantryRepository.findByUser_UserId(userId)
+    private void addToPantry(Long userId, List<ShoppingListItem> shoppingItems) {
+        Pantry pantry = pantryRepository.findWithItemsByUserId(userId)
                 .orElseGet(() -> {
                     User user = userRepository.findById(userId)
                             .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
@@ -286,63 +325,59 @@ public class ShoppingListServiceImpl implements ShoppingListService {
                     return pantryRepository.save(newPantry);
                 });
 
-        // Check if ingredient already exists in pantry with same unit
-        Optional<PantryItem> existingPantryItem = pantry.getItems().stream()
-                .filter(item -> item.getIngredient().getId().equals(shoppingItem.getIngredient().getId())
-                        && item.getUnit() == shoppingItem.getUnit())
-                .findFirst();
-
-        if (existingPantryItem.isPresent()) {
-            // Add to existing pantry item
-            PantryItem pantryItem = existingPantryItem.get();
-            pantryItem.setQuantity(pantryItem.getQuantity() + shoppingItem.getQuantity());
-            pantryItemRepository.save(pantryItem);
-        } else {
-            // Create new pantry item
-            PantryItem newPantryItem = new PantryItem();
-            newPantryItem.setPantry(pantry);
-            newPantryItem.setIngredient(shoppingItem.getIngredient());
-            newPantryItem.setQuantity(shoppingItem.getQuantity());
-            newPantryItem.setUnit(shoppingItem.getUnit());
-            newPantryItem.setExpiresAt(LocalDate.now().plusDays(7)); // Default expiry: 7 days
-            pantry.getItems().add(newPantryItem);
-            pantryItemRepository.save(newPantryItem);
+        Map<PantryKey, PantryItem> pantryItems = new HashMap<>();
+        for (PantryItem item : pantry.getItems()) {
+            pantryItems.putIfAbsent(new PantryKey(item.getIngredient().getId(), item.getUnit()), item);
         }
 
-        log.info("Added ingredient {} to pantry: {} {}",
-                shoppingItem.getIngredient().getName(),
-                shoppingItem.getQuantity(),
-                shoppingItem.getUnit());
+        List<PantryItem> newPantryItems = new ArrayList<>();
+        for (ShoppingListItem shoppingItem : shoppingItems) {
+            PantryKey key = new PantryKey(shoppingItem.getIngredient().getId(), shoppingItem.getUnit());
+            PantryItem pantryItem = pantryItems.get(key);
+
+            if (pantryItem != null) {
+                // Add to existing pantry item
+                pantryItem.setQuantity(pantryItem.getQuantity() + shoppingItem.getQuantity());
+            } else {
+                // Create new pantry item
+                PantryItem newPantryItem = new PantryItem();
+                newPantryItem.setPantry(pantry);
+                newPantryItem.setIngredient(shoppingItem.getIngredient());
+                newPantryItem.setQuantity(shoppingItem.getQuantity());
+                newPantryItem.setUnit(shoppingItem.getUnit());
+                newPantryItem.setExpiresAt(LocalDate.now().plusDays(7)); // Default expiry: 7 days
+                pantry.getItems().add(newPantryItem);
+                newPantryItems.add(newPantryItem);
+                pantryItems.put(key, newPantryItem);
+            }
+
+            log.info("Added ingredient {} to pantry: {} {}",
+                    shoppingItem.getIngredient().getName(),
+                    shoppingItem.getQuantity(),
+                    shoppingItem.getUnit());
+        }
+        pantryItemRepository.saveAll(newPantryItems);
+        recipeSuggestionCache.invalidate(userId);
     }
 
     /**
-     * Aggregate all ingredients from meal plan recipes
+     * Aggregate all ingredients from meal plan recipes. The database sums quantities per
+     * (ingredient, unit), so only one unit conversion is needed per group.
      */
-    private Map<Long, IngredientRequirement> aggregateMealPlanIngredients(MealPlan mealPlan) {
-        Map<Long, IngredientRequirement> requirements = new HashMap<>();
-
-        for (MealDay day : mealPlan.getMealDays()) {
-            for (MealSlot slot : day.getMealSlots()) {
-                Recipe recipe = slot.getRecipe();
-                Double slotQuantity = slot.getQuantity() != null ? slot.getQuantity() : 1.0;
-
-                for (RecipeIngredient ri : recipe.getIngredients()) {
-                    Long ingredientId = ri.getIngredient().getId();
-                    BigDecimal density = ri.getIngredient().getDensity();
-                    BigDecimal quantityInGrams = UnitConverter.toGram(
-                            BigDecimal.valueOf(ri.getQuantity() * slotQuantity),
-                            ri.getUnit(),
-                            density);
-
-                    requirements.compute(ingredientId, (id, existing) -> {
-                        if (existing == null) {
-                            return new IngredientRequirement(ingredientId, quantityInGrams);
-                        }
-                        existing.quantityInGrams = existing.quantityInGrams.add(quantityInGrams);
-                        return existing;
-                    });
+    private Map<Long, IngredientRequirement> aggregateMealPlanIngredients(Long mealPlanId) {
+        Map<Long, IngredientRequirement> requirements = new LinkedHashMap<>();
+
+        for (Object[] row : mealSlotRepository.sumIngredientQuantitiesByMealPlanId(mealPlanId)) {
+            Long ingredientId = (Long) row[0];
+            BigDecimal quantityInGrams = toGram(row);
+
+            requirements.compute(ingredientId, (id, existing) -> {
+                if (existing == null) {
+                    return new IngredientRequirement(ingredientId, quantityInGrams);
                 }
-            }
+                existing.quantityInGrams = existing.quantityInGrams.add(quantityInGrams);
+                return existing;
+            });
         }
 
         return requirements;
@@ -352,25 +387,33 @@ public class ShoppingListServiceImpl implements ShoppingListService {
      * Subtract pantry items from required ingredients
      */
     private void subtractPantryItems(Long userId, Map<Long, IngredientRequirement> requirements) {
-        pantryRepository.findByUser_UserId(userId).ifPresent(pantry -> {
-            for (PantryItem pantryItem : pantry.getItems()) {
-                Long ingredientId = pantryItem.getIngredient().getId();
-                IngredientRequirement req = requirements.get(ingredientId);
-
-                if (req != null) {
-                    BigDecimal density = pantryItem.getIngredient().getDensity();
-                    BigDecimal pantryQuantityInGrams = UnitConverter.toGram(
-                            BigDecimal.valueOf(pantryItem.getQuantity()),
-                            pantryItem.getUnit(),
-                            density);
-                    req.quantityInGrams = req.quantityInGrams.subtract(pantryQuantityInGrams);
-                }
+        if (requirements.isEmpty()) {
+            return;
+        }
+
+        for (Object[] row : pantryItemRepository.sumQuantitiesByUserAndIngredientIds(userId, requirements.keySet())) {
+            IngredientRequirement req = requirements.get((Long) row[0]);
+            if (req != null) {
+                req.quantityInGrams = req.quantityInGrams.subtract(toGram(row));
             }
-        });
+        }
+    }
+
+    /**
+     * Convert an aggregated [ingredientId, density, unit, quantity] row to grams.
+     */
+    private static BigDecimal toGram(Object[] row) {
+        return UnitConverter.toGram(
+                BigDecimal.valueOf(((Number) row[3]).doubleValue()),
+                (IngredientUnit) row[2],
+                (BigDecimal) row[1]);
     }
 
     // =============== Inner Classes ===============
 
+    private record PantryKey(Long ingredientId, IngredientUnit unit) {
+    }
+
     private static class IngredientRequirement {
         Long ingredientId;
         BigDecimal quantityInGrams;
@@ -0,0 +1,59 @@
+package com.project.mealplan.service.impl;
+
+import java.util.Collection;
+
+import org.springframework.stereotype.Component;
+
+import com.project.mealplan.common.util.BloomFilter;
+
+/**
+ * In-process negative cache of blacklisted access token JTIs, checked before Redis.
+ *
+ * A "no" from {@link #mightBeBlacklisted(String)} is definite and lets callers skip Redis;
+ * a "yes" must be confirmed against Redis, which stays the source of truth. Until the first
+ * successful load from Redis every JTI is reported as possibly blacklisted.
+ */
+@Component
+public class TokenBlacklistCache {
+
+    private static final int EXPECTED_TOKENS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private volatile BloomFilter current;
+    private BloomFilter rebuilding;
+
+    public boolean mightBeBlacklisted(String jti) {
+        BloomFilter filter = current;
+        return filter == null || filter.mightContain(jti);
+    }
+
+    public synchronized void add(String jti) {
+        if (current != null) {
+            current.put(jti);
+        }
+        if (rebuilding != null) {
+            rebuilding.put(jti);
+        }
+    }
+
+    /**
+     * Start collecting into a fresh filter. JTIs added until {@link #completeRebuild(Collection)}
+     * go into both filters, so nothing published during the Redis scan is lost.
+     */
+    public synchronized void beginRebuild() {
+        rebuilding = new BloomFilter(EXPECTED_TOKENS, FALSE_POSITIVE_RATE);
+    }
+
+    public synchronized void completeRebuild(Collection<String> jtis) {
+        if (rebuilding == null) {
+            return;
+        }
+        jtis.forEach(rebuilding::put);
+        current = rebuilding;
+        rebuilding = null;
+    }
+
+    public synchronized void abortRebuild() {
+        rebuilding = null;
+    }
+}
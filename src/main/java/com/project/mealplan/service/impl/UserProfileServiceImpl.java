@@ -6,18 +6,25 @@ import com.project.mealplan.common.enums.ErrorCode;
 import com.project.mealplan.common.exception.AppException;
 import com.project.mealplan.entity.Role;
 import com.project.mealplan.entity.User;
+import com.project.mealplan.repository.RecipeRepository;
 import com.project.mealplan.repository.UserRepository;
 import com.project.mealplan.service.UserProfileService;
+import com.project.mealplan.service.catalog.RecipeDetailCache;
+import com.project.mealplan.service.catalog.RecipeSuggestionCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserProfileServiceImpl implements UserProfileService {
         private final UserRepository userRepository;
+        private final RecipeRepository recipeRepository;
+        private final RecipeSuggestionCache recipeSuggestionCache;
+        private final RecipeDetailCache recipeDetailCache;
 
         @Override
         @Transactional
@@ -25,6 +32,8 @@ public class UserProfileServiceImpl implements UserProfileService {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
 
+                boolean renamed = !Objects.equals(user.getFullName(), request.getFullName());
+
                 // Update all profile fields without null checks
                 user.setFullName(request.getFullName());
                 user.setAge(request.getAge());
@@ -38,6 +47,11 @@ public class UserProfileServiceImpl implements UserProfileService {
                 user.setProfilePicUrl(request.getProfilePicUrl());
 
                 userRepository.save(user);
+                recipeSuggestionCache.invalidate(userId);
+                if (renamed) {
+                        // Cached recipe details show the author's name
+                        recipeDetailCache.invalidate(recipeRepository.findIdsByCreatedByUserId(userId));
+                }
         }
 
         @Override
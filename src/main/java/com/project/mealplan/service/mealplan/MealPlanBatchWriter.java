@@ -0,0 +1,129 @@
+package com.project.mealplan.service.mealplan;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import com.project.mealplan.common.enums.MealType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes generated weekly plans with one JDBC batch per table (meal_plans, meal_days,
+ * meal_slots) instead of cascading entity inserts row by row. Joins the surrounding
+ * transaction, so callers decide the commit boundary.
+ */
+@Component
+@RequiredArgsConstructor
+public class MealPlanBatchWriter {
+
+    private static final String INSERT_PLAN = "INSERT INTO meal_plans (user_id, start_date, end_date, goal, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_DAY = "INSERT INTO meal_days (meal_plan_id, date) VALUES (?, ?)";
+    private static final String INSERT_SLOT = "INSERT INTO meal_slots (meal_day_id, type, recipe_id, quantity, consumed) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record PlannedSlot(MealType type, Long recipeId) {
+    }
+
+    /**
+     * @param days one entry per day starting at weekStart, each with that day's slots
+     */
+    public record PlannedWeek(Long userId, LocalDate weekStart, String goal, List<List<PlannedSlot>> days) {
+    }
+
+    private record DayRow(Long planId, LocalDate date, List<PlannedSlot> slots) {
+    }
+
+    private record SlotRow(Long dayId, PlannedSlot slot) {
+    }
+
+    public void insert(List<PlannedWeek> weeks) {
+        if (weeks.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> planIds = insertReturningIds(INSERT_PLAN, weeks.size(), (ps, i) -> {
+            PlannedWeek week = weeks.get(i);
+            ps.setLong(1, week.userId());
+            ps.setDate(2, Date.valueOf(week.weekStart()));
+            ps.setDate(3, Date.valueOf(week.weekStart().plusDays(week.days().size() - 1L)));
+            ps.setString(4, week.goal());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+
+        List<DayRow> days = new ArrayList<>();
+        for (int i = 0; i < weeks.size(); i++) {
+            PlannedWeek week = weeks.get(i);
+            for (int d = 0; d < week.days().size(); d++) {
+                days.add(new DayRow(planIds.get(i), week.weekStart().plusDays(d), week.days().get(d)));
+            }
+        }
+        List<Long> dayIds = insertReturningIds(INSERT_DAY, days.size(), (ps, i) -> {
+            ps.setLong(1, days.get(i).planId());
+            ps.setDate(2, Date.valueOf(days.get(i).date()));
+        });
+
+        List<SlotRow> slots = new ArrayList<>();
+        for (int i = 0; i < days.size(); i++) {
+            for (PlannedSlot slot : days.get(i).slots()) {
+                slots.add(new SlotRow(dayIds.get(i), slot));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SLOT, setter(slots.size(), (ps, i) -> {
+            SlotRow row = slots.get(i);
+            ps.setLong(1, row.dayId());
+            ps.setString(2, row.slot().type().name());
+            ps.setLong(3, row.slot().recipeId());
+            ps.setDouble(4, 1.0);
+            ps.setBoolean(5, false);
+        }));
+    }
+
+    private List<Long> insertReturningIds(String sql, int size, RowSetter rowSetter) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, new String[] { "id" }),
+                setter(size, rowSetter), keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != size) {
+            throw new IllegalStateException("Expected " + size + " generated keys but got " + keys.size());
+        }
+        return keys.stream().map(key -> ((Number) key.get("id")).longValue()).toList();
+    }
+
+    private static BatchPreparedStatementSetter setter(int size, RowSetter rowSetter) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                rowSetter.set(ps, i);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return size;
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int i) throws SQLException;
+    }
+}
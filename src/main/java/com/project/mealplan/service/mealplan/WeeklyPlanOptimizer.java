@@ -0,0 +1,303 @@
+package com.project.mealplan.service.mealplan;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.service.catalog.RecipeScoringTable;
+import com.project.mealplan.service.catalog.RecipeSnapshot;
+
+/**
+ * Anytime improvement of a weekly plan by simulated annealing over the whole week, starting from
+ * the greedy picks of {@link WeeklyRecipeSelector}.
+ *
+ * The objective is the sum of the picks' base scores, minus the selector's variety penalties
+ * (reuse and recent-use decay, with the same hard limit per meal type), minus the squared relative
+ * miss of each day's calories and macros against the daily targets. Moves either replace the
+ * recipe of one slot or swap two days of a meal type, and are evaluated incrementally on primitive
+ * arrays. The best plan seen is returned when the wall-clock budget runs out, so it is never worse
+ * than the greedy one. Instances are single-use and not thread-safe.
+ */
+public final class WeeklyPlanOptimizer {
+
+    public static final double CALORIE_WEIGHT = 8.0; // 10% off the daily calories costs 0.08
+    public static final double MACRO_WEIGHT = 2.0; // per macro
+
+    private static final double START_TEMPERATURE = 0.5;
+    private static final double END_TEMPERATURE = 0.002;
+    private static final double SWAP_PROBABILITY = 0.3;
+    private static final int TOP_CANDIDATES = 64; // Half the replacements are drawn from the best base scores
+    private static final int CLOCK_CHECK_INTERVAL = 256;
+
+    /**
+     * Daily targets; a target that is not positive is ignored.
+     */
+    public record DailyTargets(double calories, double protein, double carbs, double fat) {
+    }
+
+    private final RecipeScoringTable table;
+    private final double[] scores;
+    private final double[] targets;
+    private final double[] weights = { CALORIE_WEIGHT, MACRO_WEIGHT, MACRO_WEIGHT, MACRO_WEIGHT };
+    private final Random random;
+
+    private final MealType[] mealTypes = MealType.values();
+    private final int days;
+    private final int[][] plan; // [meal type][day] -> row, -1 when empty
+    private final int[] uses; // per row; partitions are disjoint so rows identify (meal type, recipe)
+    private final double[][] dayTotals; // [day][calories, protein, carbs, fat]
+    private final int[][] topRows; // per meal type, best base scores first
+
+    /**
+     * @param scores base score of every row of the table, as given to the selector
+     */
+    public WeeklyPlanOptimizer(RecipeScoringTable table, double[] scores, DailyTargets targets, int days,
+            Random random) {
+        this.table = table;
+        this.scores = scores;
+        this.targets = new double[] { targets.calories(), targets.protein(), targets.carbs(), targets.fat() };
+        this.random = random;
+        this.days = days;
+        plan = new int[mealTypes.length][days];
+        uses = new int[table.size()];
+        dayTotals = new double[days][4];
+        topRows = new int[mealTypes.length][];
+        for (MealType mealType : mealTypes) {
+            topRows[mealType.ordinal()] = topRows(mealType);
+        }
+    }
+
+    /**
+     * Refine the plan for at most the given time.
+     *
+     * @param initial picks per [day][meal type ordinal], null for an empty slot
+     * @return the best plan found, in the same layout
+     */
+    public WeeklyRecipeSelector.Pick[][] improve(WeeklyRecipeSelector.Pick[][] initial, Duration budget) {
+        load(initial);
+        int[] movable = movableMealTypes();
+        if (movable.length == 0 || budget.isZero() || budget.isNegative()) {
+            return initial;
+        }
+
+        double current = objective();
+        double best = current;
+        int[][] bestPlan = copyPlan();
+
+        long start = System.nanoTime();
+        long budgetNanos = budget.toNanos();
+        double temperature = START_TEMPERATURE;
+        for (long iteration = 0;; iteration++) {
+            if (iteration % CLOCK_CHECK_INTERVAL == 0) {
+                double progress = (double) (System.nanoTime() - start) / budgetNanos;
+                if (progress >= 1.0) {
+                    break;
+                }
+                temperature = START_TEMPERATURE * Math.pow(END_TEMPERATURE / START_TEMPERATURE, progress);
+            }
+
+            int type = movable[random.nextInt(movable.length)];
+            double delta = random.nextDouble() < SWAP_PROBABILITY
+                    ? trySwap(type, random.nextInt(days), random.nextInt(days), temperature)
+                    : tryReplace(type, random.nextInt(days), candidate(type), temperature);
+            if (Double.isNaN(delta)) {
+                continue;
+            }
+            current += delta;
+            if (current > best + 1e-9) {
+                best = current;
+                bestPlan = copyPlan();
+            }
+        }
+
+        WeeklyRecipeSelector.Pick[][] result = new WeeklyRecipeSelector.Pick[days][mealTypes.length];
+        for (int t = 0; t < mealTypes.length; t++) {
+            for (int d = 0; d < days; d++) {
+                int row = bestPlan[t][d];
+                result[d][t] = row >= 0 ? new WeeklyRecipeSelector.Pick(table.recipe(row), scores[row]) : null;
+            }
+        }
+        return result;
+    }
+
+    // Moves return the accepted objective change, or NaN when the move was not made
+
+    private double tryReplace(int type, int day, int row, double temperature) {
+        int old = plan[type][day];
+        if (old < 0 || row == old || uses[row] >= WeeklyRecipeSelector.MAX_USES_PER_MEAL_TYPE) {
+            return Double.NaN;
+        }
+
+        double before = variety(type, old) + variety(type, row) + dayCost(day);
+        set(type, day, row);
+        double after = variety(type, old) + variety(type, row) + dayCost(day);
+        double delta = scores[row] - scores[old] - (after - before);
+        if (accept(delta, temperature)) {
+            return delta;
+        }
+        set(type, day, old);
+        return Double.NaN;
+    }
+
+    private double trySwap(int type, int dayA, int dayB, double temperature) {
+        int a = plan[type][dayA];
+        int b = plan[type][dayB];
+        if (a < 0 || b < 0 || a == b) {
+            return Double.NaN;
+        }
+
+        double before = variety(type, a) + variety(type, b) + dayCost(dayA) + dayCost(dayB);
+        set(type, dayA, b);
+        set(type, dayB, a);
+        double after = variety(type, a) + variety(type, b) + dayCost(dayA) + dayCost(dayB);
+        double delta = before - after;
+        if (accept(delta, temperature)) {
+            return delta;
+        }
+        set(type, dayA, a);
+        set(type, dayB, b);
+        return Double.NaN;
+    }
+
+    private boolean accept(double delta, double temperature) {
+        return delta >= 0 || random.nextDouble() < Math.exp(delta / temperature);
+    }
+
+    private int candidate(int type) {
+        MealType mealType = mealTypes[type];
+        int[] top = topRows[type];
+        if (random.nextBoolean()) {
+            return top[random.nextInt(top.length)];
+        }
+        return table.offset(mealType) + random.nextInt(table.partitions().get(mealType).size());
+    }
+
+    private void set(int type, int day, int row) {
+        int old = plan[type][day];
+        if (old >= 0) {
+            uses[old]--;
+            addNutrition(day, old, -1.0);
+        }
+        plan[type][day] = row;
+        if (row >= 0) {
+            uses[row]++;
+            addNutrition(day, row, 1.0);
+        }
+    }
+
+    private void addNutrition(int day, int row, double sign) {
+        double calories = table.calories(row);
+        double[] totals = dayTotals[day];
+        totals[0] += sign * (Double.isNaN(calories) ? 0.0 : calories);
+        totals[1] += sign * table.protein(row);
+        totals[2] += sign * table.carbs(row);
+        totals[3] += sign * table.fat(row);
+    }
+
+    /**
+     * Squared relative miss of the day's totals, weighted per nutrient.
+     */
+    private double dayCost(int day) {
+        double cost = 0.0;
+        for (int k = 0; k < targets.length; k++) {
+            if (targets[k] > 0) {
+                double miss = (dayTotals[day][k] - targets[k]) / targets[k];
+                cost += weights[k] * miss * miss;
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Penalty the greedy selector would charge over the week for using the row in this meal type:
+     * the reuse penalty for every repeated use, and the recent-use decay for every pair of uses
+     * at most {@link WeeklyRecipeSelector#RECENT_USE_WINDOW} days apart.
+     */
+    private double variety(int type, int row) {
+        double penalty = 0.0;
+        int count = 0;
+        int[] slots = plan[type];
+        for (int d = 0; d < slots.length; d++) {
+            if (slots[d] != row) {
+                continue;
+            }
+            penalty += count * WeeklyRecipeSelector.BASE_REPETITION_PENALTY;
+            count++;
+            for (int daysAgo = 1; daysAgo <= WeeklyRecipeSelector.RECENT_USE_WINDOW && daysAgo <= d; daysAgo++) {
+                if (slots[d - daysAgo] == row) {
+                    penalty += WeeklyRecipeSelector.RECENT_USE_PENALTY * Math.pow(0.5, daysAgo - 1);
+                }
+            }
+        }
+        return penalty;
+    }
+
+    private double objective() {
+        double value = 0.0;
+        for (int t = 0; t < mealTypes.length; t++) {
+            for (int d = 0; d < days; d++) {
+                int row = plan[t][d];
+                if (row < 0) {
+                    continue;
+                }
+                value += scores[row];
+                // Count each distinct row once: at its first day
+                int first = 0;
+                while (plan[t][first] != row) {
+                    first++;
+                }
+                if (first == d) {
+                    value -= variety(t, row);
+                }
+            }
+        }
+        for (int d = 0; d < days; d++) {
+            value -= dayCost(d);
+        }
+        return value;
+    }
+
+    private void load(WeeklyRecipeSelector.Pick[][] initial) {
+        for (int[] row : plan) {
+            Arrays.fill(row, -1);
+        }
+        for (int d = 0; d < days; d++) {
+            for (int t = 0; t < mealTypes.length; t++) {
+                WeeklyRecipeSelector.Pick pick = initial[d][t];
+                if (pick != null) {
+                    set(t, d, table.row(pick.recipe().recipeId()));
+                }
+            }
+        }
+    }
+
+    // Meal types whose every slot is filled; slots the greedy pass left empty stay empty
+    private int[] movableMealTypes() {
+        return Arrays.stream(mealTypes)
+                .mapToInt(MealType::ordinal)
+                .filter(t -> Arrays.stream(plan[t]).allMatch(row -> row >= 0))
+                .toArray();
+    }
+
+    private int[] topRows(MealType mealType) {
+        List<RecipeSnapshot> partition = table.partitions().getOrDefault(mealType, List.of());
+        int offset = table.offset(mealType);
+        return IntStream.range(offset, offset + partition.size())
+                .boxed()
+                .sorted((a, b) -> Double.compare(scores[b], scores[a]))
+                .limit(TOP_CANDIDATES)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private int[][] copyPlan() {
+        int[][] copy = new int[plan.length][];
+        for (int t = 0; t < plan.length; t++) {
+            copy[t] = plan[t].clone();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,146 @@
+package com.project.mealplan.service.mealplan;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.service.catalog.RecipeScoringTable;
+import com.project.mealplan.service.catalog.RecipeSnapshot;
+
+/**
+ * Picks one recipe per (day, meal type) slot of a weekly plan with variety rules:
+ * - HARD LIMIT: max {@link #MAX_USES_PER_MEAL_TYPE} uses per recipe per meal type
+ * - Linear penalty for any reuse
+ * - Exponentially decaying penalty for use within the last {@link #RECENT_USE_WINDOW} days
+ * - Small random variance to break ties
+ *
+ * Candidates are bucketed by meal type once and kept in descending base score order with
+ * primitive score/usage arrays. Penalties can only lower a score, so each slot re-ranks only
+ * the top of its bucket and stops as soon as no remaining candidate can beat the best one.
+ * Instances are single-use and not thread-safe.
+ */
+public final class WeeklyRecipeSelector {
+
+    public static final double BASE_REPETITION_PENALTY = 0.7; // 70% penalty per overall use
+    public static final double RECENT_USE_PENALTY = 0.9; // 90% penalty if used in last day
+    public static final double RANDOMIZATION_FACTOR = 0.05; // 5% random variance to break ties
+    public static final int RECENT_USE_WINDOW = 3; // Consider last 3 days for recent use
+    public static final int MAX_USES_PER_MEAL_TYPE = 2; // Hard limit per meal type
+
+    private static final double MAX_RANDOM_VARIANCE = RANDOMIZATION_FACTOR / 2;
+
+    /**
+     * Selected recipe with its base (unpenalized) score.
+     */
+    public record Pick(RecipeSnapshot recipe, double score) {
+    }
+
+    private final Map<MealType, Bucket> buckets = new EnumMap<>(MealType.class);
+    private final Random random;
+
+    /**
+     * Candidates are the partitions of the table, with base scores precomputed for every row
+     * by {@link RecipeScoringTable#score}.
+     *
+     * @param days number of days that will be planned
+     */
+    public WeeklyRecipeSelector(RecipeScoringTable table, double[] scores, int days, Random random) {
+        this.random = random;
+        for (Map.Entry<MealType, List<RecipeSnapshot>> entry : table.partitions().entrySet()) {
+            int offset = table.offset(entry.getKey());
+            buckets.put(entry.getKey(), new Bucket(entry.getValue(), i -> scores[offset + i], days));
+        }
+    }
+
+    /**
+     * Select the best recipe for the slot and record it for the variety rules.
+     *
+     * @return the pick, or null when no candidate is left under the hard limit
+     */
+    public Pick select(MealType mealType, int dayIndex) {
+        Bucket bucket = buckets.get(mealType);
+        if (bucket == null) {
+            return null;
+        }
+
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < bucket.size; i++) {
+            double baseScore = bucket.baseScores[i];
+            // Sorted by base score and penalties are >= 0: nobody further down can win
+            if (best >= 0 && baseScore + MAX_RANDOM_VARIANCE < bestScore) {
+                break;
+            }
+
+            int uses = bucket.uses[i];
+            if (uses >= MAX_USES_PER_MEAL_TYPE) {
+                continue;
+            }
+
+            double adjustedScore = baseScore
+                    - uses * BASE_REPETITION_PENALTY
+                    - bucket.recentUsePenalty(i, dayIndex)
+                    + (random.nextDouble() - 0.5) * RANDOMIZATION_FACTOR;
+            adjustedScore = Math.max(0.0, adjustedScore);
+
+            if (adjustedScore > bestScore) {
+                best = i;
+                bestScore = adjustedScore;
+            }
+        }
+
+        if (best < 0) {
+            return null;
+        }
+
+        bucket.uses[best]++;
+        bucket.pickedByDay[dayIndex] = best;
+        return new Pick(bucket.recipes[best], bucket.baseScores[best]);
+    }
+
+    private static final class Bucket {
+        final RecipeSnapshot[] recipes;
+        final double[] baseScores;
+        final int[] uses;
+        final int[] pickedByDay;
+        final int size;
+
+        Bucket(List<RecipeSnapshot> candidates, IntToDoubleFunction scoreAt, int days) {
+            size = candidates.size();
+            double[] scores = new double[size];
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                scores[i] = scoreAt.applyAsDouble(i);
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+            recipes = new RecipeSnapshot[size];
+            baseScores = new double[size];
+            for (int i = 0; i < size; i++) {
+                recipes[i] = candidates.get(order[i]);
+                baseScores[i] = scores[order[i]];
+            }
+            uses = new int[size];
+            pickedByDay = new int[days];
+            Arrays.fill(pickedByDay, -1);
+        }
+
+        double recentUsePenalty(int index, int dayIndex) {
+            double penalty = 0.0;
+            int lookbackDays = Math.min(dayIndex, RECENT_USE_WINDOW);
+            for (int daysAgo = 1; daysAgo <= lookbackDays; daysAgo++) {
+                if (pickedByDay[dayIndex - daysAgo] == index) {
+                    // Exponential decay: most recent day has highest penalty
+                    penalty += RECENT_USE_PENALTY * Math.pow(0.5, daysAgo - 1); // 100%, 50%, 25%...
+                }
+            }
+            return penalty;
+        }
+    }
+}
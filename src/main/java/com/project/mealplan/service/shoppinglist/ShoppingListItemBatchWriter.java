@@ -0,0 +1,68 @@
+package com.project.mealplan.service.shoppinglist;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import com.project.mealplan.entity.ShoppingListItem;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Inserts new shopping list items with a single JDBC batch. IDENTITY ids keep Hibernate
+ * from batching these inserts itself. Joins the surrounding transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShoppingListItemBatchWriter {
+
+    private static final String INSERT_ITEM = "INSERT INTO shopping_list_items "
+            + "(shopping_list_id, ingredient_id, quantity, unit, is_checked) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert the items into the given list and set their generated ids. The items are
+     * not attached to the persistence context, so callers must not add them to
+     * {@code ShoppingList.items} within the same transaction.
+     */
+    public void insert(Long shoppingListId, List<ShoppingListItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_ITEM, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ShoppingListItem item = items.get(i);
+                        ps.setLong(1, shoppingListId);
+                        ps.setLong(2, item.getIngredient().getId());
+                        ps.setDouble(3, item.getQuantity());
+                        ps.setString(4, item.getUnit().name());
+                        ps.setBoolean(5, Boolean.TRUE.equals(item.getIsChecked()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != items.size()) {
+            throw new IllegalStateException("Expected " + items.size() + " generated keys but got " + keys.size());
+        }
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.project.mealplan.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.mealplan.common.enums.MealType;
+
+class RecipeFacetIndexTest {
+
+    private static final RecipeFacetIndex.Filter ALL = new RecipeFacetIndex.Filter(null, null, null, null, null,
+            null);
+
+    @Test
+    void repeatedUpdatesKeepOneEntryPerRecipe() {
+        RecipeFacetIndex index = new RecipeFacetIndex();
+        index.rebuild(List.of(snapshot(1L, "Soup", 10, 150), snapshot(2L, "Salad", 20, 350)));
+
+        // Every update frees a slot; enough of them to compact the state several times over
+        for (int i = 0; i < 5_000; i++) {
+            index.apply(1L, snapshot(1L, i % 2 == 0 ? "Soup" : "Stew", 10 + i % 100, 150));
+        }
+        index.apply(2L, null);
+
+        RecipeFacetIndex.Result result = index.search(ALL, RecipeFacetIndex.SortField.RECIPE_ID, true, 0, 10);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.content()).extracting(RecipeSnapshot::recipeId).containsExactly(1L);
+        assertThat(result.content().get(0).cookingTimeMinutes()).isEqualTo(10 + 4_999 % 100);
+        assertThat(result.facets().get(RecipeFacetIndex.FACET_CATEGORY)).isEqualTo(Map.of("Stew", 1));
+        assertThat(result.facets().get(RecipeFacetIndex.FACET_CALORIES)).isEqualTo(Map.of("<200", 1));
+    }
+
+    @Test
+    void filtersSeeOnlyTheLatestSnapshot() {
+        RecipeFacetIndex index = new RecipeFacetIndex();
+        index.rebuild(List.of(snapshot(1L, "Soup", 10, 150)));
+        for (int i = 0; i < 3_000; i++) {
+            index.apply(1L, snapshot(1L, "Soup", 10, 150));
+        }
+        index.apply(1L, snapshot(1L, "Stew", 90, 700));
+
+        assertThat(index.search(new RecipeFacetIndex.Filter(null, "soup", null, null, null, null),
+                RecipeFacetIndex.SortField.TITLE, true, 0, 10).total()).isZero();
+        assertThat(index.search(new RecipeFacetIndex.Filter(MealType.DINNER, "stew", 60, 120, null, null),
+                RecipeFacetIndex.SortField.TITLE, true, 0, 10).total()).isEqualTo(1);
+    }
+
+    private static RecipeSnapshot snapshot(Long recipeId, String category, int cookingTime, int calories) {
+        return new RecipeSnapshot(recipeId, "Recipe " + recipeId, null, MealType.DINNER, null, cookingTime,
+                BigDecimal.valueOf(calories), null, null, null, Set.of(category), new long[0]);
+    }
+}
@@ -0,0 +1,86 @@
+package com.project.mealplan.service.catalog;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.common.util.CalculateRecipeScore;
+import com.project.mealplan.entity.Recipe;
+
+/**
+ * Scoring a whole synthetic catalog with {@link RecipeScoringTable#score} against calling
+ * {@link CalculateRecipeScore#calculateRecipeScore} on every recipe entity, as suggestions and
+ * meal plan generation did before the table. Run with:
+ *
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main RecipeScoringTableBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeScoringTableBenchmark {
+
+    private static final BigDecimal TARGET = BigDecimal.valueOf(500);
+
+    @Param({ "1000", "10000", "100000" })
+    public int recipes;
+
+    private RecipeScoringTable table;
+    private List<Recipe> entities;
+    private Set<Long> pantry;
+    private Set<Long> favorites;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        table = TestCatalogs.scoringTable(
+                TestCatalogs.randomPartitions(random, recipes / MealType.values().length, 300));
+        entities = IntStream.range(0, table.size())
+                .mapToObj(row -> TestCatalogs.toEntity(table.recipe(row)))
+                .toList();
+        pantry = new HashSet<>();
+        while (pantry.size() < 40) {
+            pantry.add(1L + random.nextInt(300));
+        }
+        favorites = new HashSet<>();
+        while (favorites.size() < 20) {
+            favorites.add(1L + random.nextInt(recipes));
+        }
+        out = new double[table.size()];
+    }
+
+    @Benchmark
+    public double[] scoringTable() {
+        table.score(TARGET, pantry, favorites, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] entityScorer() {
+        for (int row = 0; row < out.length; row++) {
+            out[row] = CalculateRecipeScore.calculateRecipeScore(entities.get(row), TARGET, pantry, favorites);
+        }
+        return out;
+    }
+}
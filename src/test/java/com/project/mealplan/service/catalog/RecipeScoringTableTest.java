@@ -0,0 +1,66 @@
+package com.project.mealplan.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.common.util.CalculateRecipeScore;
+
+class RecipeScoringTableTest {
+
+    // Only floating point noise: the calorie miss ratio is exact at the entity scorer's 4 decimals
+    private static final double TOLERANCE = 1e-9;
+
+    private static final int[] TARGETS = { 200, 250, 500, 1000 };
+
+    @ParameterizedTest
+    @ValueSource(longs = { 1, 2, 3, 4, 5, 6, 7, 8 })
+    void scoresLikeEntityScorer(long seed) {
+        Random random = new Random(seed);
+        Map<MealType, List<RecipeSnapshot>> partitions = TestCatalogs.randomPartitions(random, 2_000, 300);
+        RecipeScoringTable table = TestCatalogs.scoringTable(partitions);
+        BigDecimal target = BigDecimal.valueOf(TARGETS[random.nextInt(TARGETS.length)]);
+        Set<Long> pantry = randomIds(random, 300, 60);
+        Set<Long> favorites = randomIds(random, table.size(), 30);
+
+        double[] scores = table.score(target, pantry, favorites);
+
+        double[] expected = new double[table.size()];
+        for (int row = 0; row < table.size(); row++) {
+            expected[row] = CalculateRecipeScore.calculateRecipeScore(TestCatalogs.toEntity(table.recipe(row)), target, pantry,
+                    favorites);
+            assertThat(scores[row]).as("recipe %d", table.recipe(row).recipeId())
+                    .isCloseTo(expected[row], within(TOLERANCE));
+        }
+
+        long[] top = Arrays.stream(table.top(scores, 10)).mapToLong(row -> table.recipe(row).recipeId()).toArray();
+        long[] expectedTop = IntStream.range(0, table.size()).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(row -> expected[row]).reversed()
+                        .thenComparing(row -> table.recipe(row).recipeId()))
+                .limit(10)
+                .mapToLong(row -> table.recipe(row).recipeId())
+                .toArray();
+        assertThat(top).isEqualTo(expectedTop);
+    }
+
+    private static Set<Long> randomIds(Random random, int bound, int count) {
+        Set<Long> ids = new HashSet<>();
+        while (ids.size() < count) {
+            ids.add(1L + random.nextInt(bound));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.mealplan.service.catalog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.entity.Ingredient;
+import com.project.mealplan.entity.Recipe;
+import com.project.mealplan.entity.RecipeIngredient;
+
+/**
+ * Synthetic published catalogs for tests of the scoring table and the weekly planners.
+ */
+public final class TestCatalogs {
+
+    private TestCatalogs() {
+    }
+
+    /**
+     * perMealType recipes for every meal type with 1 decimal calories, 2 decimal macros, 1-12
+     * ingredient lines drawn from ingredientPool ids (lines may repeat an ingredient), and about 2%
+     * unknown calories. With a target that divides 1000 the calorie miss ratio has at most 4 decimals,
+     * so the entity scorer's rounding does not change it.
+     */
+    public static Map<MealType, List<RecipeSnapshot>> randomPartitions(Random random, int perMealType,
+            int ingredientPool) {
+        Map<MealType, List<RecipeSnapshot>> partitions = new EnumMap<>(MealType.class);
+        long recipeId = 1;
+        for (MealType mealType : MealType.values()) {
+            List<RecipeSnapshot> recipes = new ArrayList<>(perMealType);
+            for (int i = 0; i < perMealType; i++) {
+                double calories = 150 + random.nextDouble() * 700;
+                double protein = calories * (0.1 + random.nextDouble() * 0.3) / 4;
+                double fat = calories * (0.1 + random.nextDouble() * 0.4) / 9;
+                double carbs = Math.max(0, (calories - protein * 4 - fat * 9) / 4);
+                long[] ingredientIds = new long[1 + random.nextInt(12)];
+                for (int j = 0; j < ingredientIds.length; j++) {
+                    ingredientIds[j] = 1 + random.nextInt(ingredientPool);
+                }
+                recipes.add(new RecipeSnapshot(recipeId++, "Recipe " + recipeId, null, mealType, null, 30,
+                        random.nextInt(50) == 0 ? null : decimal(calories, 1), decimal(protein, 2), decimal(carbs, 2),
+                        decimal(fat, 2), Set.of(), ingredientIds));
+            }
+            partitions.put(mealType, List.copyOf(recipes));
+        }
+        return partitions;
+    }
+
+    public static RecipeScoringTable scoringTable(Map<MealType, List<RecipeSnapshot>> partitions) {
+        return new RecipeScoringTable(partitions, List.of());
+    }
+
+    /**
+     * Recipe entity with the snapshot's id, calories, macros and ingredient lines, for the entity scorer.
+     */
+    public static Recipe toEntity(RecipeSnapshot snapshot) {
+        Recipe recipe = new Recipe();
+        recipe.setRecipeId(snapshot.recipeId());
+        recipe.setTitle(snapshot.title());
+        recipe.setMealType(snapshot.mealType());
+        recipe.setCalories(snapshot.calories());
+        recipe.setProtein(snapshot.protein());
+        recipe.setCarbs(snapshot.carbs());
+        recipe.setFat(snapshot.fat());
+        for (long ingredientId : snapshot.ingredientIds()) {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setId(ingredientId);
+            RecipeIngredient line = new RecipeIngredient();
+            line.setRecipe(recipe);
+            line.setIngredient(ingredient);
+            recipe.getIngredients().add(line);
+        }
+        return recipe;
+    }
+
+    private static BigDecimal decimal(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
+    }
+}
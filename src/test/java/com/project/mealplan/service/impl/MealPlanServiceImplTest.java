@@ -0,0 +1,132 @@
+package com.project.mealplan.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.common.enums.RecipeStatus;
+import com.project.mealplan.dtos.mealplan.response.WeeklyMealPlanResponse;
+import com.project.mealplan.entity.MealDay;
+import com.project.mealplan.entity.MealPlan;
+import com.project.mealplan.entity.MealSlot;
+import com.project.mealplan.entity.Recipe;
+import com.project.mealplan.entity.User;
+import com.project.mealplan.repository.MealPlanRepository;
+import com.project.mealplan.repository.RecipeRepository;
+import com.project.mealplan.repository.UserRepository;
+import com.project.mealplan.service.MealPlanService;
+import com.project.mealplan.service.catalog.RecipeCatalog;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs on an in-memory H2 in PostgreSQL mode; tsvector is declared as a domain so the
+ * recipes table's search_vector column can be created.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mealplan;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "INIT=CREATE DOMAIN IF NOT EXISTS tsvector AS VARCHAR",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(MealPlanServiceImpl.class)
+class MealPlanServiceImplTest {
+
+    private static final LocalDate WEEK_START = LocalDate.of(2030, 1, 7); // a Monday
+
+    @Autowired
+    private MealPlanService mealPlanService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RecipeRepository recipeRepository;
+    @Autowired
+    private MealPlanRepository mealPlanRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockitoBean
+    private RecipeCatalog recipeCatalog;
+
+    @Test
+    void weeklyPlanReadUsesSameQueryCountForAnyNumberOfSlots() {
+        List<Recipe> recipes = new ArrayList<>();
+        for (MealType mealType : MealType.values()) {
+            recipes.add(recipe(mealType));
+        }
+        User small = planWeek("query-count-1@example.com", recipes, 1);
+        User full = planWeek("query-count-28@example.com", recipes, 7);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        WeeklyMealPlanResponse smallWeek = mealPlanService.getWeeklyMealPlan(small.getUserId(), WEEK_START);
+        long smallQueries = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+        WeeklyMealPlanResponse fullWeek = mealPlanService.getWeeklyMealPlan(full.getUserId(), WEEK_START);
+        long fullQueries = statistics.getPrepareStatementCount();
+
+        assertThat(smallWeek.getDays()).hasSize(1);
+        assertThat(fullWeek.getDays()).hasSize(7);
+        assertThat(fullQueries).isEqualTo(smallQueries).isEqualTo(1);
+    }
+
+    private Recipe recipe(MealType mealType) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle("Query count " + mealType);
+        recipe.setMealType(mealType);
+        recipe.setStatus(RecipeStatus.PUBLISHED);
+        return recipeRepository.save(recipe);
+    }
+
+    /**
+     * A week of the given number of days; the first day of a one day week gets one slot,
+     * every day of a longer week gets one slot per recipe.
+     */
+    private User planWeek(String email, List<Recipe> recipes, int days) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setFullName(email);
+        userRepository.save(user);
+
+        MealPlan plan = new MealPlan();
+        plan.setUser(user);
+        plan.setStartDate(WEEK_START);
+        plan.setEndDate(WEEK_START.plusDays(6));
+        for (int d = 0; d < days; d++) {
+            MealDay day = new MealDay();
+            day.setMealPlan(plan);
+            day.setDate(WEEK_START.plusDays(d));
+            for (Recipe recipe : days == 1 ? recipes.subList(0, 1) : recipes) {
+                MealSlot slot = new MealSlot();
+                slot.setMealDay(day);
+                slot.setType(recipe.getMealType());
+                slot.setRecipe(recipe);
+                day.getMealSlots().add(slot);
+            }
+            plan.getMealDays().add(day);
+        }
+        mealPlanRepository.save(plan);
+        return user;
+    }
+}
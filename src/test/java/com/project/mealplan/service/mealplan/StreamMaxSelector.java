@@ -0,0 +1,69 @@
+package com.project.mealplan.service.mealplan;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.service.catalog.RecipeScoringTable;
+import com.project.mealplan.service.catalog.RecipeSnapshot;
+
+/**
+ * The selection previously done in MealPlanServiceImpl.selectBestRecipe: a stream max over the
+ * whole meal type partition per slot, drawing the random variance inside the comparator key.
+ * Kept as the reference for {@link WeeklyRecipeSelector}.
+ */
+final class StreamMaxSelector {
+    private final RecipeScoringTable table;
+    private final double[] scores;
+    private final Random random;
+    private final Map<Long, Integer> usedRecipes = new HashMap<>();
+    private final Map<String, Integer> perMealTypeUsage = new HashMap<>();
+    private final List<Map<MealType, Long>> recentlyUsedRecipes = new ArrayList<>();
+
+    StreamMaxSelector(RecipeScoringTable table, double[] scores, Random random) {
+        this.table = table;
+        this.scores = scores;
+        this.random = random;
+    }
+
+    RecipeSnapshot select(MealType mealType, int currentDayIndex) {
+        RecipeSnapshot selected = table.partitions().get(mealType).stream()
+                .filter(recipe -> perMealTypeUsage.getOrDefault(recipe.recipeId() + "_" + mealType, 0)
+                        < WeeklyRecipeSelector.MAX_USES_PER_MEAL_TYPE)
+                .max(Comparator.comparingDouble(recipe -> {
+                    Long recipeId = recipe.recipeId();
+                    double baseScore = scores[table.row(recipeId)];
+                    double repetitionPenalty = usedRecipes.getOrDefault(recipeId, 0)
+                            * WeeklyRecipeSelector.BASE_REPETITION_PENALTY;
+
+                    double recentUsePenalty = 0.0;
+                    int lookbackDays = Math.min(currentDayIndex, WeeklyRecipeSelector.RECENT_USE_WINDOW);
+                    for (int daysAgo = 1; daysAgo <= lookbackDays; daysAgo++) {
+                        int dayIndex = currentDayIndex - daysAgo;
+                        if (dayIndex >= 0 && dayIndex < recentlyUsedRecipes.size()
+                                && recipeId.equals(recentlyUsedRecipes.get(dayIndex).get(mealType))) {
+                            recentUsePenalty += WeeklyRecipeSelector.RECENT_USE_PENALTY
+                                    * Math.pow(0.5, daysAgo - 1);
+                        }
+                    }
+                    double randomFactor = (random.nextDouble() - 0.5) * WeeklyRecipeSelector.RANDOMIZATION_FACTOR;
+                    return Math.max(0.0, baseScore - repetitionPenalty - recentUsePenalty + randomFactor);
+                }))
+                .orElse(null);
+
+        if (selected != null) {
+            usedRecipes.merge(selected.recipeId(), 1, Integer::sum);
+            perMealTypeUsage.merge(selected.recipeId() + "_" + mealType, 1, Integer::sum);
+            while (recentlyUsedRecipes.size() <= currentDayIndex) {
+                recentlyUsedRecipes.add(new EnumMap<>(MealType.class));
+            }
+            recentlyUsedRecipes.get(currentDayIndex).put(mealType, selected.recipeId());
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,161 @@
+package com.project.mealplan.service.mealplan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.service.catalog.RecipeScoringTable;
+import com.project.mealplan.service.catalog.TestCatalogs;
+
+class WeeklyPlanOptimizerTest {
+
+    private static final int DAYS = 7;
+    private static final Duration BUDGET = Duration.ofMillis(30);
+    private static final WeeklyPlanOptimizer.DailyTargets TARGETS = new WeeklyPlanOptimizer.DailyTargets(2000, 100,
+            250, 70);
+
+    @ParameterizedTest
+    @ValueSource(longs = { 1, 2, 3, 4, 5 })
+    void neverWorseThanGreedyAndKeepsUseLimit(long seed) {
+        Week week = new Week(seed, 500);
+        WeeklyRecipeSelector.Pick[][] greedy = week.greedy();
+
+        WeeklyRecipeSelector.Pick[][] improved = week.optimizer().improve(greedy, BUDGET);
+
+        assertThat(week.objective(improved)).isGreaterThanOrEqualTo(week.objective(greedy) - 1e-9);
+        Map<String, Integer> uses = new HashMap<>();
+        for (WeeklyRecipeSelector.Pick[] day : improved) {
+            for (MealType mealType : MealType.values()) {
+                WeeklyRecipeSelector.Pick pick = day[mealType.ordinal()];
+                assertThat(pick).isNotNull();
+                assertThat(pick.recipe().mealType()).isEqualTo(mealType);
+                assertThat(uses.merge(pick.recipe().recipeId() + "_" + mealType, 1, Integer::sum))
+                        .isLessThanOrEqualTo(WeeklyRecipeSelector.MAX_USES_PER_MEAL_TYPE);
+            }
+        }
+    }
+
+    @Test
+    void emptySlotsStayEmpty() {
+        Week week = new Week(7, 500);
+        WeeklyRecipeSelector.Pick[][] greedy = week.greedy();
+        int dinner = MealType.DINNER.ordinal();
+        greedy[3][dinner] = null;
+
+        WeeklyRecipeSelector.Pick[][] improved = week.optimizer().improve(greedy, BUDGET);
+
+        assertThat(improved[3][dinner]).isNull();
+        // A meal type with an empty slot is left as the greedy pass planned it
+        for (int d = 0; d < DAYS; d++) {
+            assertThat(improved[d][dinner]).isEqualTo(greedy[d][dinner]);
+        }
+    }
+
+    @Test
+    void returnsWithinBudget() {
+        Week week = new Week(11, 5_000);
+        WeeklyRecipeSelector.Pick[][] greedy = week.greedy();
+        WeeklyPlanOptimizer optimizer = week.optimizer();
+
+        long start = System.nanoTime();
+        optimizer.improve(greedy, BUDGET);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // The clock is read every few hundred moves; leave room for a slow machine
+        assertThat(elapsed).isLessThan(BUDGET.plusMillis(200));
+    }
+
+    /**
+     * A synthetic catalog with fixed seed scores, and the optimizer's objective written out
+     * from its definition to check results against.
+     */
+    private static final class Week {
+        final RecipeScoringTable table;
+        final double[] scores;
+        final long seed;
+
+        Week(long seed, int perMealType) {
+            this.seed = seed;
+            Random random = new Random(seed);
+            table = TestCatalogs.scoringTable(TestCatalogs.randomPartitions(random, perMealType, 200));
+            Set<Long> pantry = new HashSet<>();
+            while (pantry.size() < 30) {
+                pantry.add(1L + random.nextInt(200));
+            }
+            scores = table.score(BigDecimal.valueOf(500), pantry, Set.of(1L, 2L, 3L));
+        }
+
+        WeeklyRecipeSelector.Pick[][] greedy() {
+            WeeklyRecipeSelector selector = new WeeklyRecipeSelector(table, scores, DAYS, new Random(seed));
+            WeeklyRecipeSelector.Pick[][] picks = new WeeklyRecipeSelector.Pick[DAYS][MealType.values().length];
+            for (int d = 0; d < DAYS; d++) {
+                for (MealType mealType : MealType.values()) {
+                    picks[d][mealType.ordinal()] = selector.select(mealType, d);
+                }
+            }
+            return picks;
+        }
+
+        WeeklyPlanOptimizer optimizer() {
+            return new WeeklyPlanOptimizer(table, scores, TARGETS, DAYS, new Random(seed));
+        }
+
+        double objective(WeeklyRecipeSelector.Pick[][] picks) {
+            double value = 0.0;
+            for (MealType mealType : MealType.values()) {
+                Map<Long, Integer> uses = new HashMap<>();
+                for (int d = 0; d < DAYS; d++) {
+                    WeeklyRecipeSelector.Pick pick = picks[d][mealType.ordinal()];
+                    if (pick == null) {
+                        continue;
+                    }
+                    Long recipeId = pick.recipe().recipeId();
+                    value += scores[table.row(recipeId)];
+                    value -= uses.getOrDefault(recipeId, 0) * WeeklyRecipeSelector.BASE_REPETITION_PENALTY;
+                    uses.merge(recipeId, 1, Integer::sum);
+                    int lookbackDays = Math.min(d, WeeklyRecipeSelector.RECENT_USE_WINDOW);
+                    for (int daysAgo = 1; daysAgo <= lookbackDays; daysAgo++) {
+                        WeeklyRecipeSelector.Pick earlier = picks[d - daysAgo][mealType.ordinal()];
+                        if (earlier != null && earlier.recipe().recipeId().equals(recipeId)) {
+                            value -= WeeklyRecipeSelector.RECENT_USE_PENALTY * Math.pow(0.5, daysAgo - 1);
+                        }
+                    }
+                }
+            }
+
+            double[] targets = { TARGETS.calories(), TARGETS.protein(), TARGETS.carbs(), TARGETS.fat() };
+            double[] weights = { WeeklyPlanOptimizer.CALORIE_WEIGHT, WeeklyPlanOptimizer.MACRO_WEIGHT,
+                    WeeklyPlanOptimizer.MACRO_WEIGHT, WeeklyPlanOptimizer.MACRO_WEIGHT };
+            for (WeeklyRecipeSelector.Pick[] day : picks) {
+                double[] totals = new double[4];
+                for (WeeklyRecipeSelector.Pick pick : day) {
+                    if (pick == null) {
+                        continue;
+                    }
+                    int row = table.row(pick.recipe().recipeId());
+                    double calories = table.calories(row);
+                    totals[0] += Double.isNaN(calories) ? 0.0 : calories;
+                    totals[1] += table.protein(row);
+                    totals[2] += table.carbs(row);
+                    totals[3] += table.fat(row);
+                }
+                for (int k = 0; k < targets.length; k++) {
+                    double miss = (totals[k] - targets[k]) / targets[k];
+                    value -= weights[k] * miss * miss;
+                }
+            }
+            return value;
+        }
+    }
+}
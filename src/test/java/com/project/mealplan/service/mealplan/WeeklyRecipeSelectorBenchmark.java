@@ -0,0 +1,87 @@
+package com.project.mealplan.service.mealplan;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.service.catalog.RecipeScoringTable;
+import com.project.mealplan.service.catalog.TestCatalogs;
+
+/**
+ * Planning one week (7 days x every meal type) with {@link WeeklyRecipeSelector} against the
+ * previous stream max, on synthetic catalogs. Base scores are computed once per trial, as the
+ * service does before selecting. Run with:
+ *
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main WeeklyRecipeSelectorBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeeklyRecipeSelectorBenchmark {
+
+    private static final int DAYS = 7;
+
+    @Param({ "1000", "10000", "100000" })
+    public int recipes;
+
+    private RecipeScoringTable table;
+    private double[] scores;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        Random catalogRandom = new Random(42);
+        table = TestCatalogs.scoringTable(
+                TestCatalogs.randomPartitions(catalogRandom, recipes / MealType.values().length, 300));
+        Set<Long> pantry = new HashSet<>();
+        while (pantry.size() < 40) {
+            pantry.add(1L + catalogRandom.nextInt(300));
+        }
+        Set<Long> favorites = new HashSet<>();
+        while (favorites.size() < 20) {
+            favorites.add(1L + catalogRandom.nextInt(recipes));
+        }
+        scores = table.score(BigDecimal.valueOf(500), pantry, favorites);
+        random = new Random(7);
+    }
+
+    @Benchmark
+    public void topK(Blackhole blackhole) {
+        WeeklyRecipeSelector selector = new WeeklyRecipeSelector(table, scores, DAYS, random);
+        for (int day = 0; day < DAYS; day++) {
+            for (MealType mealType : MealType.values()) {
+                blackhole.consume(selector.select(mealType, day));
+            }
+        }
+    }
+
+    @Benchmark
+    public void streamMax(Blackhole blackhole) {
+        StreamMaxSelector selector = new StreamMaxSelector(table, scores, random);
+        for (int day = 0; day < DAYS; day++) {
+            for (MealType mealType : MealType.values()) {
+                blackhole.consume(selector.select(mealType, day));
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.project.mealplan.service.mealplan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.project.mealplan.common.enums.MealType;
+import com.project.mealplan.service.catalog.RecipeScoringTable;
+import com.project.mealplan.service.catalog.RecipeSnapshot;
+import com.project.mealplan.service.catalog.TestCatalogs;
+
+class WeeklyRecipeSelectorTest {
+
+    private static final int DAYS = 7;
+
+    /**
+     * The previous stream max drew its random variance inside the comparator key, several draws per
+     * candidate, so the two selectors cannot share a random sequence. With the variance pinned to
+     * zero both are deterministic and must pick the same recipe for every slot.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = { 1_000, 10_000 })
+    void picksSameRecipesAsStreamMax(int perMealType) {
+        for (long seed = 1; seed <= 5; seed++) {
+            Random catalogRandom = new Random(seed);
+            Map<MealType, List<RecipeSnapshot>> partitions = TestCatalogs.randomPartitions(catalogRandom,
+                    perMealType, 300);
+            RecipeScoringTable table = TestCatalogs.scoringTable(partitions);
+            double[] scores = table.score(BigDecimal.valueOf(500), randomIds(catalogRandom, 300, 40),
+                    randomIds(catalogRandom, 4 * perMealType, 20));
+
+            WeeklyRecipeSelector selector = new WeeklyRecipeSelector(table, scores, DAYS, noVariance());
+            StreamMaxSelector reference = new StreamMaxSelector(table, scores, noVariance());
+
+            for (int day = 0; day < DAYS; day++) {
+                for (MealType mealType : MealType.values()) {
+                    WeeklyRecipeSelector.Pick pick = selector.select(mealType, day);
+                    RecipeSnapshot expected = reference.select(mealType, day);
+                    assertThat(pick.recipe().recipeId())
+                            .as("seed %d, day %d, %s", seed, day, mealType)
+                            .isEqualTo(expected.recipeId());
+                    assertThat(pick.score()).isEqualTo(scores[table.row(expected.recipeId())]);
+                }
+            }
+        }
+    }
+
+    private static Set<Long> randomIds(Random random, int bound, int count) {
+        Set<Long> ids = new HashSet<>();
+        while (ids.size() < count) {
+            ids.add(1L + random.nextInt(bound));
+        }
+        return ids;
+    }
+
+    // nextDouble() - 0.5 == 0: no random variance
+    private static Random noVariance() {
+        return new Random() {
+            @Override
+            public double nextDouble() {
+                return 0.5;
+            }
+        };
+    }
+}